@@ -0,0 +1,67 @@
+#!/usr/bin/env python3
+"""Compara dois results.json do JMH (ex.: artefatos jmh-<sha> do CI).
+
+Uso: compare-jmh.py base.json novo.json [--threshold 10]
+
+Mostra, por benchmark e parâmetros, o score e a alocação por operação
+(gc.alloc.rate.norm) dos dois lados. Sai com código 1 se algum score piorar
+mais que o limiar percentual.
+"""
+import argparse
+import json
+
+
+def load(path):
+    results = {}
+    with open(path, encoding="utf-8") as f:
+        for entry in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted((entry.get("params") or {}).items()))
+            key = entry["benchmark"].rsplit(".", 2)[-2:]
+            key = ".".join(key) + (f"[{params}]" if params else "")
+            metric = entry["primaryMetric"]
+            alloc = (entry.get("secondaryMetrics") or {}).get("·gc.alloc.rate.norm") \
+                or (entry.get("secondaryMetrics") or {}).get("gc.alloc.rate.norm")
+            results[key] = {
+                "score": metric["score"],
+                "unit": metric["scoreUnit"],
+                "mode": entry["mode"],
+                "alloc": alloc["score"] if alloc else None,
+            }
+    return results
+
+
+def change(base, new, mode):
+    if not base:
+        return 0.0
+    delta = (new - base) / base * 100
+    # Em throughput maior é melhor; nos demais modos (tempo) menor é melhor
+    return -delta if mode == "thrpt" else delta
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("base")
+    parser.add_argument("new")
+    parser.add_argument("--threshold", type=float, default=10.0)
+    args = parser.parse_args()
+
+    base, new = load(args.base), load(args.new)
+    regressions = 0
+    print(f"{'benchmark':70} {'base':>12} {'novo':>12} {'Δ%':>8} {'alloc B/op':>22}")
+    for key in sorted(set(base) | set(new)):
+        if key not in base or key not in new:
+            print(f"{key:70} {'(só em ' + ('novo' if key in new else 'base') + ')':>12}")
+            continue
+        b, n = base[key], new[key]
+        worse = change(b["score"], n["score"], n["mode"])
+        flag = " <-- regressão" if worse > args.threshold else ""
+        regressions += bool(flag)
+        alloc = ""
+        if b["alloc"] is not None and n["alloc"] is not None:
+            alloc = f"{b['alloc']:.0f} -> {n['alloc']:.0f}"
+        print(f"{key:70} {b['score']:12.3f} {n['score']:12.3f} {worse:+8.1f} {alloc:>22}{flag}")
+    return 1 if regressions else 0
+
+
+if __name__ == "__main__":
+    raise SystemExit(main())
@@ -0,0 +1,79 @@
+#!/usr/bin/env bash
+# Compara a partida a frio das imagens standard e faststart do backend.
+#
+# Uso: scripts/measure-startup.sh [rodadas]   (padrão: 5; rodar a partir de backend/)
+#
+# Para cada imagem e rodada sobe um contêiner novo contra o mesmo Postgres e mede:
+#   - pronto: do docker run até o primeiro 200 em /health
+#   - 1ª req: tempo da primeira GET /api/products (a que o usuário espera após ociosidade)
+#   - jvm:    "Started BackendApplication in X seconds" do log
+# A imagem standard roda primeiro e cria o schema; a faststart sobe com ddl-auto none.
+set -euo pipefail
+
+RUNS="${1:-5}"
+NETWORK=startup-bench
+DB=startup-bench-db
+APP=startup-bench-app
+PORT=18080
+DB_URL="jdbc:postgresql://$DB:5432/salesdb"
+
+cleanup() {
+    docker rm -f "$APP" "$DB" >/dev/null 2>&1 || true
+    docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "-"; else if (NR % 2) print v[(NR + 1) / 2]; else printf "%.0f\n", (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+echo "Construindo imagens..."
+docker build -q --target standard -t sales-backend:standard . >/dev/null
+docker build -q --target faststart -t sales-backend:faststart . >/dev/null
+
+cleanup
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$DB" --network "$NETWORK" \
+    -e POSTGRES_DB=salesdb -e POSTGRES_PASSWORD=postgres postgres:15-alpine >/dev/null
+until docker exec "$DB" pg_isready -U postgres >/dev/null 2>&1; do sleep 0.5; done
+
+RESULTS=$(mktemp)
+for image in standard faststart; do
+    for run in $(seq 1 "$RUNS"); do
+        start=$(now_ms)
+        docker run -d --name "$APP" --network "$NETWORK" -p "$PORT:8080" --memory=512m \
+            -e SPRING_DATASOURCE_URL="$DB_URL" -e RATE_LIMIT_ENABLED=false \
+            "sales-backend:$image" >/dev/null
+
+        until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/health" || true)" = "200" ]; do
+            if [ $(( $(now_ms) - start )) -gt 120000 ]; then
+                echo "Tempo esgotado esperando $image subir:" >&2
+                docker logs "$APP" >&2
+                exit 1
+            fi
+            sleep 0.05
+        done
+        ready=$(( $(now_ms) - start ))
+
+        first=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PORT/api/products" | awk '{ printf "%.0f", $1 * 1000 }')
+        jvm=$(docker logs "$APP" 2>&1 | sed -n 's/.*Started BackendApplication in \([0-9.]*\) seconds.*/\1/p' | head -1)
+
+        echo "$image $run $ready $first ${jvm:--}" >> "$RESULTS"
+        printf '%-10s rodada %-2s pronto %6s ms  1ª req %5s ms  jvm %6s s\n' "$image" "$run" "$ready" "$first" "${jvm:--}"
+        docker rm -f "$APP" >/dev/null
+    done
+done
+
+echo
+printf '%-10s %14s %14s %12s\n' "imagem" "pronto (p50)" "1ª req (p50)" "jvm (p50)"
+for image in standard faststart; do
+    ready=$(awk -v i="$image" '$1 == i { print $3 }' "$RESULTS" | median)
+    first=$(awk -v i="$image" '$1 == i { print $4 }' "$RESULTS" | median)
+    jvm=$(awk -v i="$image" '$1 == i && $5 != "-" { print $5 * 1000 }' "$RESULTS" | median)
+    printf '%-10s %11s ms %11s ms %9s ms\n' "$image" "$ready" "$first" "$jvm"
+done
+rm -f "$RESULTS"
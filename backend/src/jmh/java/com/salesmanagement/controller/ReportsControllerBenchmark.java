@@ -0,0 +1,55 @@
+package com.salesmanagement.controller;
+
+import com.salesmanagement.dto.report.*;
+import com.salesmanagement.support.InMemoryRepositories;
+import com.salesmanagement.support.SyntheticData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Relatórios sobre repositórios em memória: mede só o processamento, sem JDBC (agregações simuladas em Java)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportsControllerBenchmark {
+
+    @Param({"1000", "100000"})
+    private int orderCount;
+
+    private ReportsController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticData data = SyntheticData.generate(42, Math.max(10, orderCount / 20), 1000, orderCount, 5);
+        controller = new ReportsController();
+        InMemoryRepositories.inject(controller, "orderRepository", InMemoryRepositories.orders(data.orders));
+        InMemoryRepositories.inject(controller, "userRepository", InMemoryRepositories.users(data.allUsers()));
+        InMemoryRepositories.inject(controller, "productRepository", InMemoryRepositories.products(data.products));
+    }
+
+    @Benchmark
+    public DashboardReport dashboard() {
+        return controller.getDashboard();
+    }
+
+    @Benchmark
+    public SalesSummaryReport salesSummary() {
+        return controller.getSalesSummary();
+    }
+
+    @Benchmark
+    public List<TopCustomerRow> topCustomers() {
+        return controller.getTopCustomers();
+    }
+
+    @Benchmark
+    public List<TopProductRow> topProducts() {
+        return controller.getTopProducts();
+    }
+
+    @Benchmark
+    public List<LowStockRow> lowStock() {
+        return controller.getLowStockProducts();
+    }
+}
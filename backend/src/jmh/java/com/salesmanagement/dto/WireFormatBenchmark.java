@@ -0,0 +1,77 @@
+package com.salesmanagement.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesmanagement.entity.Order;
+import com.salesmanagement.entity.Product;
+import com.salesmanagement.support.SyntheticData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON x Smile x CBOR nas respostas em massa: codificação da lista de pedidos
+ * (GET /api/orders, /api/orders/export) e do catálogo, e decodificação do
+ * lado do cliente. O tamanho de cada corpo é impresso no setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<Product>> PRODUCT_LIST = new TypeReference<>() {};
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int orderCount;
+
+    private ObjectMapper mapper;
+    private List<Order> orders;
+    private List<Product> products;
+    private byte[] encodedOrders;
+    private byte[] encodedProducts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Mesmos padrões do ObjectMapper do Spring Boot em cada formato
+        mapper = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        SyntheticData data = SyntheticData.generate(7, Math.max(1, orderCount / 10), 500, orderCount, 8);
+        orders = data.orders;
+        products = data.products;
+        encodedOrders = mapper.writeValueAsBytes(orders);
+        encodedProducts = mapper.writeValueAsBytes(products);
+        System.out.printf("%n%s: %d pedidos = %d bytes, %d produtos = %d bytes%n",
+                format, orders.size(), encodedOrders.length, products.size(), encodedProducts.length);
+    }
+
+    @Benchmark
+    public byte[] encodeOrders() throws IOException {
+        return mapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] encodeProducts() throws IOException {
+        return mapper.writeValueAsBytes(products);
+    }
+
+    // Pedidos não voltam como entidades (referências de volta): lidos como árvore, como faria um cliente
+    @Benchmark
+    public JsonNode decodeOrders() throws IOException {
+        return mapper.readTree(encodedOrders);
+    }
+
+    @Benchmark
+    public List<Product> decodeProducts() throws IOException {
+        return mapper.readValue(encodedProducts, PRODUCT_LIST);
+    }
+}
@@ -0,0 +1,95 @@
+package com.salesmanagement.dto.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesmanagement.entity.Product;
+import com.salesmanagement.support.SyntheticData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem, ordenação e serialização do ranking de produtos: linhas em HashMap
+ * (como era o ReportsController) x records com o ReportsJsonModule.
+ *
+ * Custo por linha: gc.alloc.rate.norm / rowCount. O JSON vai para um stream
+ * nulo, então só conta o que a montagem e o gerador alocam.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportSerializationBenchmark {
+
+    @Param({"10", "1000"})
+    private int rowCount;
+
+    private ObjectMapper defaultMapper;
+    private ObjectMapper reportsMapper;
+
+    // Linhas como chegam do banco: [id do produto, quantidade, receita], fora de ordem
+    private List<Object[]> sales;
+    private Map<Long, Product> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        defaultMapper = Jackson2ObjectMapperBuilder.json().build();
+        reportsMapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ReportsJsonModule()).build();
+
+        List<Product> generated = SyntheticData.generate(11, 10, rowCount, 0, 1).products;
+        SplittableRandom random = new SplittableRandom(11);
+        sales = new ArrayList<>(rowCount);
+        products = new HashMap<>();
+        for (Product product : generated) {
+            long quantity = random.nextLong(1, 10_000);
+            sales.add(new Object[]{product.getId(), quantity, product.getPrice().multiply(BigDecimal.valueOf(quantity))});
+            products.put(product.getId(), product);
+        }
+    }
+
+    // Antes: HashMap por linha, números em caixa e ordenação convertendo get("quantitySold")
+    @Benchmark
+    public void mapRows() throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Object[] row : sales) {
+            Product product = products.get((Long) row[0]);
+            Map<String, Object> productData = new HashMap<>();
+            productData.put("productId", product.getId());
+            productData.put("productName", product.getName());
+            productData.put("quantitySold", ((Long) row[1]).intValue());
+            productData.put("revenue", row[2]);
+            productData.put("currentStock", product.getStock());
+            productData.put("unitPrice", product.getPrice());
+            rows.add(productData);
+        }
+        rows.sort((a, b) -> ((Integer) b.get("quantitySold")).compareTo((Integer) a.get("quantitySold")));
+        defaultMapper.writeValue(OutputStream.nullOutputStream(), rows);
+    }
+
+    // Records com o serializador padrão do Jackson (introspecção do record)
+    @Benchmark
+    public void recordRowsReflective() throws IOException {
+        defaultMapper.writeValue(OutputStream.nullOutputStream(), buildRecordRows());
+    }
+
+    // Depois: records, comparador primitivo e serializador pré-registrado
+    @Benchmark
+    public void recordRows() throws IOException {
+        reportsMapper.writeValue(OutputStream.nullOutputStream(), buildRecordRows());
+    }
+
+    private List<TopProductRow> buildRecordRows() {
+        List<TopProductRow> rows = new ArrayList<>(sales.size());
+        for (Object[] row : sales) {
+            Product product = products.get((Long) row[0]);
+            rows.add(new TopProductRow(product.getId(), product.getName(), (Long) row[1], (BigDecimal) row[2],
+                    product.getStock(), product.getPrice()));
+        }
+        rows.sort(Comparator.comparingLong(TopProductRow::quantitySold).reversed()
+                .thenComparingLong(TopProductRow::productId));
+        return rows;
+    }
+}
@@ -0,0 +1,55 @@
+package com.salesmanagement.entity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Montagem de pedidos: addItem recalcula o total a cada item (custo quadrático no número de itens)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderBenchmark {
+
+    @Param({"1", "5", "50"})
+    private int itemCount;
+
+    private User customer;
+    private List<Product> products;
+    private Order fullOrder;
+    private OrderItem item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        customer = new User("Cliente", "cliente@teste.com", "123456", Role.CLIENTE);
+        products = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            products.add(new Product("Produto " + i, null, new BigDecimal("19.90").add(BigDecimal.valueOf(i)), 100));
+        }
+        fullOrder = buildOrder();
+        item = new OrderItem(products.get(0), 3);
+    }
+
+    @Benchmark
+    public Order buildOrder() {
+        Order order = new Order(customer);
+        for (int i = 0; i < itemCount; i++) {
+            order.addItem(new OrderItem(products.get(i), 1 + (i % 5)));
+        }
+        return order;
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        fullOrder.calculateTotal();
+        return fullOrder.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal calculateSubtotal() {
+        item.calculateSubtotal();
+        return item.getSubtotal();
+    }
+}
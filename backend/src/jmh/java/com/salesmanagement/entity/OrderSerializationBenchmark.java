@@ -0,0 +1,40 @@
+package com.salesmanagement.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesmanagement.support.SyntheticData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialização de listas de pedidos com cliente, vendedor, itens e produtos, como em GET /api/orders
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int orderCount;
+
+    private ObjectMapper objectMapper;
+    private List<Order> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Mesmos padrões do ObjectMapper do Spring Boot (datas ISO, módulos registrados)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        orders = SyntheticData.generate(7, Math.max(1, orderCount / 10), 200, orderCount, 8).orders;
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    public byte[] serializeSingleOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders.get(0));
+    }
+}
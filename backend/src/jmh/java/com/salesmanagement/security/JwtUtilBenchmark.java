@@ -0,0 +1,48 @@
+package com.salesmanagement.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Emissão e leitura de tokens; cada extract* verifica a assinatura de novo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        token = jwtUtil.generateToken("cliente@teste.com", "CLIENTE", 42L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("cliente@teste.com", "CLIENTE", 42L);
+    }
+
+    @Benchmark
+    public String extractEmail() {
+        return jwtUtil.extractEmail(token);
+    }
+
+    @Benchmark
+    public Long extractUserId() {
+        return jwtUtil.extractUserId(token);
+    }
+
+    // O que o AuthController.validate fazia antes do cache: quatro verificações por chamada
+    @Benchmark
+    public Object extractAllClaimsSeparately() {
+        return jwtUtil.extractEmail(token) + jwtUtil.extractRole(token) + jwtUtil.extractUserId(token)
+                + jwtUtil.isTokenExpired(token);
+    }
+
+    @Benchmark
+    public Object parseClaimsOnce() {
+        return jwtUtil.parseClaims(token);
+    }
+}
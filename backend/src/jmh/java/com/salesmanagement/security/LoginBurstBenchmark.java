@@ -0,0 +1,66 @@
+package com.salesmanagement.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de uma rota leve da API (verificação de JWT) durante uma rajada de
+ * logins. "inline" faz o bcrypt na própria thread da requisição, como antes;
+ * "dedicated" usa o PasswordHashingService com 2 threads e fila limitada.
+ * Compare os percentis de apiRequest entre os dois modos.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoginBurstBenchmark {
+
+    private static final String PASSWORD = "123456";
+
+    @Param({"inline", "dedicated"})
+    private String mode;
+
+    private BCryptPasswordEncoder encoder;
+    private PasswordHashingService hashingService;
+    private JwtUtil jwtUtil;
+    private String storedHash;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(10);
+        hashingService = new PasswordHashingService(10, 2, 16);
+        jwtUtil = new JwtUtil();
+        storedHash = encoder.encode(PASSWORD);
+        token = jwtUtil.generateToken("cliente@teste.com", "CLIENTE", 1L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        hashingService.shutdown();
+    }
+
+    @Benchmark
+    @Group("burst")
+    @GroupThreads(8)
+    public boolean login() {
+        if (mode.equals("inline")) {
+            return encoder.matches(PASSWORD, storedHash);
+        }
+        try {
+            return hashingService.verify(PASSWORD, storedHash).join().matches();
+        } catch (RejectedExecutionException e) {
+            // Fila cheia: o login seria respondido com 503
+            return false;
+        }
+    }
+
+    @Benchmark
+    @Group("burst")
+    @GroupThreads(2)
+    public Object apiRequest() {
+        return jwtUtil.parseClaims(token);
+    }
+}
@@ -0,0 +1,84 @@
+package com.salesmanagement.service;
+
+import com.salesmanagement.entity.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Busca e manutenção incremental do índice em catálogos de 10 mil a 1 milhão de produtos
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] BRANDS = {"Dell", "Logitech", "Samsung", "Lenovo", "Asus", "Acer", "Positivo", "Multilaser", "Redragon", "Intelbras"};
+    private static final String[] TYPES = {"Notebook", "Mouse", "Teclado", "Monitor", "Headset", "Webcam", "Cabo", "Hub", "SSD", "Mousepad", "Cadeira", "Impressora"};
+    private static final String[] ADJECTIVES = {"Gamer", "Sem Fio", "Mecânico", "Ergonômico", "Portátil", "Profissional", "Compacto", "Silencioso", "RGB", "Ultrafino"};
+    private static final String[] DESCRIPTION_WORDS = {"alta", "velocidade", "conexão", "bluetooth", "usb", "garantia", "anos", "polegadas", "iluminação", "bateria", "resolução", "escritório", "jogos", "design", "durável"};
+
+    @Param({"10000", "1000000"})
+    private int catalogSize;
+
+    private ProductSearchIndex index;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Product> products = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            products.add(randomProduct(random, i + 1));
+        }
+        nextId = catalogSize + 1;
+        index = new ProductSearchIndex();
+        index.rebuild(products);
+    }
+
+    @Benchmark
+    public List<Long> singleTerm() {
+        return index.search("monitor", 20);
+    }
+
+    @Benchmark
+    public List<Long> accentFoldedMultiTerm() {
+        return index.search("teclado mecanico", 20);
+    }
+
+    @Benchmark
+    public List<Long> autocompletePrefix() {
+        return index.search("headset sem f", 10);
+    }
+
+    @Benchmark
+    public List<Long> rareTermWithCommonPrefix() {
+        return index.search("intelbras u", 10);
+    }
+
+    @Benchmark
+    public void incrementalUpdate() {
+        Product product = new Product("Notebook Positivo Ultrafino " + nextId, "Notebook com bateria de longa duração",
+                new BigDecimal("1999.90"), 5);
+        product.setId(nextId++);
+        index.index(product);
+    }
+
+    private static Product randomProduct(SplittableRandom random, long id) {
+        String name = pick(random, TYPES) + " " + pick(random, BRANDS) + " " + pick(random, ADJECTIVES) + " " + id;
+        StringBuilder description = new StringBuilder();
+        for (int w = 0; w < 8; w++) {
+            description.append(pick(random, DESCRIPTION_WORDS)).append(' ');
+        }
+        Product product = new Product(name, description.toString().trim(),
+                BigDecimal.valueOf(10 + random.nextInt(5000)), random.nextInt(100));
+        product.setId(id);
+        return product;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
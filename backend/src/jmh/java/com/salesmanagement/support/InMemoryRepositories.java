@@ -0,0 +1,170 @@
+package com.salesmanagement.support;
+
+import com.salesmanagement.entity.Order;
+import com.salesmanagement.entity.OrderItem;
+import com.salesmanagement.entity.OrderStatus;
+import com.salesmanagement.entity.Product;
+import com.salesmanagement.entity.User;
+import com.salesmanagement.repository.OrderRepository;
+import com.salesmanagement.repository.ProductRepository;
+import com.salesmanagement.repository.UserRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Repositórios em memória (proxies dinâmicos) com os métodos usados pelos
+ * relatórios, para medir a montagem das respostas sem banco. Métodos não implementados
+ * lançam UnsupportedOperationException.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static OrderRepository orders(List<Order> orders) {
+        // Pré-agrupa como o índice por status faria no banco
+        Map<OrderStatus, List<Order>> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, List.of());
+        }
+        byStatus.putAll(orders.stream().collect(Collectors.groupingBy(Order::getStatus)));
+
+        return proxy(OrderRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findAll" -> List.copyOf(orders);
+            case "count" -> (long) orders.size();
+            case "findByStatus" -> List.copyOf(byStatus.get((OrderStatus) args[0]));
+            case "findPendingOrders" -> byStatus.get(OrderStatus.PENDENTE).stream()
+                    .sorted(Comparator.comparing(Order::getCreatedAt))
+                    .toList();
+            case "findByCustomer" -> orders.stream().filter(o -> o.getCustomer() == args[0]).toList();
+            case "countGroupedByStatus" -> byStatus.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isEmpty())
+                    .map(entry -> new Object[]{entry.getKey(), (long) entry.getValue().size()})
+                    .toList();
+            case "sumTotalAmountByStatus" -> byStatus.get((OrderStatus) args[0]).stream()
+                    .map(Order::getTotalAmount)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            case "sumItemQuantityByStatus" -> byStatus.get((OrderStatus) args[0]).stream()
+                    .flatMap(o -> o.getItems().stream())
+                    .mapToLong(OrderItem::getQuantity)
+                    .sum();
+            case "findTopCustomers" -> topCustomers(orders, (OrderStatus) args[0], (Pageable) args[1]);
+            case "sumSalesByProduct" -> salesByProduct(byStatus.get((OrderStatus) args[0]), (Pageable) args[1]);
+            default -> objectMethod(proxy, method.getName(), args);
+        });
+    }
+
+    public static UserRepository users(List<User> users) {
+        return proxy(UserRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findAll" -> List.copyOf(users);
+            case "count" -> (long) users.size();
+            case "findByEmail" -> users.stream().filter(u -> u.getEmail().equals(args[0])).findFirst();
+            case "findById" -> users.stream().filter(u -> u.getId().equals(args[0])).findFirst();
+            case "countGroupedByRole" -> users.stream()
+                    .collect(Collectors.groupingBy(User::getRole, Collectors.counting()))
+                    .entrySet().stream()
+                    .map(entry -> new Object[]{entry.getKey(), entry.getValue()})
+                    .toList();
+            default -> objectMethod(proxy, method.getName(), args);
+        });
+    }
+
+    public static ProductRepository products(List<Product> products) {
+        return proxy(ProductRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findAll" -> List.copyOf(products);
+            case "count" -> (long) products.size();
+            case "findByActiveTrue" -> products.stream().filter(Product::getActive).toList();
+            case "findInStock" -> products.stream().filter(p -> p.getActive() && p.getStock() > 0).toList();
+            case "findById" -> Optional.ofNullable(products.get((int) ((Long) args[0] - 1)));
+            case "findAllById" -> StreamSupport.stream(((Iterable<?>) args[0]).spliterator(), false)
+                    .map(id -> products.get((int) ((Long) id - 1)))
+                    .toList();
+            case "countByActiveTrue" -> products.stream().filter(Product::getActive).count();
+            case "countByActiveTrueAndStockLessThan" -> products.stream()
+                    .filter(p -> p.getActive() && p.getStock() < (int) args[0])
+                    .count();
+            case "findByActiveTrueAndStockLessThanOrderByStockAsc" -> products.stream()
+                    .filter(p -> p.getActive() && p.getStock() < (int) args[0])
+                    .sorted(Comparator.comparing(Product::getStock))
+                    .toList();
+            default -> objectMethod(proxy, method.getName(), args);
+        });
+    }
+
+    // Equivalentes em memória das agregações GROUP BY do OrderRepository
+
+    private static List<Object[]> topCustomers(List<Order> orders, OrderStatus spentStatus, Pageable page) {
+        Map<User, List<Order>> byCustomer = orders.stream().collect(Collectors.groupingBy(Order::getCustomer));
+        return byCustomer.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<User, List<Order>>>comparingInt(entry -> entry.getValue().size())
+                        .reversed()
+                        .thenComparingLong(entry -> entry.getKey().getId()))
+                .limit(page.getPageSize())
+                .map(entry -> {
+                    User customer = entry.getKey();
+                    BigDecimal spent = entry.getValue().stream()
+                            .filter(o -> o.getStatus() == spentStatus)
+                            .map(Order::getTotalAmount)
+                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    return new Object[]{customer.getId(), customer.getName(), customer.getEmail(),
+                            (long) entry.getValue().size(), spent};
+                })
+                .toList();
+    }
+
+    private static List<Object[]> salesByProduct(List<Order> orders, Pageable page) {
+        Map<Long, long[]> quantities = new HashMap<>();
+        Map<Long, BigDecimal> revenue = new HashMap<>();
+        for (Order order : orders) {
+            for (OrderItem item : order.getItems()) {
+                Long productId = item.getProduct().getId();
+                quantities.computeIfAbsent(productId, id -> new long[1])[0] += item.getQuantity();
+                revenue.merge(productId, item.getSubtotal(), BigDecimal::add);
+            }
+        }
+        return quantities.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Long, long[]>>comparingLong(entry -> entry.getValue()[0])
+                        .reversed()
+                        .thenComparingLong(Map.Entry::getKey))
+                .limit(page.getPageSize())
+                .map(entry -> new Object[]{entry.getKey(), entry.getValue()[0], revenue.get(entry.getKey())})
+                .toList();
+    }
+
+    // Preenche um campo @Autowired, como o Spring faria
+    public static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível injetar " + fieldName, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object objectMethod(Object proxy, String name, Object[] args) {
+        return switch (name) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "InMemoryRepository";
+            default -> throw new UnsupportedOperationException(name);
+        };
+    }
+}
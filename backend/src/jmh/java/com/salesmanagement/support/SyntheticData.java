@@ -0,0 +1,84 @@
+package com.salesmanagement.support;
+
+import com.salesmanagement.entity.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Dados sintéticos determinísticos para os benchmarks: clientes, vendedores,
+ * produtos e pedidos com itens, todos com ids preenchidos e sem banco.
+ */
+public final class SyntheticData {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    public final List<User> customers;
+    public final List<User> sellers;
+    public final List<Product> products;
+    public final List<Order> orders;
+
+    private SyntheticData(List<User> customers, List<User> sellers, List<Product> products, List<Order> orders) {
+        this.customers = customers;
+        this.sellers = sellers;
+        this.products = products;
+        this.orders = orders;
+    }
+
+    public static SyntheticData generate(long seed, int customerCount, int productCount, int orderCount, int maxItemsPerOrder) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long nextUserId = 1;
+
+        List<User> customers = new ArrayList<>(customerCount);
+        for (int i = 0; i < customerCount; i++) {
+            User customer = new User("Cliente " + i, "cliente" + i + "@teste.com", "123456", Role.CLIENTE);
+            customer.setId(nextUserId++);
+            customers.add(customer);
+        }
+
+        List<User> sellers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, customerCount / 50); i++) {
+            User seller = new User("Vendedor " + i, "vendedor" + i + "@teste.com", "123456", Role.VENDEDOR);
+            seller.setId(nextUserId++);
+            sellers.add(seller);
+        }
+
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            Product product = new Product("Produto " + i, "Descrição do produto " + i,
+                    BigDecimal.valueOf(500 + random.nextInt(500_000), 2), random.nextInt(50));
+            product.setId((long) i + 1);
+            products.add(product);
+        }
+
+        List<Order> orders = new ArrayList<>(orderCount);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order(customers.get(random.nextInt(customers.size())));
+            order.setId((long) i + 1);
+            int items = 1 + random.nextInt(maxItemsPerOrder);
+            for (int j = 0; j < items; j++) {
+                OrderItem item = new OrderItem(products.get(random.nextInt(products.size())), 1 + random.nextInt(5));
+                item.setId((long) i * maxItemsPerOrder + j + 1);
+                order.addItem(item);
+            }
+            order.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            if (order.getStatus() != OrderStatus.PENDENTE) {
+                order.setSeller(sellers.get(random.nextInt(sellers.size())));
+            }
+            order.setCreatedAt(now.minusMinutes(random.nextInt(60 * 24 * 365)));
+            orders.add(order);
+        }
+
+        return new SyntheticData(customers, sellers, products, orders);
+    }
+
+    public List<User> allUsers() {
+        List<User> all = new ArrayList<>(customers);
+        all.addAll(sellers);
+        return all;
+    }
+}
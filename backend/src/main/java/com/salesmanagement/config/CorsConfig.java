@@ -24,9 +24,11 @@ public class CorsConfig implements WebMvcConfigurer {
                         "Content-Type",
                         "Accept",
                         "Authorization",
-                        "X-Requested-With"
+                        "X-Requested-With",
+                        "Idempotency-Key",
+                        "If-None-Match"
                 )
-                .exposedHeaders("Authorization") // Headers que o cliente pode acessar
+                .exposedHeaders("Authorization", "Idempotent-Replayed", "ETag", "Retry-After") // Headers que o cliente pode acessar
                 .allowCredentials(true) // Permite cookies e headers de autenticação
                 .maxAge(3600);
     }
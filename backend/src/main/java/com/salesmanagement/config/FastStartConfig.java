@@ -0,0 +1,27 @@
+package com.salesmanagement.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Perfil faststart: com lazy-initialization ligada, o pool e o Hibernate
+ * continuam sendo criados na subida, porque o bootstrap do Hibernate é o maior
+ * custo e não pode cair na primeira requisição. Filtros e beans com @Scheduled
+ * já são ansiosos pelo próprio Spring Boot; relatórios, importação e afins
+ * ficam para quando forem chamados.
+ */
+@Configuration
+@Profile("faststart")
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                DataSource.class, EntityManagerFactory.class);
+    }
+}
@@ -0,0 +1,16 @@
+package com.salesmanagement.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.salesmanagement.dto.report.ReportsJsonModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Módulos registrados como bean entram no ObjectMapper do Spring Boot
+    @Bean
+    public Module reportsJsonModule() {
+        return new ReportsJsonModule();
+    }
+}
@@ -0,0 +1,21 @@
+package com.salesmanagement.config;
+
+import com.salesmanagement.metrics.ControllerMetricsInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ControllerMetricsInterceptor controllerMetricsInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Primeiro da cadeia: mede também as requisições recusadas pelo rate limiting
+        registry.addInterceptor(controllerMetricsInterceptor).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,81 @@
+package com.salesmanagement.config;
+
+import com.salesmanagement.entity.Product;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Garante a restrição única em products.name, da qual o upsert da importação
+ * (ON CONFLICT (name)) depende.
+ *
+ * O ddl-auto update não a cria quando a tabela já tem nomes repetidos (os
+ * endpoints create-sample-* geravam um a cada chamada) e não avisa. Sem ela,
+ * na subida os repetidos são renomeados para "nome (#id)", mantendo o de menor
+ * id com o nome original e sem tocar nos pedidos que os referenciam, e a
+ * restrição é criada. Se ainda assim não for possível, a aplicação não sobe.
+ */
+@Component
+public class ProductNameConstraintCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductNameConstraintCheck.class);
+
+    private static final String EXISTS_SQL = """
+            SELECT count(*) FROM pg_constraint
+            WHERE conrelid = 'products'::regclass AND conname = ?
+            """;
+
+    // Sufixo cabe nos 255 caracteres da coluna
+    private static final String RENAME_DUPLICATES_SQL = """
+            UPDATE products p SET name = left(p.name, 230) || ' (#' || p.id || ')'
+            WHERE EXISTS (SELECT 1 FROM products o WHERE o.name = p.name AND o.id < p.id)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Só para ordenar: o schema (ddl-auto) é criado/atualizado na subida do EntityManagerFactory
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void ensureConstraint() {
+        if (exists()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Outra instância subindo ao mesmo tempo espera aqui e encontra a restrição pronta
+                jdbcTemplate.execute("LOCK TABLE products IN SHARE ROW EXCLUSIVE MODE");
+                if (exists()) {
+                    return;
+                }
+                int renamed = jdbcTemplate.update(RENAME_DUPLICATES_SQL);
+                if (renamed > 0) {
+                    log.warn("{} produtos com nome repetido renomeados para \"nome (#id)\" antes de criar {}",
+                            renamed, Product.NAME_CONSTRAINT);
+                }
+                jdbcTemplate.execute("ALTER TABLE products ADD CONSTRAINT " + Product.NAME_CONSTRAINT + " UNIQUE (name)");
+                log.info("Restrição {} criada em products.name", Product.NAME_CONSTRAINT);
+            });
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("Não foi possível criar " + Product.NAME_CONSTRAINT
+                    + " em products.name; a importação de produtos depende dela. Resolva os nomes repetidos"
+                    + " (SELECT name FROM products GROUP BY name HAVING count(*) > 1) e suba de novo", e);
+        }
+    }
+
+    private boolean exists() {
+        Long count = jdbcTemplate.queryForObject(EXISTS_SQL, Long.class, Product.NAME_CONSTRAINT);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,96 @@
+package com.salesmanagement.config;
+
+import com.salesmanagement.datasource.ReadWriteRoutingDataSource;
+import com.salesmanagement.datasource.ReadYourWritesInterceptor;
+import com.salesmanagement.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Ativo só com app.datasource.replica.url (REPLICA_DATASOURCE_URL): dois pools
+ * Hikari, primário e réplica, atrás de um DataSource de roteamento. Sem a URL
+ * o DataSource continua sendo o autoconfigurado pelo Spring Boot.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.url:}'.isEmpty()")
+public class ReadReplicaConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryPool(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    HikariDataSource replicaPool(DataSourceProperties properties,
+                                 @Value("${app.datasource.replica.url}") String url,
+                                 @Value("${app.datasource.replica.username}") String username,
+                                 @Value("${app.datasource.replica.password}") String password) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        pool.setPoolName("replica");
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    // Os pools chegam aqui já envolvidos pelo BoundedDataSource quando há virtual threads
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryPool") DataSource primaryPool,
+                                        @Qualifier("replicaPool") DataSource replicaPool,
+                                        @Value("${app.datasource.replica.max-lag:PT2S}") Duration maxLag,
+                                        @Value("${app.datasource.replica.lag-check-interval:PT1S}") Duration checkInterval) {
+        return new ReplicaLagMonitor(primaryPool, replicaPool, maxLag, checkInterval);
+    }
+
+    @Bean
+    ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryPool") DataSource primaryPool,
+                                                 @Qualifier("replicaPool") DataSource replicaPool,
+                                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new ReadWriteRoutingDataSource(primaryPool, replicaPool, replicaLagMonitor);
+    }
+
+    // Lazy: a conexão só é pedida ao roteador no primeiro comando, quando a transação já é readOnly
+    @Bean
+    @Primary
+    DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    ReadYourWritesInterceptor readYourWritesInterceptor(
+            @Value("${app.datasource.replica.read-your-writes-window:PT5S}") Duration window,
+            @Value("${app.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        return new ReadYourWritesInterceptor(window, trustForwardedFor);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readYourWritesInterceptor).addPathPatterns("/api/**");
+    }
+}
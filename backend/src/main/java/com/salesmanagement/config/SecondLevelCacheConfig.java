@@ -0,0 +1,95 @@
+package com.salesmanagement.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache sobre Caffeine) para Product,
+ * User e a consulta por e-mail do login.
+ *
+ * As regiões são criadas aqui, com tamanho e TTL, e o Hibernate falha na
+ * subida se alguma entidade pedir uma região que não existe. Escritas pelo
+ * Hibernate invalidam sozinhas; escritas por JDBC (importação de produtos)
+ * precisam despejar a região à mão.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PRODUCTS_REGION = "products";
+    public static final String USERS_REGION = "users";
+    public static final String USER_BY_EMAIL_REGION = "user-by-email";
+
+    // Regiões padrão do cache de consultas do Hibernate
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${app.hibernate-cache.products.max-size:10000}")
+    private long productsMaxSize;
+
+    @Value("${app.hibernate-cache.products.ttl:PT10M}")
+    private Duration productsTtl;
+
+    @Value("${app.hibernate-cache.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${app.hibernate-cache.users.ttl:PT10M}")
+    private Duration usersTtl;
+
+    @Value("${app.hibernate-cache.queries.max-size:10000}")
+    private long queriesMaxSize;
+
+    @Value("${app.hibernate-cache.queries.ttl:PT5M}")
+    private Duration queriesTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // URI própria por contexto: o provedor reaproveita gerenciadores pela URI (contextos de teste convivem)
+        URI uri = URI.create("sales-management-hibernate-" + Integer.toHexString(System.identityHashCode(this)));
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, getClass().getClassLoader());
+
+        createRegion(cacheManager, PRODUCTS_REGION, productsMaxSize, productsTtl);
+        createRegion(cacheManager, USERS_REGION, usersMaxSize, usersTtl);
+        createRegion(cacheManager, USER_BY_EMAIL_REGION, queriesMaxSize, queriesTtl);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queriesMaxSize, queriesTtl);
+        // Uma entrada por tabela; não pode expirar antes dos resultados que protege
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 1000, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        // Por referência: o Hibernate já guarda o estado desmontado, sem serializar de novo
+        configuration.setStoreByValue(false);
+        // Alimenta o JCacheMetrics (cache.gets, cache.puts, cache.evictions)
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
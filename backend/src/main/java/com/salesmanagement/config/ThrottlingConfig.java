@@ -0,0 +1,26 @@
+package com.salesmanagement.config;
+
+import com.salesmanagement.throttling.RateLimitInterceptor;
+import com.salesmanagement.throttling.ReportConcurrencyInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ThrottlingConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Autowired
+    private ReportConcurrencyInterceptor reportConcurrencyInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // O rate limiting vem antes: requisição recusada por taxa não ocupa vaga de concorrência
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(reportConcurrencyInterceptor).addPathPatterns("/api/reports/**")
+                .excludePathPatterns("/api/reports/live-sales");
+    }
+}
@@ -0,0 +1,74 @@
+package com.salesmanagement.config;
+
+import com.salesmanagement.metrics.VirtualThreadPinningMonitor;
+import com.salesmanagement.throttling.BoundedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Ativo só com spring.threads.virtual.enabled=true (VIRTUAL_THREADS_ENABLED):
+ * o Tomcat e os executores do Spring passam a usar virtual threads, o acesso
+ * a cada pool JDBC fica atrás de um semáforo e o JFR passa a registrar pinning.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    // Estático: o post-processor é criado antes dos demais beans da configuração
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        int configured = environment.getProperty("app.jdbc.max-concurrency", Integer.class, 0);
+        Duration acquireTimeout = environment.getProperty("app.jdbc.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Um semáforo por pool (primário e réplica); o roteador e o proxy lazy ficam por fora
+                if (bean instanceof HikariDataSource pool) {
+                    // 0 = tamanho máximo do próprio pool
+                    int maxConcurrency = configured > 0 ? configured : pool.getMaximumPoolSize();
+                    return new BoundedDataSource(pool, maxConcurrency, acquireTimeout.toNanos());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Uma série por pool; com réplica são dois (primaryPool e replicaPool)
+    @Bean
+    MeterBinder boundedDataSourceMetrics(Map<String, DataSource> dataSources) {
+        return registry -> dataSources.forEach((name, dataSource) -> {
+            if (dataSource instanceof BoundedDataSource bounded) {
+                Gauge.builder("jdbc.connections.bounded.in.use", bounded, BoundedDataSource::getInUse)
+                        .description("Conexões emprestadas pelo semáforo")
+                        .tag("pool", name)
+                        .register(registry);
+                Gauge.builder("jdbc.connections.bounded.waiting", bounded, BoundedDataSource::getWaiting)
+                        .description("Threads aguardando vaga de conexão")
+                        .tag("pool", name)
+                        .register(registry);
+            }
+        });
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry, Environment environment) {
+        Duration threshold = environment.getProperty("app.virtual-threads.pinning-monitor.threshold",
+                Duration.class, Duration.ofMillis(20));
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
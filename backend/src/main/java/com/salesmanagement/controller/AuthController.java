@@ -4,8 +4,15 @@ import com.salesmanagement.dto.LoginRequest;
 import com.salesmanagement.dto.LoginResponse;
 import com.salesmanagement.entity.User;
 import com.salesmanagement.repository.UserRepository;
+import com.salesmanagement.security.JwtPrincipal;
 import com.salesmanagement.security.JwtUtil;
+import com.salesmanagement.security.PasswordHashingService;
+import com.salesmanagement.security.VerifiedTokenCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,6 +20,8 @@ import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -24,41 +33,71 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    // A verificação roda no executor de senhas; a thread do Tomcat é liberada enquanto isso.
+    // O restante (regravar o hash, gerar o token) segue no executor da aplicação: as poucas
+    // threads de bcrypt não ficam esperando o banco
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest) {
         try {
             // Buscar usuário por email
             Optional<User> optionalUser = userRepository.findByEmail(loginRequest.getEmail());
 
             if (optionalUser.isEmpty()) {
-                return ResponseEntity.badRequest().body(createErrorResponse("Usuário não encontrado"));
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.badRequest().body(createErrorResponse("Usuário não encontrado")));
             }
 
             User user = optionalUser.get();
 
-            // Verificar senha (simplificado para demonstração)
-            if (!user.getPassword().equals(loginRequest.getPassword())) {
-                return ResponseEntity.badRequest().body(createErrorResponse("Senha incorreta"));
-            }
-
-            // Gerar token JWT
-            String token = jwtUtil.generateToken(user.getEmail(), user.getRole().toString(), user.getId());
+            return passwordHashingService.verify(loginRequest.getPassword(), user.getPassword())
+                    .<ResponseEntity<?>>thenApplyAsync(verification -> completeLogin(user, verification), taskExecutor)
+                    .exceptionally(e -> ResponseEntity.badRequest().body(createErrorResponse("Erro interno: " + e.getMessage())));
 
-            // Criar resposta de sucesso
-            LoginResponse response = new LoginResponse(
-                    token,
-                    user.getEmail(),
-                    user.getRole().toString(),
-                    user.getId(),
-                    user.getName(),
-                    "Login realizado com sucesso!"
-            );
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(createErrorResponse("Muitos logins simultâneos, tente novamente")));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(createErrorResponse("Erro interno: " + e.getMessage())));
+        }
+    }
 
-            return ResponseEntity.ok(response);
+    private ResponseEntity<?> completeLogin(User user, PasswordHashingService.Verification verification) {
+        if (!verification.matches()) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Senha incorreta"));
+        }
 
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(createErrorResponse("Erro interno: " + e.getMessage()));
+        // Senha legada em texto puro (ou custo antigo): grava o novo hash
+        if (verification.upgradedHash() != null) {
+            user.setPassword(verification.upgradedHash());
+            userRepository.save(user);
         }
+
+        // Gerar token JWT
+        String token = jwtUtil.generateToken(user.getEmail(), user.getRole().toString(), user.getId());
+
+        // Criar resposta de sucesso
+        LoginResponse response = new LoginResponse(
+                token,
+                user.getEmail(),
+                user.getRole().toString(),
+                user.getId(),
+                user.getName(),
+                "Login realizado com sucesso!"
+        );
+
+        return ResponseEntity.ok(response);
     }
 
     // Login simplificado via GET para testes
@@ -99,19 +138,12 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(createErrorResponse("Token não fornecido"));
             }
 
-            String email = jwtUtil.extractEmail(token);
-            String role = jwtUtil.extractRole(token);
-            Long userId = jwtUtil.extractUserId(token);
-
-            if (jwtUtil.isTokenExpired(token)) {
-                return ResponseEntity.badRequest().body(createErrorResponse("Token expirado"));
+            Optional<JwtPrincipal> principal = verifiedTokenCache.verify(token);
+            if (principal.isEmpty()) {
+                return ResponseEntity.badRequest().body(createErrorResponse("Token inválido ou expirado"));
             }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("valid", true);
-            response.put("email", email);
-            response.put("role", role);
-            response.put("userId", userId);
+            Map<String, Object> response = principalResponse(principal.get());
             response.put("message", "Token válido");
 
             return ResponseEntity.ok(response);
@@ -121,6 +153,15 @@ public class AuthController {
         }
     }
 
+    // Dados do usuário autenticado pelo Bearer token
+    @GetMapping("/me")
+    public ResponseEntity<?> me(JwtPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body(createErrorResponse("Não autenticado"));
+        }
+        return ResponseEntity.ok(principalResponse(principal));
+    }
+
     @GetMapping("/users-for-login")
     public ResponseEntity<?> getUsersForLogin() {
         Map<String, Object> response = new HashMap<>();
@@ -139,6 +180,15 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    private Map<String, Object> principalResponse(JwtPrincipal principal) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("valid", true);
+        response.put("email", principal.getEmail());
+        response.put("role", principal.getRole());
+        response.put("userId", principal.getUserId());
+        return response;
+    }
+
     private Map<String, String> createErrorResponse(String message) {
         Map<String, String> error = new HashMap<>();
         error.put("error", message);
@@ -1,5 +1,10 @@
 package com.salesmanagement.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -10,19 +15,26 @@ import java.util.Map;
 @RestController
 public class HealthController {
 
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
     @GetMapping("/")
     public String home() {
         return "🚀 Sales Management System - Backend funcionando!";
     }
 
+    // 503 quando o Actuator não diz UP: o HEALTHCHECK da imagem (curl -f) depende do código
     @GetMapping("/health")
-    public Map<String, Object> health() {
+    public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> status = new HashMap<>();
-        status.put("status", "UP");
+        // Estado real (banco, disco) vem dos health indicators do Actuator
+        Status health = healthEndpoint.health().getStatus();
+        boolean up = Status.UP.equals(health);
+        status.put("status", health.getCode());
         status.put("timestamp", LocalDateTime.now());
-        status.put("message", "Sistema de vendas operacional");
+        status.put("message", up ? "Sistema de vendas operacional" : "Sistema de vendas indisponível");
         status.put("version", "1.0.0");
-        return status;
+        return ResponseEntity.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(status);
     }
 
     @GetMapping("/test")
@@ -1,12 +1,34 @@
 package com.salesmanagement.controller;
 
+import com.salesmanagement.dto.CreateOrderRequest;
+import com.salesmanagement.dto.CustomerOrderPage;
+import com.salesmanagement.dto.CustomerOrderSummary;
+import com.salesmanagement.dto.WireFormat;
 import com.salesmanagement.entity.*;
+import com.salesmanagement.event.OrderChangedEvent;
 import com.salesmanagement.repository.*;
+import com.salesmanagement.security.JwtPrincipal;
+import com.salesmanagement.service.CustomerOrderSummaryCache;
+import com.salesmanagement.service.IdempotencyService;
+import com.salesmanagement.service.OrderExportService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -23,27 +45,72 @@ public class OrderController {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private CustomerOrderSummaryCache customerSummaryCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
     @GetMapping
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
 
+    // Todos os pedidos em streaming, no formato pedido no Accept (JSON, Smile ou CBOR)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        WireFormat format = WireFormat.negotiate(accept);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(output -> orderExportService.export(format, output));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createOrder(@RequestBody CreateOrderRequest request,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                         HttpServletRequest httpRequest) {
+        try {
+            IdempotencyService.Result result = idempotencyService.execute(idempotencyScope(httpRequest, request),
+                    idempotencyKey, requestHash(request), () -> placeOrder(request));
+            return orderResponse(result);
+        } catch (IdempotencyService.KeyReusedException e) {
+            return ResponseEntity.unprocessableEntity().body(createErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    @Transactional(readOnly = true)
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
         Optional<Order> order = orderRepository.findById(id);
         return order.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/pending")
     public List<Order> getPendingOrders() {
         return orderRepository.findPendingOrders();
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/status/{status}")
     public List<Order> getOrdersByStatus(@PathVariable OrderStatus status) {
         return orderRepository.findByStatus(status);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<Order>> getOrdersByCustomer(@PathVariable Long customerId) {
         Optional<User> customer = userRepository.findById(customerId);
@@ -54,8 +121,34 @@ public class OrderController {
         return ResponseEntity.notFound().build();
     }
 
+    // Resumo do painel do cliente (contagens, total gasto e últimos pedidos), servido do cache.
+    // Sem @Transactional(readOnly): a carga vai sempre ao primário, e o cache não guarda dado atrasado da réplica
+    @GetMapping("/customer/{customerId}/summary")
+    public ResponseEntity<CustomerOrderSummary> getCustomerSummary(@PathVariable Long customerId) {
+        // Usuário vem do cache de segundo nível
+        if (userRepository.findById(customerId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(customerSummaryCache.getSummary(customerId));
+    }
+
+    // Pedidos mais antigos, em páginas: beforeId é o nextBeforeId do resumo ou da página anterior
+    @Transactional(readOnly = true)
+    @GetMapping("/customer/{customerId}/history")
+    public CustomerOrderPage getCustomerHistory(@PathVariable Long customerId,
+                                                @RequestParam(required = false) Long beforeId,
+                                                @RequestParam(defaultValue = "20") int size) {
+        return customerSummaryCache.getHistory(customerId, beforeId, Math.max(1, Math.min(size, 100)));
+    }
+
+    // A mudança de status e os ouvintes transacionais (desempenho do vendedor) gravam juntos.
+    // O pedido é travado antes da leitura: dois complete simultâneos contariam a venda duas vezes
+    @Transactional
     @GetMapping("/{orderId}/approve/{sellerId}")  // Mudou de POST para GET
     public ResponseEntity<Order> approveOrder(@PathVariable Long orderId, @PathVariable Long sellerId) {
+        if (orderRepository.lockById(orderId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
         Optional<Order> optionalOrder = orderRepository.findById(orderId);
         Optional<User> optionalSeller = userRepository.findById(sellerId);
 
@@ -69,7 +162,7 @@ public class OrderController {
 
             try {
                 order.approve(seller);
-                return ResponseEntity.ok(orderRepository.save(order));
+                return ResponseEntity.ok(saveAndPublish(order));
             } catch (IllegalStateException e) {
                 return ResponseEntity.badRequest().build();
             }
@@ -77,8 +170,12 @@ public class OrderController {
         return ResponseEntity.notFound().build();
     }
 
+    @Transactional
     @GetMapping("/{orderId}/reject/{sellerId}")  // Mudou de POST para GET
     public ResponseEntity<Order> rejectOrder(@PathVariable Long orderId, @PathVariable Long sellerId) {
+        if (orderRepository.lockById(orderId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
         Optional<Order> optionalOrder = orderRepository.findById(orderId);
         Optional<User> optionalSeller = userRepository.findById(sellerId);
 
@@ -92,7 +189,7 @@ public class OrderController {
 
             try {
                 order.reject(seller, "Rejeitado via teste");
-                return ResponseEntity.ok(orderRepository.save(order));
+                return ResponseEntity.ok(saveAndPublish(order));
             } catch (IllegalStateException e) {
                 return ResponseEntity.badRequest().build();
             }
@@ -100,8 +197,12 @@ public class OrderController {
         return ResponseEntity.notFound().build();
     }
 
+    @Transactional
     @GetMapping("/{orderId}/complete")  // Mudou de POST para GET
     public ResponseEntity<Order> completeOrder(@PathVariable Long orderId) {
+        if (orderRepository.lockById(orderId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
         Optional<Order> optionalOrder = orderRepository.findById(orderId);
 
         if (optionalOrder.isPresent()) {
@@ -109,7 +210,7 @@ public class OrderController {
 
             try {
                 order.complete();
-                return ResponseEntity.ok(orderRepository.save(order));
+                return ResponseEntity.ok(saveAndPublish(order));
             } catch (IllegalStateException e) {
                 return ResponseEntity.badRequest().build();
             }
@@ -118,28 +219,31 @@ public class OrderController {
     }
 
     @GetMapping("/create-sample/{customerId}/{productId}")  // Mudou de POST para GET
-    public ResponseEntity<Order> createSampleOrder(@PathVariable Long customerId, @PathVariable Long productId) {
-        Optional<User> customer = userRepository.findById(customerId);
-        Optional<Product> product = productRepository.findById(productId);
-
-        if (customer.isPresent() && product.isPresent()) {
-            Order order = new Order(customer.get());
-            OrderItem item = new OrderItem(product.get(), 2);
-            order.addItem(item);
-
-            Order savedOrder = orderRepository.save(order);
-            return ResponseEntity.ok(savedOrder);
+    public ResponseEntity<?> createSampleOrder(@PathVariable Long customerId, @PathVariable Long productId,
+                                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                               HttpServletRequest httpRequest) {
+        CreateOrderRequest request = new CreateOrderRequest(customerId,
+                List.of(new CreateOrderRequest.Item(productId, 2)));
+        try {
+            return orderResponse(idempotencyService.execute(idempotencyScope(httpRequest, request),
+                    idempotencyKey, requestHash(request), () -> placeOrder(request)));
+        } catch (IdempotencyService.KeyReusedException e) {
+            return ResponseEntity.unprocessableEntity().body(createErrorResponse(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(createErrorResponse(e.getMessage()));
         }
-        return ResponseEntity.badRequest().build();
     }
 
     @GetMapping("/create-demo-orders")
     public String createDemoOrders() {
-        List<User> customers = userRepository.findAll().stream()
+        List<User> users = userRepository.findAll();
+        List<User> customers = users.stream()
                 .filter(user -> user.getRole() == Role.CLIENTE)
                 .collect(Collectors.toList());
 
-        List<User> sellers = userRepository.findAll().stream()
+        List<User> sellers = users.stream()
                 .filter(user -> user.getRole() == Role.VENDEDOR || user.getRole() == Role.ADMIN)
                 .collect(Collectors.toList());
 
@@ -165,39 +269,127 @@ public class OrderController {
                 }
             }
 
-            Order savedOrder = orderRepository.save(order);
+            Order savedOrder = saveAndPublish(order);
 
             // Simular aprovação/finalização de alguns pedidos
             if (i % 3 == 0 && !sellers.isEmpty()) {
                 // Aprovar
                 User seller = sellers.get(i % sellers.size());
                 savedOrder.approve(seller);
-                orderRepository.save(savedOrder);
+                saveAndPublish(savedOrder);
 
                 // Finalizar alguns
                 if (i % 6 == 0) {
                     savedOrder.complete();
-                    orderRepository.save(savedOrder);
+                    saveAndPublish(savedOrder);
                 }
             } else if (i % 7 == 0 && !sellers.isEmpty()) {
                 // Rejeitar alguns
                 User seller = sellers.get(i % sellers.size());
                 savedOrder.reject(seller, "Produto indisponível");
-                orderRepository.save(savedOrder);
+                saveAndPublish(savedOrder);
             }
         }
 
         return "✅ Pedidos de demonstração criados com sucesso!";
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/count")
     public String getOrderCount() {
-        long total = orderRepository.count();
-        long pending = orderRepository.findByStatus(OrderStatus.PENDENTE).size();
-        long approved = orderRepository.findByStatus(OrderStatus.APROVADO).size();
-        long completed = orderRepository.findByStatus(OrderStatus.FINALIZADO).size();
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (Object[] row : orderRepository.countGroupedByStatus()) {
+            counts.put((OrderStatus) row[0], (Long) row[1]);
+        }
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        long pending = counts.getOrDefault(OrderStatus.PENDENTE, 0L);
+        long approved = counts.getOrDefault(OrderStatus.APROVADO, 0L);
+        long completed = counts.getOrDefault(OrderStatus.FINALIZADO, 0L);
 
         return String.format("Total: %d | Pendentes: %d | Aprovados: %d | Finalizados: %d",
                 total, pending, approved, completed);
     }
+
+    private Long placeOrder(CreateOrderRequest request) {
+        if (request.getCustomerId() == null || request.getItems() == null || request.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Cliente e itens são obrigatórios");
+        }
+
+        User customer = userRepository.findById(request.getCustomerId())
+                .orElseThrow(() -> new IllegalArgumentException("Cliente não encontrado"));
+
+        for (CreateOrderRequest.Item itemRequest : request.getItems()) {
+            if (itemRequest.getProductId() == null || itemRequest.getQuantity() == null || itemRequest.getQuantity() < 1) {
+                throw new IllegalArgumentException("Produto e quantidade maior que zero são obrigatórios");
+            }
+        }
+
+        // Todos os produtos do pedido numa única consulta
+        Map<Long, Product> products = productRepository.findAllById(request.getItems().stream()
+                        .map(CreateOrderRequest.Item::getProductId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Product::getId, product -> product));
+
+        Order order = new Order(customer);
+        order.setNotes(request.getNotes());
+        for (CreateOrderRequest.Item itemRequest : request.getItems()) {
+            Product product = Optional.ofNullable(products.get(itemRequest.getProductId()))
+                    .filter(Product::getActive)
+                    .orElseThrow(() -> new IllegalArgumentException("Produto não encontrado: " + itemRequest.getProductId()));
+            order.addItem(new OrderItem(product, itemRequest.getQuantity()));
+        }
+
+        return saveAndPublish(order).getId();
+    }
+
+    // Chaves de idempotência valem por usuário autenticado; sem token, pelo cliente do pedido
+    private static String idempotencyScope(HttpServletRequest httpRequest, CreateOrderRequest request) {
+        if (httpRequest.getUserPrincipal() instanceof JwtPrincipal principal && principal.getUserId() != null) {
+            return "user:" + principal.getUserId();
+        }
+        return "customer:" + request.getCustomerId();
+    }
+
+    // SHA-256 dos campos que definem o pedido, na ordem recebida
+    private static String requestHash(CreateOrderRequest request) {
+        StringBuilder canonical = new StringBuilder()
+                .append(request.getCustomerId()).append('|')
+                .append(request.getNotes()).append('|');
+        if (request.getItems() != null) {
+            for (CreateOrderRequest.Item item : request.getItems()) {
+                canonical.append(item.getProductId()).append(':').append(item.getQuantity()).append(',');
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private Order saveAndPublish(Order order) {
+        Order saved = orderRepository.save(order);
+        eventPublisher.publishEvent(OrderChangedEvent.of(saved));
+        return saved;
+    }
+
+    private ResponseEntity<?> orderResponse(IdempotencyService.Result result) {
+        Optional<Order> order = orderRepository.findById(result.orderId());
+        if (order.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(order.get());
+    }
+
+    private Map<String, String> createErrorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        error.put("success", "false");
+        return error;
+    }
 }
\ No newline at end of file
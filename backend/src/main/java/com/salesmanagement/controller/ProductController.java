@@ -1,13 +1,32 @@
 package com.salesmanagement.controller;
 
+import com.salesmanagement.dto.WireFormat;
 import com.salesmanagement.entity.Product;
+import com.salesmanagement.event.ProductCatalogChangedEvent;
 import com.salesmanagement.repository.ProductRepository;
+import com.salesmanagement.service.ProductCatalogCache;
+import com.salesmanagement.service.ProductImportService;
+import com.salesmanagement.service.ProductSearchIndex;
+import com.salesmanagement.service.WireFormatMappers;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @RestController
@@ -17,29 +36,118 @@ public class ProductController {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private WireFormatMappers wireFormatMappers;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // JSON por padrão; Smile ou CBOR quando pedidos no Accept
     @GetMapping
-    public List<Product> getAllProducts() {
-        return productRepository.findByActiveTrue();
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        WireFormat format = WireFormat.negotiate(accept);
+        if (catalogCache.matches(ifNoneMatch)) {
+            return notModified(catalogCache.currentETag(format, gzipFor(format, acceptEncoding)));
+        }
+        return encoded(catalogCache.getSnapshot().activeBody(), format, acceptEncoding);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        Optional<Product> product = productRepository.findById(id);
-        return product.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Product> getProductById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        WireFormat format = WireFormat.negotiate(accept);
+        ProductCatalogCache.Snapshot snapshot = catalogCache.getSnapshot();
+        Product product = snapshot.findById(id);
+        // Existência antes do ETag: o ETag é do catálogo, e um id inexistente não pode dar 304
+        if (product == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = catalogCache.etagOf(snapshot, format);
+        if (catalogCache.matches(ifNoneMatch, snapshot)) {
+            return notModified(etag);
+        }
+        return cached(etag, product);
     }
 
     @GetMapping("/in-stock")
-    public List<Product> getProductsInStock() {
-        return productRepository.findInStock();
+    public ResponseEntity<byte[]> getProductsInStock(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        WireFormat format = WireFormat.negotiate(accept);
+        if (catalogCache.matches(ifNoneMatch)) {
+            return notModified(catalogCache.currentETag(format, gzipFor(format, acceptEncoding)));
+        }
+        return encoded(catalogCache.getSnapshot().inStockBody(), format, acceptEncoding);
+    }
+
+    // Busca por nome e descrição, ignorando acentos; o último termo funciona como prefixo
+    @GetMapping("/search")
+    public List<Product> searchProducts(@RequestParam("q") String query,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        return resolve(searchIndex.search(query, Math.min(limit, 100)));
+    }
+
+    // Sugestões de nomes para o campo de busca
+    @GetMapping("/autocomplete")
+    public List<String> autocomplete(@RequestParam("q") String prefix,
+                                     @RequestParam(defaultValue = "10") int limit) {
+        return resolve(searchIndex.search(prefix, Math.min(limit, 20))).stream()
+                .map(Product::getName)
+                .distinct()
+                .toList();
     }
 
     @PostMapping
-    public Product createProduct(@RequestBody Product product) {
-        return productRepository.save(product);
+    public ResponseEntity<?> createProduct(@RequestBody Product product) {
+        return saveOrConflict(product);
+    }
+
+    // Importação em massa: upsert por nome, colunas name,description,price,stock,active
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importCsv(InputStream body) {
+        try {
+            return ResponseEntity.ok(importService.importCsv(body));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<?> importNdjson(InputStream body) {
+        try {
+            return ResponseEntity.ok(importService.importNdjson(body));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    // Array de produtos em JSON, Smile ou CBOR; a linha do erro é a posição (1..n) no array
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, WireFormat.SMILE_VALUE, WireFormat.CBOR_VALUE})
+    public ResponseEntity<?> importArray(InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType) {
+        try {
+            return ResponseEntity.ok(importService.importArray(body, wireFormatMappers.forFormat(WireFormat.of(contentType))));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Product> updateProduct(@PathVariable Long id, @RequestBody Product productDetails) {
+    public ResponseEntity<?> updateProduct(@PathVariable Long id, @RequestBody Product productDetails) {
         Optional<Product> optionalProduct = productRepository.findById(id);
         if (optionalProduct.isPresent()) {
             Product product = optionalProduct.get();
@@ -48,7 +156,7 @@ public class ProductController {
             product.setPrice(productDetails.getPrice());
             product.setStock(productDetails.getStock());
             product.setActive(productDetails.getActive());
-            return ResponseEntity.ok(productRepository.save(product));
+            return saveOrConflict(product);
         }
         return ResponseEntity.notFound().build();
     }
@@ -59,7 +167,7 @@ public class ProductController {
         if (product.isPresent()) {
             Product p = product.get();
             p.setActive(false);  // Soft delete
-            productRepository.save(p);
+            saveAndPublish(p);
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
@@ -67,24 +175,24 @@ public class ProductController {
 
     // Endpoints para criar produtos de teste
     @GetMapping("/create-sample-laptop")  // Mudou de POST para GET
-    public Product createSampleLaptop() {
+    public ResponseEntity<?> createSampleLaptop() {
         Product laptop = new Product("Notebook Dell Inspiron", "Notebook Dell i7 16GB RAM 512GB SSD",
                 new BigDecimal("2899.99"), 10);
-        return productRepository.save(laptop);
+        return saveOrConflict(laptop);
     }
 
     @GetMapping("/create-sample-mouse")  // Mudou de POST para GET
-    public Product createSampleMouse() {
+    public ResponseEntity<?> createSampleMouse() {
         Product mouse = new Product("Mouse Gamer RGB", "Mouse gamer com LED RGB e 7 botões",
                 new BigDecimal("89.90"), 25);
-        return productRepository.save(mouse);
+        return saveOrConflict(mouse);
     }
 
     @GetMapping("/create-sample-keyboard")  // Mudou de POST para GET
-    public Product createSampleKeyboard() {
+    public ResponseEntity<?> createSampleKeyboard() {
         Product keyboard = new Product("Teclado Mecânico", "Teclado mecânico switch azul RGB",
                 new BigDecimal("299.99"), 15);
-        return productRepository.save(keyboard);
+        return saveOrConflict(keyboard);
     }
 
     // Criar produtos de demonstração
@@ -96,22 +204,124 @@ public class ProductController {
         }
 
         // Mais produtos para demonstração
-        productRepository.save(new Product("Monitor 4K", "Monitor 4K 27 polegadas IPS", new BigDecimal("899.99"), 8));
-        productRepository.save(new Product("SSD 1TB", "SSD NVMe 1TB alta velocidade", new BigDecimal("299.99"), 20));
-        productRepository.save(new Product("Webcam HD", "Webcam Full HD com microfone", new BigDecimal("199.99"), 12));
-        productRepository.save(new Product("Headset Gamer", "Headset gamer 7.1 surround", new BigDecimal("249.99"), 15));
-        productRepository.save(new Product("Mousepad RGB", "Mousepad gamer grande com RGB", new BigDecimal("79.99"), 30));
-        productRepository.save(new Product("Cabo HDMI", "Cabo HDMI 2.1 4K 60Hz", new BigDecimal("29.99"), 2)); // Estoque baixo
-        productRepository.save(new Product("Hub USB", "Hub USB 3.0 com 4 portas", new BigDecimal("59.99"), 0)); // Sem estoque
+        List<Product> demoProducts = new ArrayList<>();
+        demoProducts.add(new Product("Monitor 4K", "Monitor 4K 27 polegadas IPS", new BigDecimal("899.99"), 8));
+        demoProducts.add(new Product("SSD 1TB", "SSD NVMe 1TB alta velocidade", new BigDecimal("299.99"), 20));
+        demoProducts.add(new Product("Webcam HD", "Webcam Full HD com microfone", new BigDecimal("199.99"), 12));
+        demoProducts.add(new Product("Headset Gamer", "Headset gamer 7.1 surround", new BigDecimal("249.99"), 15));
+        demoProducts.add(new Product("Mousepad RGB", "Mousepad gamer grande com RGB", new BigDecimal("79.99"), 30));
+        demoProducts.add(new Product("Cabo HDMI", "Cabo HDMI 2.1 4K 60Hz", new BigDecimal("29.99"), 2)); // Estoque baixo
+        demoProducts.add(new Product("Hub USB", "Hub USB 3.0 com 4 portas", new BigDecimal("59.99"), 0)); // Sem estoque
+        try {
+            eventPublisher.publishEvent(new ProductCatalogChangedEvent(productRepository.saveAll(demoProducts)));
+        } catch (DataIntegrityViolationException e) {
+            return "⚠️ Produtos de demonstração já existem!";
+        }
 
         return "✅ Produtos de demonstração criados com sucesso!";
     }
 
     @GetMapping("/count")
     public String getProductCount() {
-        long total = productRepository.count();
-        long active = productRepository.findByActiveTrue().size();
-        long inStock = productRepository.findInStock().size();
+        ProductCatalogCache.Snapshot snapshot = catalogCache.getSnapshot();
+        long total = snapshot.productsById().size();
+        long active = snapshot.activeProducts().size();
+        long inStock = snapshot.inStockProducts().size();
         return String.format("Total: %d | Ativos: %d | Em estoque: %d", total, active, inStock);
     }
+
+    private Map<String, String> createErrorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        error.put("success", "false");
+        return error;
+    }
+
+    private List<Product> resolve(List<Long> productIds) {
+        ProductCatalogCache.Snapshot snapshot = catalogCache.getSnapshot();
+        return productIds.stream()
+                .map(snapshot::findById)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Product saveAndPublish(Product product) {
+        Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.of(saved));
+        return saved;
+    }
+
+    // Nome já usado por outro produto vira 409; outras violações seguem como erro
+    private ResponseEntity<?> saveOrConflict(Product product) {
+        try {
+            return ResponseEntity.ok(saveAndPublish(product));
+        } catch (DataIntegrityViolationException e) {
+            if (!violates(e, Product.NAME_CONSTRAINT)) {
+                throw e;
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(createErrorResponse("Já existe um produto com o nome " + product.getName()));
+        }
+    }
+
+    // A exceção do Hibernate fica na cadeia de causas, com o nome da restrição já extraído
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return constraint.equalsIgnoreCase(violation.getConstraintName());
+            }
+        }
+        return false;
+    }
+
+    // Força o cliente a revalidar com If-None-Match a cada uso
+    private <T> ResponseEntity<T> cached(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
+    // Bytes pré-serializados do snapshot no formato pedido; só o JSON vai em gzip
+    private ResponseEntity<byte[]> encoded(ProductCatalogCache.EncodedBody body, WireFormat format, String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzipFor(format, acceptEncoding)) {
+            return response.eTag(body.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(body.gzip());
+        }
+        return response.eTag(body.etag(format)).body(body.body(format));
+    }
+
+    private static boolean gzipFor(WireFormat format, String acceptEncoding) {
+        return format == WireFormat.JSON && acceptsGzip(acceptEncoding);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean rejected = parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?");
+            return !rejected;
+        }
+        return false;
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noCache())
+                .build();
+    }
 }
\ No newline at end of file
@@ -1,20 +1,51 @@
 package com.salesmanagement.controller;
 
+import com.salesmanagement.datasource.ReadWriteRoutingDataSource;
+import com.salesmanagement.dto.report.*;
 import com.salesmanagement.entity.*;
+import com.salesmanagement.metrics.LiveSalesMetrics;
+import com.salesmanagement.metrics.VirtualThreadPinningMonitor;
 import com.salesmanagement.repository.*;
+import com.salesmanagement.service.DistinctCustomerService;
+import com.salesmanagement.service.SellerStatsService;
+import com.salesmanagement.throttling.BoundedDataSource;
+import com.salesmanagement.throttling.RateLimitInterceptor;
+import com.salesmanagement.throttling.ReportConcurrencyInterceptor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reports")
+@Transactional(readOnly = true)
 public class ReportsController {
 
+    private static final int LOW_STOCK_THRESHOLD = 5;
+    private static final int TOP_LIMIT = 10;
+    private static final int SELLER_REPORT_DEFAULT_DAYS = 30;
+    private static final int SELLER_REPORT_MAX_DAYS = 366;
+    private static final int DISTINCT_CUSTOMERS_MAX_ROWS = 100;
+    private static final List<String> BATCH_REPORTS = List.of(
+            "dashboard", "sales-summary", "top-customers", "top-products", "low-stock", "sales-trend", "system-status");
+
     @Autowired
     private OrderRepository orderRepository;
 
@@ -24,223 +55,331 @@ public class ReportsController {
     @Autowired
     private ProductRepository productRepository;
 
-    // Dashboard principal
-    @GetMapping("/dashboard")
-    public Map<String, Object> getDashboard() {
-        Map<String, Object> dashboard = new HashMap<>();
+    @Autowired
+    private SellerStatsService sellerStatsService;
 
-        // Métricas básicas
-        dashboard.put("totalUsers", userRepository.count());
-        dashboard.put("totalProducts", productRepository.count());
-        dashboard.put("totalOrders", orderRepository.count());
+    @Autowired
+    private LiveSalesMetrics liveSalesMetrics;
 
-        // Vendas por status
-        Map<String, Long> ordersByStatus = new HashMap<>();
-        for (OrderStatus status : OrderStatus.values()) {
-            ordersByStatus.put(status.toString(), (long) orderRepository.findByStatus(status).size());
-        }
-        dashboard.put("ordersByStatus", ordersByStatus);
+    @Autowired
+    private DistinctCustomerService distinctCustomerService;
 
-        // Vendas totais
-        BigDecimal totalSales = orderRepository.findByStatus(OrderStatus.FINALIZADO)
-                .stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        dashboard.put("totalSales", totalSales);
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Autowired
+    private ReportConcurrencyInterceptor reportConcurrencyInterceptor;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
-        // Vendas pendentes (valor)
-        BigDecimal pendingSales = orderRepository.findByStatus(OrderStatus.PENDENTE)
-                .stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        dashboard.put("pendingSales", pendingSales);
+    // Presente só com virtual threads ligadas
+    @Autowired(required = false)
+    private VirtualThreadPinningMonitor pinningMonitor;
 
-        // Produtos com estoque baixo (menos de 5)
-        long lowStockProducts = productRepository.findByActiveTrue()
-                .stream()
-                .filter(p -> p.getStock() < 5)
-                .count();
-        dashboard.put("lowStockProducts", lowStockProducts);
+    // Presente só com réplica de leitura configurada
+    @Autowired(required = false)
+    private ReadWriteRoutingDataSource routingDataSource;
 
-        // Última atualização
-        dashboard.put("lastUpdated", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
 
-        return dashboard;
+    // Dashboard principal
+    @GetMapping("/dashboard")
+    public DashboardReport getDashboard() {
+        return dashboard(new Scans());
     }
 
     // Resumo das vendas
     @GetMapping("/sales-summary")
-    public Map<String, Object> getSalesSummary() {
-        Map<String, Object> summary = new HashMap<>();
+    public SalesSummaryReport getSalesSummary() {
+        return salesSummary(new Scans());
+    }
 
-        List<Order> allOrders = orderRepository.findAll();
-        List<Order> completedOrders = orderRepository.findByStatus(OrderStatus.FINALIZADO);
-        List<Order> pendingOrders = orderRepository.findByStatus(OrderStatus.PENDENTE);
+    // Clientes mais ativos
+    @GetMapping("/top-customers")
+    public List<TopCustomerRow> getTopCustomers() {
+        return topCustomers();
+    }
 
-        summary.put("totalOrders", allOrders.size());
-        summary.put("completedOrders", completedOrders.size());
-        summary.put("pendingOrders", pendingOrders.size());
+    // Produtos mais vendidos
+    @GetMapping("/top-products")
+    public List<TopProductRow> getTopProducts() {
+        return topProducts();
+    }
 
-        // Valor total faturado
-        BigDecimal totalRevenue = completedOrders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        summary.put("totalRevenue", totalRevenue);
+    // Produtos com estoque baixo
+    @GetMapping("/low-stock")
+    public List<LowStockRow> getLowStockProducts() {
+        return lowStock(new Scans());
+    }
 
-        // Ticket médio
-        BigDecimal averageTicket = completedOrders.isEmpty() ?
-                BigDecimal.ZERO :
-                totalRevenue.divide(BigDecimal.valueOf(completedOrders.size()), 2, BigDecimal.ROUND_HALF_UP);
-        summary.put("averageTicket", averageTicket);
+    // Vendas por período (últimos 7 dias simulado)
+    @GetMapping("/sales-trend")
+    public List<SalesTrendDay> getSalesTrend() {
+        return salesTrend(new Scans());
+    }
 
-        // Total de itens vendidos
-        int totalItemsSold = completedOrders.stream()
-                .flatMap(order -> order.getItems().stream())
-                .mapToInt(OrderItem::getQuantity)
-                .sum();
-        summary.put("totalItemsSold", totalItemsSold);
+    // Status geral do sistema
+    @GetMapping("/system-status")
+    public Map<String, Object> getSystemStatus() {
+        return systemStatus(new Scans());
+    }
 
-        return summary;
+    // Finalizações e faturamento nos últimos 5 min, 1 h e 24 h, sem consultar o banco.
+    // Fora da transação da classe: consultado a cada segundo, não deve abrir sessão nem pegar conexão
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @GetMapping("/live-sales")
+    public LiveSalesReport getLiveSales() {
+        return liveSalesMetrics.report();
     }
 
-    // Clientes mais ativos
-    @GetMapping("/top-customers")
-    public List<Map<String, Object>> getTopCustomers() {
-        List<Order> orders = orderRepository.findAll();
+    // Desempenho por vendedor (padrão: últimos 30 dias), lido dos baldes diários
+    @GetMapping("/sellers")
+    public ResponseEntity<?> getSellerPerformance(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(SELLER_REPORT_DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Data inicial depois da final"));
+        }
+        if (start.plusDays(SELLER_REPORT_MAX_DAYS).isBefore(end)) {
+            return ResponseEntity.badRequest().body(createErrorResponse(
+                    "Período máximo de " + SELLER_REPORT_MAX_DAYS + " dias"));
+        }
+        return ResponseEntity.ok(sellerStatsService.report(start, end));
+    }
 
-        Map<User, List<Order>> ordersByCustomer = orders.stream()
-                .collect(Collectors.groupingBy(Order::getCustomer));
+    // Recalcula os baldes dos vendedores a partir dos pedidos
+    @PostMapping("/sellers/rebuild")
+    @Transactional
+    public Map<String, Object> rebuildSellerStats() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("buckets", sellerStatsService.rebuild());
+        result.put("success", "true");
+        return result;
+    }
 
-        return ordersByCustomer.entrySet().stream()
-                .map(entry -> {
-                    User customer = entry.getKey();
-                    List<Order> customerOrders = entry.getValue();
+    // Clientes distintos por produto ou vendedor (by=product|seller), unindo os sketches diários do período
+    @GetMapping("/distinct-customers")
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getDistinctCustomers(
+            @RequestParam(defaultValue = "product") String by,
+            @RequestParam(required = false) Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int limit) {
+        SketchDimension dimension;
+        try {
+            dimension = SketchDimension.valueOf(by.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Dimensão desconhecida: " + by + ". Use product ou seller"));
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(SELLER_REPORT_DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Data inicial depois da final"));
+        }
+        int rows = Math.max(1, Math.min(limit, DISTINCT_CUSTOMERS_MAX_ROWS));
+        return ResponseEntity.ok(distinctCustomerService.report(dimension, id, start, end, rows));
+    }
 
-                    Map<String, Object> customerData = new HashMap<>();
-                    customerData.put("customerId", customer.getId());
-                    customerData.put("customerName", customer.getName());
-                    customerData.put("customerEmail", customer.getEmail());
-                    customerData.put("totalOrders", customerOrders.size());
+    // Recalcula os sketches a partir dos pedidos finalizados (carga inicial do histórico)
+    @PostMapping("/distinct-customers/rebuild")
+    @Transactional
+    public Map<String, Object> rebuildDistinctCustomers() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("sketches", distinctCustomerService.rebuild());
+        result.put("success", "true");
+        return result;
+    }
 
-                    BigDecimal totalSpent = customerOrders.stream()
-                            .filter(o -> o.getStatus() == OrderStatus.FINALIZADO)
-                            .map(Order::getTotalAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    customerData.put("totalSpent", totalSpent);
+    // Vários relatórios numa ida só (?reports=dashboard,sales-summary,...), todos lidos do
+    // mesmo snapshot do banco; as consultas em comum entre eles rodam uma vez
+    @GetMapping("/batch")
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ResponseEntity<?> getBatch(@RequestParam List<String> reports) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String report : reports) {
+            String name = report.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!BATCH_REPORTS.contains(name)) {
+                return ResponseEntity.badRequest().body(createErrorResponse(
+                        "Relatório desconhecido: " + name + ". Disponíveis: " + String.join(", ", BATCH_REPORTS)));
+            }
+            names.add(name);
+        }
+        if (names.isEmpty()) {
+            return ResponseEntity.badRequest().body(createErrorResponse("Informe ao menos um relatório"));
+        }
 
-                    return customerData;
-                })
-                .sorted((a, b) -> ((Integer) b.get("totalOrders")).compareTo((Integer) a.get("totalOrders")))
-                .limit(10)
-                .collect(Collectors.toList());
+        Scans scans = new Scans();
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (String name : names) {
+            results.put(name, switch (name) {
+                case "dashboard" -> dashboard(scans);
+                case "sales-summary" -> salesSummary(scans);
+                case "top-customers" -> topCustomers();
+                case "top-products" -> topProducts();
+                case "low-stock" -> lowStock(scans);
+                case "sales-trend" -> salesTrend(scans);
+                default -> systemStatus(scans);
+            });
+        }
+        return ResponseEntity.ok(results);
     }
 
-    // Produtos mais vendidos
-    @GetMapping("/top-products")
-    public List<Map<String, Object>> getTopProducts() {
-        List<Order> completedOrders = orderRepository.findByStatus(OrderStatus.FINALIZADO);
+    private DashboardReport dashboard(Scans scans) {
+        // Vendas por status
+        Map<OrderStatus, Long> countsByStatus = scans.ordersByStatus();
+
+        return new DashboardReport(
+                scans.userCount(),
+                scans.productCount(),
+                countsByStatus,
+                scans.orderCount(),
+                // Vendas totais e pendentes (valor)
+                scans.completedRevenue(),
+                orderRepository.sumTotalAmountByStatus(OrderStatus.PENDENTE),
+                // Produtos com estoque baixo (menos de 5)
+                scans.lowStockCount(),
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")));
+    }
 
-        Map<Product, Integer> productSales = new HashMap<>();
-        Map<Product, BigDecimal> productRevenue = new HashMap<>();
+    private SalesSummaryReport salesSummary(Scans scans) {
+        Map<OrderStatus, Long> countsByStatus = scans.ordersByStatus();
+        long completedOrders = countsByStatus.get(OrderStatus.FINALIZADO);
 
-        for (Order order : completedOrders) {
-            for (OrderItem item : order.getItems()) {
-                Product product = item.getProduct();
-                productSales.put(product, productSales.getOrDefault(product, 0) + item.getQuantity());
-                productRevenue.put(product, productRevenue.getOrDefault(product, BigDecimal.ZERO).add(item.getSubtotal()));
-            }
-        }
+        // Valor total faturado
+        BigDecimal totalRevenue = scans.completedRevenue();
 
-        return productSales.entrySet().stream()
-                .map(entry -> {
-                    Product product = entry.getKey();
-                    Integer quantitySold = entry.getValue();
-                    BigDecimal revenue = productRevenue.get(product);
+        // Ticket médio
+        BigDecimal averageTicket = completedOrders == 0 ?
+                BigDecimal.ZERO :
+                totalRevenue.divide(BigDecimal.valueOf(completedOrders), 2, RoundingMode.HALF_UP);
+
+        return new SalesSummaryReport(
+                scans.orderCount(),
+                completedOrders,
+                countsByStatus.get(OrderStatus.PENDENTE),
+                totalRevenue,
+                averageTicket,
+                // Total de itens vendidos
+                orderRepository.sumItemQuantityByStatus(OrderStatus.FINALIZADO));
+    }
+
+    private List<TopCustomerRow> topCustomers() {
+        // Agrupado e ordenado no banco: uma consulta, independente do número de pedidos
+        List<Object[]> rows = orderRepository.findTopCustomers(OrderStatus.FINALIZADO, PageRequest.of(0, TOP_LIMIT));
+        List<TopCustomerRow> customers = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            customers.add(new TopCustomerRow((Long) row[0], (String) row[1], (String) row[2],
+                    (Long) row[3], (BigDecimal) row[4]));
+        }
+        return customers;
+    }
 
-                    Map<String, Object> productData = new HashMap<>();
-                    productData.put("productId", product.getId());
-                    productData.put("productName", product.getName());
-                    productData.put("quantitySold", quantitySold);
-                    productData.put("revenue", revenue);
-                    productData.put("currentStock", product.getStock());
-                    productData.put("unitPrice", product.getPrice());
+    private List<TopProductRow> topProducts() {
+        // Duas consultas: vendas agrupadas por produto (já ordenadas) e os produtos do ranking
+        List<Object[]> sales = orderRepository.sumSalesByProduct(OrderStatus.FINALIZADO, PageRequest.of(0, TOP_LIMIT));
+        List<Long> productIds = new ArrayList<>(sales.size());
+        for (Object[] row : sales) {
+            productIds.add((Long) row[0]);
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
 
-                    return productData;
-                })
-                .sorted((a, b) -> ((Integer) b.get("quantitySold")).compareTo((Integer) a.get("quantitySold")))
-                .limit(10)
-                .collect(Collectors.toList());
+        List<TopProductRow> ranking = new ArrayList<>(sales.size());
+        for (Object[] row : sales) {
+            Product product = products.get((Long) row[0]);
+            if (product != null) {
+                ranking.add(new TopProductRow(product.getId(), product.getName(), (Long) row[1],
+                        (BigDecimal) row[2], product.getStock(), product.getPrice()));
+            }
+        }
+        return ranking;
     }
 
-    // Produtos com estoque baixo
-    @GetMapping("/low-stock")
-    public List<Map<String, Object>> getLowStockProducts() {
-        return productRepository.findByActiveTrue().stream()
-                .filter(product -> product.getStock() < 5)
-                .map(product -> {
-                    Map<String, Object> productData = new HashMap<>();
-                    productData.put("id", product.getId());
-                    productData.put("name", product.getName());
-                    productData.put("currentStock", product.getStock());
-                    productData.put("price", product.getPrice());
-                    productData.put("status", product.getStock() == 0 ? "SEM_ESTOQUE" : "ESTOQUE_BAIXO");
-                    return productData;
-                })
-                .sorted((a, b) -> ((Integer) a.get("currentStock")).compareTo((Integer) b.get("currentStock")))
-                .collect(Collectors.toList());
+    private List<LowStockRow> lowStock(Scans scans) {
+        List<Product> products = scans.lowStockProducts();
+        List<LowStockRow> lowStock = new ArrayList<>(products.size());
+        for (Product product : products) {
+            lowStock.add(new LowStockRow(product.getId(), product.getName(), product.getStock(), product.getPrice(),
+                    product.getStock() == 0 ? "SEM_ESTOQUE" : "ESTOQUE_BAIXO"));
+        }
+        return lowStock;
     }
 
-    // Vendas por período (últimos 7 dias simulado)
-    @GetMapping("/sales-trend")
-    public List<Map<String, Object>> getSalesTrend() {
-        List<Order> completedOrders = orderRepository.findByStatus(OrderStatus.FINALIZADO);
+    private List<SalesTrendDay> salesTrend(Scans scans) {
+        long completedOrders = scans.ordersByStatus().get(OrderStatus.FINALIZADO);
+        DateTimeFormatter dayFormat = DateTimeFormatter.ofPattern("dd/MM");
 
         // Simular vendas dos últimos 7 dias
-        List<Map<String, Object>> trend = new ArrayList<>();
+        List<SalesTrendDay> trend = new ArrayList<>(7);
         for (int i = 6; i >= 0; i--) {
             LocalDateTime date = LocalDateTime.now().minusDays(i);
-            String dateStr = date.format(DateTimeFormatter.ofPattern("dd/MM"));
 
             // Simular algumas vendas por dia
-            long ordersCount = Math.round(Math.random() * completedOrders.size() / 7);
+            long ordersCount = Math.round(Math.random() * completedOrders / 7);
             BigDecimal dailySales = BigDecimal.valueOf(Math.random() * 5000);
 
-            Map<String, Object> dayData = new HashMap<>();
-            dayData.put("date", dateStr);
-            dayData.put("orders", ordersCount);
-            dayData.put("sales", dailySales);
-
-            trend.add(dayData);
+            trend.add(new SalesTrendDay(date.format(dayFormat), ordersCount, dailySales));
         }
 
         return trend;
     }
 
-    // Status geral do sistema
-    @GetMapping("/system-status")
-    public Map<String, Object> getSystemStatus() {
+    private Map<String, Object> systemStatus(Scans scans) {
         Map<String, Object> status = new HashMap<>();
 
         // Contadores por role
         Map<String, Long> usersByRole = new HashMap<>();
-        for (Role role : Role.values()) {
-            long count = userRepository.findAll().stream()
-                    .filter(user -> user.getRole() == role)
-                    .count();
-            usersByRole.put(role.toString(), count);
+        for (Map.Entry<Role, Long> entry : scans.usersByRole().entrySet()) {
+            usersByRole.put(entry.getKey().toString(), entry.getValue());
         }
         status.put("usersByRole", usersByRole);
 
         // Produtos por status
-        long activeProducts = productRepository.findByActiveTrue().size();
-        long totalProducts = productRepository.count();
+        long activeProducts = productRepository.countByActiveTrue();
+        long totalProducts = scans.productCount();
         status.put("activeProducts", activeProducts);
         status.put("inactiveProducts", totalProducts - activeProducts);
 
         // Pedidos que precisam de atenção
-        long pendingOrders = orderRepository.findByStatus(OrderStatus.PENDENTE).size();
-        long approvedOrders = orderRepository.findByStatus(OrderStatus.APROVADO).size();
-        status.put("ordersNeedingAttention", pendingOrders + approvedOrders);
+        Map<OrderStatus, Long> countsByStatus = scans.ordersByStatus();
+        status.put("ordersNeedingAttention",
+                countsByStatus.get(OrderStatus.PENDENTE) + countsByStatus.get(OrderStatus.APROVADO));
+
+        // Requisições recusadas pelo rate limiting
+        status.put("rateLimiter", rateLimitInterceptor.getStats());
+        status.put("reportLimiter", reportConcurrencyInterceptor.getStats());
+
+        // Modo de execução das requisições e fila de conexões com o banco
+        Map<String, Object> threads = new HashMap<>();
+        threads.put("virtual", virtualThreadsEnabled);
+        if (dataSource instanceof BoundedDataSource bounded) {
+            threads.put("jdbcLimiter", bounded.getStats());
+        }
+        if (pinningMonitor != null) {
+            threads.put("pinning", pinningMonitor.getStats());
+        }
+        status.put("threads", threads);
+
+        // Cache de segundo nível do Hibernate, por região
+        status.put("secondLevelCache", secondLevelCacheStats());
+
+        // Roteamento primário/réplica e atraso da réplica
+        if (routingDataSource != null) {
+            status.put("dataSourceRouting", routingDataSource.getStats());
+        }
 
         // Health check
         status.put("systemHealth", "OK");
@@ -248,4 +387,114 @@ public class ReportsController {
 
         return status;
     }
+
+    private Map<String, Object> secondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("hits", regionStatistics.getHitCount());
+            stats.put("misses", regionStatistics.getMissCount());
+            stats.put("puts", regionStatistics.getPutCount());
+            stats.put("size", regionStatistics.getElementCountInMemory());
+            regions.put(region, stats);
+        }
+        return regions;
+    }
+
+    private Map<String, String> createErrorResponse(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        error.put("success", "false");
+        return error;
+    }
+
+    /**
+     * Consultas usadas por mais de um relatório, feitas na primeira vez em que
+     * são pedidas e reaproveitadas pelos demais relatórios da mesma requisição.
+     */
+    private class Scans {
+
+        private Map<OrderStatus, Long> ordersByStatus;
+        private Map<Role, Long> usersByRole;
+        private Long productCount;
+        private BigDecimal completedRevenue;
+        private List<Product> lowStockProducts;
+
+        // Uma consulta agrupada; status sem pedidos aparecem com zero
+        Map<OrderStatus, Long> ordersByStatus() {
+            if (ordersByStatus == null) {
+                Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+                for (OrderStatus status : OrderStatus.values()) {
+                    counts.put(status, 0L);
+                }
+                for (Object[] row : orderRepository.countGroupedByStatus()) {
+                    counts.put((OrderStatus) row[0], (Long) row[1]);
+                }
+                ordersByStatus = counts;
+            }
+            return ordersByStatus;
+        }
+
+        long orderCount() {
+            long total = 0;
+            for (long count : ordersByStatus().values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        Map<Role, Long> usersByRole() {
+            if (usersByRole == null) {
+                Map<Role, Long> counts = new EnumMap<>(Role.class);
+                for (Role role : Role.values()) {
+                    counts.put(role, 0L);
+                }
+                for (Object[] row : userRepository.countGroupedByRole()) {
+                    counts.put((Role) row[0], (Long) row[1]);
+                }
+                usersByRole = counts;
+            }
+            return usersByRole;
+        }
+
+        // Custa o mesmo que um COUNT e ainda serve ao system-status
+        long userCount() {
+            long total = 0;
+            for (long count : usersByRole().values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        long productCount() {
+            if (productCount == null) {
+                productCount = productRepository.count();
+            }
+            return productCount;
+        }
+
+        BigDecimal completedRevenue() {
+            if (completedRevenue == null) {
+                completedRevenue = orderRepository.sumTotalAmountByStatus(OrderStatus.FINALIZADO);
+            }
+            return completedRevenue;
+        }
+
+        List<Product> lowStockProducts() {
+            if (lowStockProducts == null) {
+                lowStockProducts = productRepository.findByActiveTrueAndStockLessThanOrderByStockAsc(LOW_STOCK_THRESHOLD);
+            }
+            return lowStockProducts;
+        }
+
+        // A lista é curta por definição e serve também ao low-stock
+        long lowStockCount() {
+            return lowStockProducts().size();
+        }
+    }
 }
\ No newline at end of file
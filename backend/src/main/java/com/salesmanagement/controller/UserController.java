@@ -3,41 +3,55 @@ package com.salesmanagement.controller;
 import com.salesmanagement.entity.Role;
 import com.salesmanagement.entity.User;
 import com.salesmanagement.repository.UserRepository;
+import com.salesmanagement.security.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
 
+    // Senha dos usuários de demonstração, gravada já com bcrypt
+    private static final String DEMO_PASSWORD = "123456";
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Transactional(readOnly = true)
     @GetMapping
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
     @PostMapping("/create-admin")
-    public User createAdmin() {
-        User admin = new User("Admin Sistema", "admin@sistema.com", "123456", Role.ADMIN);
-        return userRepository.save(admin);
+    public ResponseEntity<?> createAdmin() {
+        return saveDemoUser("Admin Sistema", "admin@sistema.com", Role.ADMIN);
     }
 
     @PostMapping("/create-client")
-    public User createClient() {
-        User client = new User("Cliente Teste", "cliente@teste.com", "123456", Role.CLIENTE);
-        return userRepository.save(client);
+    public ResponseEntity<?> createClient() {
+        return saveDemoUser("Cliente Teste", "cliente@teste.com", Role.CLIENTE);
     }
 
     @PostMapping("/create-seller")
-    public User createSeller() {
-        User seller = new User("Vendedor Teste", "vendedor@teste.com", "123456", Role.VENDEDOR);
-        return userRepository.save(seller);
+    public ResponseEntity<?> createSeller() {
+        return saveDemoUser("Vendedor Teste", "vendedor@teste.com", Role.VENDEDOR);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping("/count")
     public String count() {
         return "Total de usuários: " + userRepository.count();
@@ -45,42 +59,59 @@ public class UserController {
 
     // ADICIONAR ESTE MÉTODO
     @GetMapping("/create-demo-users")
-    public String createDemoUsers() {
+    public ResponseEntity<?> createDemoUsers() {
         // Evitar duplicação
         if (userRepository.count() > 3) {
-            return "⚠️ Usuários de demonstração já existem! Total: " + userRepository.count();
+            return ResponseEntity.ok("⚠️ Usuários de demonstração já existem! Total: " + userRepository.count());
         }
 
-        // Criar mais clientes
-        userRepository.save(new User("Maria Silva", "maria@email.com", "123456", Role.CLIENTE));
-        userRepository.save(new User("João Santos", "joao@email.com", "123456", Role.CLIENTE));
-        userRepository.save(new User("Ana Costa", "ana@email.com", "123456", Role.CLIENTE));
-        userRepository.save(new User("Pedro Lima", "pedro@email.com", "123456", Role.CLIENTE));
-        userRepository.save(new User("Carla Oliveira", "carla@email.com", "123456", Role.CLIENTE));
-
-        // Criar mais vendedores
-        userRepository.save(new User("Carlos Vendas", "carlos@sistema.com", "123456", Role.VENDEDOR));
-        userRepository.save(new User("Lucia Comercial", "lucia@sistema.com", "123456", Role.VENDEDOR));
-
-        // Criar mais admins
-        userRepository.save(new User("Roberto Gerente", "roberto@sistema.com", "123456", Role.ADMIN));
+        List<User> demoUsers = List.of(
+                // Criar mais clientes
+                new User("Maria Silva", "maria@email.com", DEMO_PASSWORD, Role.CLIENTE),
+                new User("João Santos", "joao@email.com", DEMO_PASSWORD, Role.CLIENTE),
+                new User("Ana Costa", "ana@email.com", DEMO_PASSWORD, Role.CLIENTE),
+                new User("Pedro Lima", "pedro@email.com", DEMO_PASSWORD, Role.CLIENTE),
+                new User("Carla Oliveira", "carla@email.com", DEMO_PASSWORD, Role.CLIENTE),
+                // Criar mais vendedores
+                new User("Carlos Vendas", "carlos@sistema.com", DEMO_PASSWORD, Role.VENDEDOR),
+                new User("Lucia Comercial", "lucia@sistema.com", DEMO_PASSWORD, Role.VENDEDOR),
+                // Criar mais admins
+                new User("Roberto Gerente", "roberto@sistema.com", DEMO_PASSWORD, Role.ADMIN));
+
+        // Os hashes são disparados juntos no executor de senhas e só depois esperados
+        try {
+            List<CompletableFuture<String>> hashes = demoUsers.stream()
+                    .map(user -> passwordHashingService.hash(user.getPassword()))
+                    .toList();
+            for (int i = 0; i < demoUsers.size(); i++) {
+                demoUsers.get(i).setPassword(hashes.get(i).join());
+            }
+        } catch (RejectedExecutionException e) {
+            return hashingBusy();
+        }
+        userRepository.saveAll(demoUsers);
 
         long totalUsers = userRepository.count();
-        return String.format("✅ Usuários de demonstração criados! Total: %d usuários", totalUsers);
+        return ResponseEntity.ok(String.format("✅ Usuários de demonstração criados! Total: %d usuários", totalUsers));
     }
 
     @PostMapping
-    public User createUser(@RequestBody User user) {
+    public ResponseEntity<?> createUser(@RequestBody User user) {
         // Verificar se email já existe
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new RuntimeException("Email já existe: " + user.getEmail());
         }
 
-        return userRepository.save(user);
+        try {
+            user.setPassword(passwordHashingService.hash(user.getPassword()).join());
+        } catch (RejectedExecutionException e) {
+            return hashingBusy();
+        }
+        return ResponseEntity.ok(userRepository.save(user));
     }
 
     @PostMapping("/create-custom")
-    public User createCustomUser(@RequestParam String name,
+    public ResponseEntity<?> createCustomUser(@RequestParam String name,
                                  @RequestParam String email,
                                  @RequestParam String password,
                                  @RequestParam Role role) {
@@ -89,12 +120,37 @@ public class UserController {
             throw new RuntimeException("Email já existe: " + email);
         }
 
-        User user = new User(name, email, password, role);
-        return userRepository.save(user);
+        String hash;
+        try {
+            hash = passwordHashingService.hash(password).join();
+        } catch (RejectedExecutionException e) {
+            return hashingBusy();
+        }
+        User user = new User(name, email, hash, role);
+        return ResponseEntity.ok(userRepository.save(user));
     }
 
     @GetMapping("/create-custom-example")
     public String createCustomExample() {
         return "📝 Para criar usuário customizado: POST /api/users/create-custom?name=João&email=joao@teste.com&password=123456&role=CLIENTE";
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> saveDemoUser(String name, String email, Role role) {
+        try {
+            String password = passwordHashingService.hash(DEMO_PASSWORD).join();
+            return ResponseEntity.ok(userRepository.save(new User(name, email, password, role)));
+        } catch (RejectedExecutionException e) {
+            return hashingBusy();
+        }
+    }
+
+    // Fila de bcrypt cheia: mesmo 503 do login, em vez de um 500
+    private ResponseEntity<?> hashingBusy() {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", "Muitas senhas sendo processadas, tente novamente");
+        error.put("success", "false");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+}
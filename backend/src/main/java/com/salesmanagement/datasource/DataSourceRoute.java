@@ -0,0 +1,8 @@
+package com.salesmanagement.datasource;
+
+// Destinos do ReadWriteRoutingDataSource
+public enum DataSourceRoute {
+
+    PRIMARY,
+    REPLICA
+}
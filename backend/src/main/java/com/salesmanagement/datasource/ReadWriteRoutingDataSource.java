@@ -0,0 +1,63 @@
+package com.salesmanagement.datasource;
+
+import com.salesmanagement.throttling.BoundedDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Envia transações readOnly para a réplica e todo o resto para o primário.
+ *
+ * A chave é decidida quando a conexão física é obtida, então este DataSource
+ * deve ficar atrás de um LazyConnectionDataSourceProxy: assim a conexão só é
+ * pedida no primeiro comando, depois de a transação ter sido marcada readOnly.
+ * Réplica atrasada ou requisição sem permissão (ReplicaRouting) caem no primário.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder lagFallbacks = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !ReplicaRouting.isReplicaAllowed()) {
+            primaryRoutes.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            lagFallbacks.increment();
+            primaryRoutes.increment();
+            return DataSourceRoute.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return DataSourceRoute.REPLICA;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("primaryConnections", primaryRoutes.sum());
+        stats.put("replicaConnections", replicaRoutes.sum());
+        stats.put("lagFallbacks", lagFallbacks.sum());
+        stats.put("replica", lagMonitor.getStats());
+        // Semáforo de cada pool, quando as virtual threads estão ligadas
+        getResolvedDataSources().forEach((route, dataSource) -> {
+            if (dataSource instanceof BoundedDataSource bounded) {
+                stats.put("jdbcLimiter" + (route == DataSourceRoute.PRIMARY ? "Primary" : "Replica"), bounded.getStats());
+            }
+        });
+        return stats;
+    }
+}
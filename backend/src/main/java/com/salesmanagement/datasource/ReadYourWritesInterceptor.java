@@ -0,0 +1,90 @@
+package com.salesmanagement.datasource;
+
+import com.salesmanagement.throttling.ClientKeys;
+import com.salesmanagement.throttling.RouteGroup;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decide, por requisição, se as leituras podem ir para a réplica.
+ *
+ * Só endpoints anotados com @Transactional(readOnly = true) usam a réplica: os
+ * finders do Spring Data também são readOnly, mas numa requisição que depois
+ * escreve a conexão da réplica seria reaproveitada. E o cliente que escreveu
+ * há menos de window lê do primário (read-your-writes), já que a réplica pode
+ * ainda não ter a escrita.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final long windowNanos;
+    private final boolean trustForwardedFor;
+
+    // Cliente -> instante (nanoTime) da última escrita
+    private final ConcurrentHashMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesInterceptor(Duration window, boolean trustForwardedFor) {
+        this.windowNanos = window.toNanos();
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String client = ClientKeys.resolve(request, trustForwardedFor);
+        long now = System.nanoTime();
+
+        if (isWrite(request)) {
+            lastWrites.put(client, now);
+            ReplicaRouting.set(false);
+            return true;
+        }
+
+        Long lastWrite = lastWrites.get(client);
+        boolean wroteRecently = lastWrite != null && now - lastWrite < windowNanos;
+        ReplicaRouting.set(!wroteRecently && isReadOnlyHandler(handler));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRouting.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRouting.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.read-your-writes-window:PT5S}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    // Métodos não seguros, e os GETs que alteram dados (approve, create-* etc.)
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method)) {
+            return true;
+        }
+        return RouteGroup.of(request) == RouteGroup.ORDER_WRITES || request.getRequestURI().contains("/create-");
+    }
+
+    private static boolean isReadOnlyHandler(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return false;
+        }
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), Transactional.class);
+        if (transactional == null) {
+            transactional = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Transactional.class);
+        }
+        return transactional != null && transactional.readOnly();
+    }
+}
@@ -0,0 +1,118 @@
+package com.salesmanagement.datasource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Mede periodicamente o atraso da réplica e decide se ela pode receber leituras.
+ *
+ * Se a réplica já reproduziu todo o WAL gerado pelo primário até a medição, o
+ * atraso é zero mesmo com o primário ocioso (quando pg_last_xact_replay_timestamp
+ * envelhece sem haver nada para replicar). Caso contrário o atraso é o tempo
+ * desde a última transação reproduzida. Acima de maxLag, fora de recuperação
+ * ou com erro na consulta, as leituras voltam para o primário.
+ *
+ * O veredito vale por três intervalos de verificação. A verificação divide a
+ * thread do agendador com as limpezas periódicas; se ela atrasar (réplica
+ * travada, limpeza lenta), o último "usável" expira em vez de continuar
+ * mandando leituras para uma réplica que ninguém está medindo. As consultas
+ * têm timeout de um intervalo, para não segurar essa thread.
+ */
+public class ReplicaLagMonitor {
+
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')";
+    private static final String REPLICA_STATE_SQL = "SELECT pg_is_in_recovery(),"
+            + " pg_wal_lsn_diff(pg_last_wal_replay_lsn(), '0/0'),"
+            + " EXTRACT(EPOCH FROM (clock_timestamp() - pg_last_xact_replay_timestamp()))";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final long staleAfterNanos;
+
+    private volatile boolean usable;
+    private volatile Duration lag;
+    private volatile String reason = "ainda não verificada";
+    private volatile Instant checkedAt;
+    private volatile long checkedAtNanos;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag, Duration checkInterval) {
+        int queryTimeoutSeconds = (int) Math.max(1, checkInterval.toSeconds());
+        this.primary = new JdbcTemplate(primary);
+        this.primary.setQueryTimeout(queryTimeoutSeconds);
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(queryTimeoutSeconds);
+        this.maxLag = maxLag;
+        this.staleAfterNanos = checkInterval.multipliedBy(3).toNanos();
+    }
+
+    public boolean isReplicaUsable() {
+        return usable && !isStale();
+    }
+
+    // Sem verificação recente o veredito não vale mais
+    private boolean isStale() {
+        return checkedAt == null || System.nanoTime() - checkedAtNanos > staleAfterNanos;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT1S}")
+    public void check() {
+        try {
+            BigDecimal primaryLsn = primary.queryForObject(PRIMARY_LSN_SQL, BigDecimal.class);
+            ReplicaState state = replica.queryForObject(REPLICA_STATE_SQL, (rs, row) -> new ReplicaState(
+                    rs.getBoolean(1), rs.getBigDecimal(2), rs.getBigDecimal(3)));
+            update(primaryLsn, state);
+        } catch (RuntimeException e) {
+            record(false, null, "erro ao consultar: " + e.getMessage());
+        }
+    }
+
+    private void update(BigDecimal primaryLsn, ReplicaState state) {
+        if (state == null || !state.inRecovery()) {
+            record(false, null, "o servidor não está em recuperação (não é réplica)");
+            return;
+        }
+        if (primaryLsn != null && state.replayLsn() != null && state.replayLsn().compareTo(primaryLsn) >= 0) {
+            record(true, Duration.ZERO, "em dia");
+            return;
+        }
+        if (state.secondsSinceReplay() == null) {
+            record(false, null, "nenhuma transação reproduzida ainda");
+            return;
+        }
+        Duration measured = Duration.ofMillis(state.secondsSinceReplay().movePointRight(3).longValue());
+        if (measured.compareTo(maxLag) > 0) {
+            record(false, measured, "atraso acima de " + maxLag);
+        } else {
+            record(true, measured, "dentro do limite");
+        }
+    }
+
+    private void record(boolean usable, Duration lag, String reason) {
+        this.usable = usable;
+        this.lag = lag;
+        this.reason = reason;
+        this.checkedAtNanos = System.nanoTime();
+        this.checkedAt = Instant.now();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("usable", isReplicaUsable());
+        stats.put("stale", isStale());
+        stats.put("lagMs", lag != null ? lag.toMillis() : null);
+        stats.put("maxLagMs", maxLag.toMillis());
+        stats.put("reason", reason);
+        stats.put("checkedAt", checkedAt != null ? checkedAt.toString() : null);
+        return stats;
+    }
+
+    private record ReplicaState(boolean inRecovery, BigDecimal replayLsn, BigDecimal secondsSinceReplay) {}
+}
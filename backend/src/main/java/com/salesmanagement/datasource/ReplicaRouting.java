@@ -0,0 +1,31 @@
+package com.salesmanagement.datasource;
+
+/**
+ * Permissão, por thread, de usar a réplica na requisição corrente.
+ *
+ * Só o ReadYourWritesInterceptor libera a réplica; fora de requisições
+ * (tarefas agendadas, recarga de caches logo após uma escrita) as leituras
+ * ficam no primário para não enxergar dados atrasados. A decisão precisa
+ * valer para a requisição inteira: com open-in-view o Hibernate segura a
+ * primeira conexão até o fim, então uma leitura na réplica seguida de escrita
+ * na mesma requisição escreveria na réplica.
+ */
+final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    static boolean isReplicaAllowed() {
+        return Boolean.TRUE.equals(ALLOWED.get());
+    }
+
+    static void set(boolean allowed) {
+        ALLOWED.set(allowed);
+    }
+
+    static void clear() {
+        ALLOWED.remove();
+    }
+}
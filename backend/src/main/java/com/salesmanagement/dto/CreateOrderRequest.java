@@ -0,0 +1,73 @@
+package com.salesmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CreateOrderRequest {
+
+    private Long customerId;
+    private List<Item> items = new ArrayList<>();
+    private String notes;
+
+    // Constructors
+    public CreateOrderRequest() {}
+
+    public CreateOrderRequest(Long customerId, List<Item> items) {
+        this.customerId = customerId;
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public static class Item {
+
+        private Long productId;
+        private Integer quantity;
+
+        public Item() {}
+
+        public Item(Long productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.salesmanagement.dto;
+
+import java.util.List;
+
+// Página do histórico de pedidos; nextBeforeId é null na última página
+public record CustomerOrderPage(List<CustomerOrderView> orders, Long nextBeforeId) {
+}
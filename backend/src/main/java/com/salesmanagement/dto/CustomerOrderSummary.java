@@ -0,0 +1,20 @@
+package com.salesmanagement.dto;
+
+import com.salesmanagement.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumo dos pedidos de um cliente: contagem por status, total gasto em
+ * pedidos finalizados e os pedidos mais recentes. Os mais antigos vêm do
+ * histórico paginado a partir de nextBeforeId.
+ */
+public record CustomerOrderSummary(Long customerId,
+                                   Map<OrderStatus, Long> ordersByStatus,
+                                   long totalOrders,
+                                   BigDecimal totalSpent,
+                                   List<CustomerOrderView> recentOrders,
+                                   Long nextBeforeId) {
+}
@@ -0,0 +1,40 @@
+package com.salesmanagement.dto;
+
+import com.salesmanagement.entity.Order;
+import com.salesmanagement.entity.OrderItem;
+import com.salesmanagement.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Pedido como o painel do cliente o mostra, desanexado da sessão: pode ficar
+ * em cache e ser servido a outras requisições sem tocar no Hibernate.
+ */
+public record CustomerOrderView(Long id,
+                                OrderStatus status,
+                                BigDecimal totalAmount,
+                                LocalDateTime createdAt,
+                                LocalDateTime updatedAt,
+                                LocalDateTime approvedAt,
+                                String notes,
+                                List<Item> items) {
+
+    public static CustomerOrderView of(Order order) {
+        return new CustomerOrderView(order.getId(), order.getStatus(), order.getTotalAmount(),
+                order.getCreatedAt(), order.getUpdatedAt(), order.getApprovedAt(), order.getNotes(),
+                order.getItems().stream().map(Item::of).toList());
+    }
+
+    public record Item(Long id, ProductRef product, Integer quantity, BigDecimal unitPrice, BigDecimal subtotal) {
+
+        static Item of(OrderItem item) {
+            return new Item(item.getId(), new ProductRef(item.getProduct().getId(), item.getProduct().getName()),
+                    item.getQuantity(), item.getUnitPrice(), item.getSubtotal());
+        }
+    }
+
+    public record ProductRef(Long id, String name) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.salesmanagement.dto;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * Formatos de serialização da API: JSON (padrão) e os binários do Jackson,
+ * Smile e CBOR, para clientes de integração que puxam listas grandes.
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+    public static final String CBOR_VALUE = MediaType.APPLICATION_CBOR_VALUE;
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    // Formato preferido pelo cabeçalho Accept; curingas e Accept ausente ou inválido ficam com JSON
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+
+        WireFormat best = JSON;
+        double bestQuality = -1;
+        boolean bestExplicit = false;
+        for (MediaType type : accepted) {
+            double quality = type.getQualityValue();
+            if (quality == 0) {
+                continue;
+            }
+            boolean explicit = !type.isWildcardType() && !type.isWildcardSubtype();
+            for (WireFormat format : values()) {
+                if (!type.includes(format.mediaType)) {
+                    continue;
+                }
+                // Empate: o tipo citado explicitamente vence o curinga; entre curingas, a ordem do enum
+                if (quality > bestQuality || (quality == bestQuality && explicit && !bestExplicit)) {
+                    best = format;
+                    bestQuality = quality;
+                    bestExplicit = explicit;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Formato do corpo recebido, pelo Content-Type
+    public static WireFormat of(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType type = MediaType.parseMediaType(contentType);
+                for (WireFormat format : values()) {
+                    if (format.mediaType.isCompatibleWith(type)) {
+                        return format;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Cai no JSON abaixo
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,17 @@
+package com.salesmanagement.dto.report;
+
+import com.salesmanagement.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// GET /api/reports/dashboard
+public record DashboardReport(long totalUsers,
+                              long totalProducts,
+                              Map<OrderStatus, Long> ordersByStatus,
+                              long totalOrders,
+                              BigDecimal totalSales,
+                              BigDecimal pendingSales,
+                              long lowStockProducts,
+                              String lastUpdated) {
+}
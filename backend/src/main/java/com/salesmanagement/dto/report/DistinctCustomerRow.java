@@ -0,0 +1,9 @@
+package com.salesmanagement.dto.report;
+
+// Clientes distintos de um produto ou vendedor no período; os limites são o intervalo de ~95%
+public record DistinctCustomerRow(long id,
+                                  String name,
+                                  long estimate,
+                                  long lowerBound,
+                                  long upperBound) {
+}
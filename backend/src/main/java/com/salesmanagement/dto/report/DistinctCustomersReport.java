@@ -0,0 +1,17 @@
+package com.salesmanagement.dto.report;
+
+import com.salesmanagement.entity.SketchDimension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// GET /api/reports/distinct-customers: o total é a união das linhas, não a soma
+public record DistinctCustomersReport(SketchDimension dimension,
+                                      LocalDate from,
+                                      LocalDate to,
+                                      double relativeStandardError,
+                                      long estimate,
+                                      long lowerBound,
+                                      long upperBound,
+                                      List<DistinctCustomerRow> rows) {
+}
@@ -0,0 +1,10 @@
+package com.salesmanagement.dto.report;
+
+import java.time.LocalDateTime;
+
+// GET /api/reports/live-sales: pedidos finalizados nas janelas móveis até asOf
+public record LiveSalesReport(LocalDateTime asOf,
+                              LiveSalesWindow lastFiveMinutes,
+                              LiveSalesWindow lastHour,
+                              LiveSalesWindow lastDay) {
+}
@@ -0,0 +1,6 @@
+package com.salesmanagement.dto.report;
+
+import java.math.BigDecimal;
+
+public record LiveSalesWindow(long orders, BigDecimal revenue) {
+}
@@ -0,0 +1,11 @@
+package com.salesmanagement.dto.report;
+
+import java.math.BigDecimal;
+
+// Linha de GET /api/reports/low-stock
+public record LowStockRow(long id,
+                          String name,
+                          int currentStock,
+                          BigDecimal price,
+                          String status) {
+}
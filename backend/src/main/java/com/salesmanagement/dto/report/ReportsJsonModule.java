@@ -0,0 +1,214 @@
+package com.salesmanagement.dto.report;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.salesmanagement.entity.OrderStatus;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Serializadores dos relatórios escritos direto no JsonGenerator, com os nomes
+ * dos campos já codificados. Sem introspecção de record nem mapa por linha, e
+ * funcionam com qualquer formato do Jackson (o gerador é quem codifica).
+ */
+public class ReportsJsonModule extends SimpleModule {
+
+    private static final SerializableString TOTAL_USERS = new SerializedString("totalUsers");
+    private static final SerializableString TOTAL_PRODUCTS = new SerializedString("totalProducts");
+    private static final SerializableString ORDERS_BY_STATUS = new SerializedString("ordersByStatus");
+    private static final SerializableString TOTAL_ORDERS = new SerializedString("totalOrders");
+    private static final SerializableString TOTAL_SALES = new SerializedString("totalSales");
+    private static final SerializableString PENDING_SALES = new SerializedString("pendingSales");
+    private static final SerializableString LOW_STOCK_PRODUCTS = new SerializedString("lowStockProducts");
+    private static final SerializableString LAST_UPDATED = new SerializedString("lastUpdated");
+
+    private static final SerializableString COMPLETED_ORDERS = new SerializedString("completedOrders");
+    private static final SerializableString PENDING_ORDERS = new SerializedString("pendingOrders");
+    private static final SerializableString TOTAL_REVENUE = new SerializedString("totalRevenue");
+    private static final SerializableString AVERAGE_TICKET = new SerializedString("averageTicket");
+    private static final SerializableString TOTAL_ITEMS_SOLD = new SerializedString("totalItemsSold");
+
+    private static final SerializableString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializableString CUSTOMER_NAME = new SerializedString("customerName");
+    private static final SerializableString CUSTOMER_EMAIL = new SerializedString("customerEmail");
+    private static final SerializableString TOTAL_SPENT = new SerializedString("totalSpent");
+
+    private static final SerializableString PRODUCT_ID = new SerializedString("productId");
+    private static final SerializableString PRODUCT_NAME = new SerializedString("productName");
+    private static final SerializableString QUANTITY_SOLD = new SerializedString("quantitySold");
+    private static final SerializableString REVENUE = new SerializedString("revenue");
+    private static final SerializableString CURRENT_STOCK = new SerializedString("currentStock");
+    private static final SerializableString UNIT_PRICE = new SerializedString("unitPrice");
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString PRICE = new SerializedString("price");
+    private static final SerializableString STATUS = new SerializedString("status");
+
+    private static final SerializableString DATE = new SerializedString("date");
+    private static final SerializableString ORDERS = new SerializedString("orders");
+    private static final SerializableString SALES = new SerializedString("sales");
+
+    private static final SerializableString[] STATUS_NAMES = statusNames();
+
+    public ReportsJsonModule() {
+        super("ReportsJsonModule");
+        addSerializer(DashboardReport.class, new DashboardSerializer());
+        addSerializer(SalesSummaryReport.class, new SalesSummarySerializer());
+        addSerializer(TopCustomerRow.class, new TopCustomerSerializer());
+        addSerializer(TopProductRow.class, new TopProductSerializer());
+        addSerializer(LowStockRow.class, new LowStockSerializer());
+        addSerializer(SalesTrendDay.class, new SalesTrendSerializer());
+    }
+
+    private static SerializableString[] statusNames() {
+        OrderStatus[] statuses = OrderStatus.values();
+        SerializableString[] names = new SerializableString[statuses.length];
+        for (OrderStatus status : statuses) {
+            names[status.ordinal()] = new SerializedString(status.name());
+        }
+        return names;
+    }
+
+    // BigDecimal nulo vira null no JSON, como fazia o HashMap
+    private static void writeDecimal(JsonGenerator gen, SerializableString name, BigDecimal value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    private static void writeLong(JsonGenerator gen, SerializableString name, long value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    private static final class DashboardSerializer extends StdSerializer<DashboardReport> {
+
+        DashboardSerializer() {
+            super(DashboardReport.class);
+        }
+
+        @Override
+        public void serialize(DashboardReport report, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(report);
+            writeLong(gen, TOTAL_USERS, report.totalUsers());
+            writeLong(gen, TOTAL_PRODUCTS, report.totalProducts());
+            gen.writeFieldName(ORDERS_BY_STATUS);
+            gen.writeStartObject();
+            for (Map.Entry<OrderStatus, Long> entry : report.ordersByStatus().entrySet()) {
+                writeLong(gen, STATUS_NAMES[entry.getKey().ordinal()], entry.getValue());
+            }
+            gen.writeEndObject();
+            writeLong(gen, TOTAL_ORDERS, report.totalOrders());
+            writeDecimal(gen, TOTAL_SALES, report.totalSales());
+            writeDecimal(gen, PENDING_SALES, report.pendingSales());
+            writeLong(gen, LOW_STOCK_PRODUCTS, report.lowStockProducts());
+            writeString(gen, LAST_UPDATED, report.lastUpdated());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class SalesSummarySerializer extends StdSerializer<SalesSummaryReport> {
+
+        SalesSummarySerializer() {
+            super(SalesSummaryReport.class);
+        }
+
+        @Override
+        public void serialize(SalesSummaryReport report, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(report);
+            writeLong(gen, TOTAL_ORDERS, report.totalOrders());
+            writeLong(gen, COMPLETED_ORDERS, report.completedOrders());
+            writeLong(gen, PENDING_ORDERS, report.pendingOrders());
+            writeDecimal(gen, TOTAL_REVENUE, report.totalRevenue());
+            writeDecimal(gen, AVERAGE_TICKET, report.averageTicket());
+            writeLong(gen, TOTAL_ITEMS_SOLD, report.totalItemsSold());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class TopCustomerSerializer extends StdSerializer<TopCustomerRow> {
+
+        TopCustomerSerializer() {
+            super(TopCustomerRow.class);
+        }
+
+        @Override
+        public void serialize(TopCustomerRow row, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(row);
+            writeLong(gen, CUSTOMER_ID, row.customerId());
+            writeString(gen, CUSTOMER_NAME, row.customerName());
+            writeString(gen, CUSTOMER_EMAIL, row.customerEmail());
+            writeLong(gen, TOTAL_ORDERS, row.totalOrders());
+            writeDecimal(gen, TOTAL_SPENT, row.totalSpent());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class TopProductSerializer extends StdSerializer<TopProductRow> {
+
+        TopProductSerializer() {
+            super(TopProductRow.class);
+        }
+
+        @Override
+        public void serialize(TopProductRow row, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(row);
+            writeLong(gen, PRODUCT_ID, row.productId());
+            writeString(gen, PRODUCT_NAME, row.productName());
+            writeLong(gen, QUANTITY_SOLD, row.quantitySold());
+            writeDecimal(gen, REVENUE, row.revenue());
+            writeLong(gen, CURRENT_STOCK, row.currentStock());
+            writeDecimal(gen, UNIT_PRICE, row.unitPrice());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class LowStockSerializer extends StdSerializer<LowStockRow> {
+
+        LowStockSerializer() {
+            super(LowStockRow.class);
+        }
+
+        @Override
+        public void serialize(LowStockRow row, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(row);
+            writeLong(gen, ID, row.id());
+            writeString(gen, NAME, row.name());
+            writeLong(gen, CURRENT_STOCK, row.currentStock());
+            writeDecimal(gen, PRICE, row.price());
+            writeString(gen, STATUS, row.status());
+            gen.writeEndObject();
+        }
+    }
+
+    private static final class SalesTrendSerializer extends StdSerializer<SalesTrendDay> {
+
+        SalesTrendSerializer() {
+            super(SalesTrendDay.class);
+        }
+
+        @Override
+        public void serialize(SalesTrendDay day, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(day);
+            writeString(gen, DATE, day.date());
+            writeLong(gen, ORDERS, day.orders());
+            writeDecimal(gen, SALES, day.sales());
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.salesmanagement.dto.report;
+
+import java.math.BigDecimal;
+
+// GET /api/reports/sales-summary
+public record SalesSummaryReport(long totalOrders,
+                                 long completedOrders,
+                                 long pendingOrders,
+                                 BigDecimal totalRevenue,
+                                 BigDecimal averageTicket,
+                                 long totalItemsSold) {
+}
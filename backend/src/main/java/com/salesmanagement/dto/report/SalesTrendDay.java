@@ -0,0 +1,7 @@
+package com.salesmanagement.dto.report;
+
+import java.math.BigDecimal;
+
+// Dia de GET /api/reports/sales-trend
+public record SalesTrendDay(String date, long orders, BigDecimal sales) {
+}
@@ -0,0 +1,13 @@
+package com.salesmanagement.dto.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Um dia de um vendedor em GET /api/reports/sellers; mediana em segundos, null sem aprovações
+public record SellerDayRow(LocalDate day,
+                           long approvals,
+                           long rejections,
+                           long completions,
+                           BigDecimal revenue,
+                           Long medianApprovalSeconds) {
+}
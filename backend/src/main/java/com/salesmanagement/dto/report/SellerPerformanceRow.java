@@ -0,0 +1,15 @@
+package com.salesmanagement.dto.report;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Linha de GET /api/reports/sellers: totais do período e os dias com atividade
+public record SellerPerformanceRow(long sellerId,
+                                   String sellerName,
+                                   long approvals,
+                                   long rejections,
+                                   long completions,
+                                   BigDecimal revenue,
+                                   Long medianApprovalSeconds,
+                                   List<SellerDayRow> days) {
+}
@@ -0,0 +1,11 @@
+package com.salesmanagement.dto.report;
+
+import java.math.BigDecimal;
+
+// Linha de GET /api/reports/top-customers
+public record TopCustomerRow(long customerId,
+                             String customerName,
+                             String customerEmail,
+                             long totalOrders,
+                             BigDecimal totalSpent) {
+}
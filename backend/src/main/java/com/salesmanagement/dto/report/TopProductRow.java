@@ -0,0 +1,12 @@
+package com.salesmanagement.dto.report;
+
+import java.math.BigDecimal;
+
+// Linha de GET /api/reports/top-products
+public record TopProductRow(long productId,
+                            String productName,
+                            long quantitySold,
+                            BigDecimal revenue,
+                            int currentStock,
+                            BigDecimal unitPrice) {
+}
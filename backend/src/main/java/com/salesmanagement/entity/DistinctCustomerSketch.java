@@ -0,0 +1,62 @@
+package com.salesmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Clientes distintos que finalizaram pedidos de um produto ou vendedor num dia (DistinctCustomerService)
+@Entity
+@Table(name = "distinct_customer_sketches",
+        uniqueConstraints = @UniqueConstraint(name = "uk_distinct_customer_sketches",
+                columnNames = {"dimension", "dimension_id", "sketch_day"}))
+public class DistinctCustomerSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private SketchDimension dimension;
+
+    // Id do produto ou do vendedor, conforme a dimensão
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+
+    @Column(name = "sketch_day", nullable = false)
+    private LocalDate day;
+
+    // HyperLogLog serializado dos ids de cliente
+    @Column(nullable = false)
+    private byte[] sketch = new byte[0];
+
+    // Constructors
+    public DistinctCustomerSketch() {}
+
+    public DistinctCustomerSketch(SketchDimension dimension, Long dimensionId, LocalDate day) {
+        this.dimension = dimension;
+        this.dimensionId = dimensionId;
+        this.day = day;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public SketchDimension getDimension() { return dimension; }
+    public void setDimension(SketchDimension dimension) { this.dimension = dimension; }
+
+    public Long getDimensionId() { return dimensionId; }
+    public void setDimensionId(Long dimensionId) { this.dimensionId = dimensionId; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public byte[] getSketch() { return sketch; }
+    public void setSketch(byte[] sketch) { this.sketch = sketch; }
+
+    @Override
+    public String toString() {
+        return "DistinctCustomerSketch{dimension=" + dimension + ", dimensionId=" + dimensionId + ", day=" + day + "}";
+    }
+}
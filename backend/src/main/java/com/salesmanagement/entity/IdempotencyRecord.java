@@ -0,0 +1,67 @@
+package com.salesmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// Chave por escopo (usuário autenticado ou cliente do pedido), com o hash da requisição original
+@Entity
+@Table(name = "idempotency_requests",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_requests", columnNames = {"scope", "idempotency_key"}))
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String scope;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // SHA-256 da requisição: a mesma chave com outro corpo é recusada
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    // Gravado na mesma transação da reserva; nulo só em reservas antigas, que podem ser retomadas
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String scope, String idempotencyKey, String requestHash) {
+        this.scope = scope;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{scope='" + scope + "', key='" + idempotencyKey + "', orderId=" + orderId + ", createdAt=" + createdAt + "}";
+    }
+}
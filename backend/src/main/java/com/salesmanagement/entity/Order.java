@@ -1,5 +1,6 @@
 package com.salesmanagement.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
@@ -9,7 +10,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Histórico por cliente, do mais novo para o mais antigo
+@Table(name = "orders", indexes = @Index(name = "idx_orders_customer_id", columnList = "customer_id, id"))
 public class Order {
 
     @Id
@@ -41,6 +44,10 @@ public class Order {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Guardado à parte: depois de finalizado, updatedAt já não é o momento da aprovação
+    @Column(name = "approved_at")
+    private LocalDateTime approvedAt;
+
     @Column(name = "notes", length = 500)
     private String notes;
 
@@ -77,6 +84,7 @@ public class Order {
         this.status = OrderStatus.APROVADO;
         this.seller = seller;
         this.updatedAt = LocalDateTime.now();
+        this.approvedAt = this.updatedAt;
     }
 
     public void reject(User seller, String reason) {
@@ -122,6 +130,9 @@ public class Order {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public LocalDateTime getApprovedAt() { return approvedAt; }
+    public void setApprovedAt(LocalDateTime approvedAt) { this.approvedAt = approvedAt; }
+
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
 
@@ -1,14 +1,23 @@
 package com.salesmanagement.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+// Nome único: a importação faz upsert por ele (ON CONFLICT (name)); ver ProductNameConstraintCheck
+@Table(name = "products", uniqueConstraints = @UniqueConstraint(name = Product.NAME_CONSTRAINT, columnNames = "name"))
 public class Product {
 
+    public static final String NAME_CONSTRAINT = "uk_products_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
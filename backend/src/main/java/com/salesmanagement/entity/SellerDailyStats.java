@@ -0,0 +1,79 @@
+package com.salesmanagement.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Contadores de um vendedor num dia, mantidos a cada transição de pedido (SellerStatsService)
+@Entity
+@Table(name = "seller_daily_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_seller_daily_stats", columnNames = {"seller_id", "stats_day"}))
+public class SellerDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(name = "stats_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private long approvals;
+
+    @Column(nullable = false)
+    private long rejections;
+
+    @Column(nullable = false)
+    private long completions;
+
+    // Soma dos pedidos finalizados no dia
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    // LatencyHistogram serializado: segundos entre a criação e a aprovação
+    @Column(name = "approval_latency", nullable = false)
+    private byte[] approvalLatency = new byte[0];
+
+    // Constructors
+    public SellerDailyStats() {}
+
+    public SellerDailyStats(Long sellerId, LocalDate day) {
+        this.sellerId = sellerId;
+        this.day = day;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getSellerId() { return sellerId; }
+    public void setSellerId(Long sellerId) { this.sellerId = sellerId; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public long getApprovals() { return approvals; }
+    public void setApprovals(long approvals) { this.approvals = approvals; }
+
+    public long getRejections() { return rejections; }
+    public void setRejections(long rejections) { this.rejections = rejections; }
+
+    public long getCompletions() { return completions; }
+    public void setCompletions(long completions) { this.completions = completions; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public byte[] getApprovalLatency() { return approvalLatency; }
+    public void setApprovalLatency(byte[] approvalLatency) { this.approvalLatency = approvalLatency; }
+
+    @Override
+    public String toString() {
+        return "SellerDailyStats{sellerId=" + sellerId + ", day=" + day + ", approvals=" + approvals +
+                ", rejections=" + rejections + ", completions=" + completions + "}";
+    }
+}
@@ -0,0 +1,7 @@
+package com.salesmanagement.entity;
+
+// Por onde um sketch de clientes distintos é dividido, além do dia
+public enum SketchDimension {
+    PRODUCT,
+    SELLER
+}
@@ -0,0 +1,106 @@
+package com.salesmanagement.event;
+
+import com.salesmanagement.entity.Order;
+import com.salesmanagement.entity.OrderItem;
+import com.salesmanagement.entity.OrderStatus;
+import com.salesmanagement.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publicado ao criar um pedido e a cada mudança de status, dentro da
+ * transação da mudança quando houver uma. Leva o que os ouvintes precisam
+ * (cliente, vendedor, valor e horários) para não recarregarem o pedido.
+ */
+public class OrderChangedEvent {
+
+    private final Long orderId;
+    private final Long customerId;
+    private final Long sellerId;
+    private final OrderStatus status;
+    private final BigDecimal totalAmount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime approvedAt;
+    private final LocalDateTime changedAt;
+    private final List<Long> productIds;
+
+    public OrderChangedEvent(Long orderId, Long customerId, Long sellerId, OrderStatus status, BigDecimal totalAmount,
+                             LocalDateTime createdAt, LocalDateTime approvedAt, LocalDateTime changedAt,
+                             List<Long> productIds) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.sellerId = sellerId;
+        this.status = status;
+        this.totalAmount = totalAmount;
+        this.createdAt = createdAt;
+        this.approvedAt = approvedAt;
+        this.changedAt = changedAt;
+        this.productIds = productIds;
+    }
+
+    public static OrderChangedEvent of(Order order) {
+        return new OrderChangedEvent(order.getId(), order.getCustomer().getId(),
+                order.getSeller() != null ? order.getSeller().getId() : null,
+                order.getStatus(), order.getTotalAmount(), order.getCreatedAt(), order.getApprovedAt(),
+                order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt(),
+                productIdsOf(order));
+    }
+
+    // Só a finalização precisa dos produtos, e nela o pedido já vem com os itens carregados
+    private static List<Long> productIdsOf(Order order) {
+        if (order.getStatus() != OrderStatus.FINALIZADO) {
+            return List.of();
+        }
+        return order.getItems().stream()
+                .map(OrderItem::getProduct)
+                .map(Product::getId)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getApprovedAt() {
+        return approvedAt;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    // Produtos distintos do pedido, em ordem crescente; vazio fora da finalização
+    public List<Long> getProductIds() {
+        return productIds;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderChangedEvent{orderId=" + orderId + ", customerId=" + customerId + ", sellerId=" + sellerId
+                + ", status=" + status + "}";
+    }
+}
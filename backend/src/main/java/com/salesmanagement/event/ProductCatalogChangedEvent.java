@@ -0,0 +1,43 @@
+package com.salesmanagement.event;
+
+import com.salesmanagement.entity.Product;
+
+import java.util.List;
+
+// Publicado após qualquer escrita em produtos para invalidar caches e índices do catálogo
+public class ProductCatalogChangedEvent {
+
+    private final List<Product> products;
+    private final boolean bulk;
+
+    public ProductCatalogChangedEvent(List<Product> products) {
+        this(products, false);
+    }
+
+    private ProductCatalogChangedEvent(List<Product> products, boolean bulk) {
+        this.products = List.copyOf(products);
+        this.bulk = bulk;
+    }
+
+    public static ProductCatalogChangedEvent of(Product... products) {
+        return new ProductCatalogChangedEvent(List.of(products));
+    }
+
+    // Alteração em massa (importação): os ouvintes devem recarregar o catálogo inteiro
+    public static ProductCatalogChangedEvent bulk() {
+        return new ProductCatalogChangedEvent(List.of(), true);
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public boolean isBulk() {
+        return bulk;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductCatalogChangedEvent{products=" + products.size() + ", bulk=" + bulk + "}";
+    }
+}
@@ -0,0 +1,82 @@
+package com.salesmanagement.metrics;
+
+import com.salesmanagement.security.VerifiedTokenCache;
+import com.salesmanagement.service.CustomerOrderSummaryCache;
+import com.salesmanagement.service.IdempotencyService;
+import com.salesmanagement.service.ProductCatalogCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Acertos e falhas dos caches da aplicação nas métricas cache.gets e
+ * cache.size, com os mesmos nomes e tags dos binders de cache do Micrometer:
+ * a taxa de acerto sai de cache.gets{result="hit"} / cache.gets.
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private CustomerOrderSummaryCache customerOrderSummaryCache;
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gets(registry, "jwt-verified", verifiedTokenCache,
+                VerifiedTokenCache::getHitCount, VerifiedTokenCache::getMissCount);
+        Gauge.builder("cache.size", verifiedTokenCache, VerifiedTokenCache::size)
+                .tag("cache", "jwt-verified")
+                .register(registry);
+
+        gets(registry, "product-catalog", productCatalogCache,
+                ProductCatalogCache::getHitCount, ProductCatalogCache::getMissCount);
+
+        gets(registry, "idempotency", idempotencyService,
+                IdempotencyService::getCacheHitCount, IdempotencyService::getCacheMissCount);
+        Gauge.builder("cache.size", idempotencyService, IdempotencyService::getCacheSize)
+                .tag("cache", "idempotency")
+                .register(registry);
+
+        gets(registry, "customer-order-summary", customerOrderSummaryCache,
+                CustomerOrderSummaryCache::getHitCount, CustomerOrderSummaryCache::getMissCount);
+        Gauge.builder("cache.size", customerOrderSummaryCache, CustomerOrderSummaryCache::size)
+                .tag("cache", "customer-order-summary")
+                .register(registry);
+
+        // Regiões do cache de segundo nível do Hibernate (products, users, user-by-email...)
+        for (String name : hibernateCacheManager.getCacheNames()) {
+            new JCacheMetrics<>(hibernateCacheManager.getCache(name), Tags.empty()).bindTo(registry);
+        }
+    }
+
+    private static <T> void gets(MeterRegistry registry, String cache, T source,
+                                 ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("cache.gets", source, hits)
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", source, misses)
+                .tag("cache", cache)
+                .tag("result", "miss")
+                .register(registry);
+    }
+}
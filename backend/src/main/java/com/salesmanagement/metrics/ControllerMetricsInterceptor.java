@@ -0,0 +1,96 @@
+package com.salesmanagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência e acessos ao banco por método de controller.
+ *
+ * sales.controller.requests é um timer com histograma (percentis agregáveis no
+ * Prometheus); sales.controller.queries, .entity.loads e .lazy.loads são
+ * distribuições por requisição, o que expõe N+1 como cauda alta nessas métricas.
+ * O escopo de contagem cobre a serialização da resposta, onde o open-in-view
+ * dispara as cargas LAZY.
+ */
+@Component
+public class ControllerMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATTRIBUTE = ControllerMetricsInterceptor.class.getName() + ".request";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        RequestMetrics metrics = (RequestMetrics) request.getAttribute(ATTRIBUTE);
+        if (metrics == null) {
+            request.setAttribute(ATTRIBUTE, new RequestMetrics(System.nanoTime(), QueryCounter.open()));
+        } else {
+            // Segunda fase de uma requisição assíncrona, possivelmente em outra thread
+            QueryCounter.attach(metrics.scope());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestMetrics metrics = (RequestMetrics) request.getAttribute(ATTRIBUTE);
+        if (metrics != null) {
+            QueryCounter.detach(metrics.scope());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestMetrics metrics = (RequestMetrics) request.getAttribute(ATTRIBUTE);
+        if (metrics == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        request.removeAttribute(ATTRIBUTE);
+        QueryCounter.Scope scope = metrics.scope();
+        QueryCounter.detach(scope);
+
+        Tags tags = Tags.of(
+                "controller", handlerMethod.getBeanType().getSimpleName(),
+                "method", handlerMethod.getMethod().getName());
+
+        Timer.builder("sales.controller.requests")
+                .description("Tempo de resposta por método de controller")
+                .tags(tags)
+                .tag("status", Integer.toString(response.getStatus()))
+                .tag("exception", ex == null ? "none" : ex.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - metrics.startNanos(), TimeUnit.NANOSECONDS);
+
+        record("sales.controller.queries", "Comandos SQL por requisição", tags, scope.getStatements());
+        record("sales.controller.entity.loads", "Entidades carregadas por requisição", tags, scope.getEntityLoads());
+        record("sales.controller.lazy.loads", "Cargas LAZY por requisição", tags, scope.getLazyLoads());
+    }
+
+    private void record(String name, String description, Tags tags, long value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(10_000.0)
+                .register(meterRegistry)
+                .record(value);
+    }
+
+    private record RequestMetrics(long startNanos, QueryCounter.Scope scope) {}
+}
@@ -0,0 +1,37 @@
+package com.salesmanagement.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Conta no QueryCounter as entidades carregadas e as cargas LAZY (proxy ou coleção inicializados)
+@Component
+public class HibernateLoadListeners {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> QueryCounter.entityLoaded());
+        registry.appendListeners(EventType.INIT_COLLECTION,
+                (InitializeCollectionEventListener) event -> QueryCounter.lazyLoaded());
+        // IMMEDIATE_LOAD é a inicialização de um proxy de @ManyToOne LAZY
+        registry.appendListeners(EventType.LOAD, (LoadEventListener) (event, loadType) -> {
+            if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+                QueryCounter.lazyLoaded();
+            }
+        });
+    }
+}
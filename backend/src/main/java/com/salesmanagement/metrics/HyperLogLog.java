@@ -0,0 +1,226 @@
+package com.salesmanagement.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Contagem aproximada de valores distintos (HyperLogLog, precisão 12): 4096
+ * registradores e erro padrão relativo de 1,04/√4096 ≈ 1,6%. Dois sketches se
+ * unem pelo máximo de cada registrador, então guardar um por dia basta para
+ * contar distintos de qualquer período, e um valor repetido não muda nada.
+ *
+ * Com poucos registradores ocupados o sketch é esparso: só os pares
+ * (registrador, posto), em varint na forma serializada, uns 3 bytes por
+ * cliente. Vira denso quando isso passaria do tamanho do denso, que guarda os
+ * registradores em 6 bits (3 KB).
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 12;
+    public static final double RELATIVE_STANDARD_ERROR = 1.04 / Math.sqrt(1 << PRECISION);
+
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    private static final int SPARSE_FORMAT = 1;
+    private static final int DENSE_FORMAT = 2;
+    // Quatro registradores de 6 bits em três bytes
+    private static final int DENSE_BYTES = REGISTERS * 6 / 8;
+    // Acima disso o esparso (~3 bytes por par) já ocupa mais que o denso
+    static final int SPARSE_LIMIT = DENSE_BYTES / 3;
+
+    // Denso: um byte por registrador; null enquanto esparso
+    private byte[] dense;
+    // Esparso: (registrador << 8 | posto), ordenado por registrador
+    private int[] sparse = new int[8];
+    private int sparseSize;
+
+    public static HyperLogLog decode(byte[] bytes) {
+        HyperLogLog sketch = new HyperLogLog();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        switch (bytes[0]) {
+            case SPARSE_FORMAT -> {
+                int[] position = {1};
+                int register = -1;
+                while (position[0] < bytes.length) {
+                    register += (int) Varint.read(bytes, position);
+                    if (register < 0 || register >= REGISTERS || position[0] >= bytes.length) {
+                        throw new IllegalArgumentException("Sketch esparso inválido");
+                    }
+                    sketch.set(register, bytes[position[0]++]);
+                }
+            }
+            case DENSE_FORMAT -> {
+                if (bytes.length != 1 + DENSE_BYTES) {
+                    throw new IllegalArgumentException("Sketch denso com " + bytes.length + " bytes");
+                }
+                sketch.dense = new byte[REGISTERS];
+                for (int group = 0; group < REGISTERS / 4; group++) {
+                    int packed = (bytes[1 + group * 3] & 0xFF) << 16
+                            | (bytes[2 + group * 3] & 0xFF) << 8
+                            | (bytes[3 + group * 3] & 0xFF);
+                    for (int i = 0; i < 4; i++) {
+                        sketch.dense[group * 4 + i] = (byte) ((packed >>> (18 - 6 * i)) & 0x3F);
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Formato de sketch desconhecido: " + bytes[0]);
+        }
+        return sketch;
+    }
+
+    public byte[] encode() {
+        if (dense == null) {
+            if (sparseSize == 0) {
+                return new byte[0];
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(1 + sparseSize * 3);
+            out.write(SPARSE_FORMAT);
+            int previous = -1;
+            for (int i = 0; i < sparseSize; i++) {
+                int register = sparse[i] >>> 8;
+                Varint.write(out, register - previous);
+                out.write(sparse[i] & 0xFF);
+                previous = register;
+            }
+            return out.toByteArray();
+        }
+        byte[] bytes = new byte[1 + DENSE_BYTES];
+        bytes[0] = DENSE_FORMAT;
+        for (int group = 0; group < REGISTERS / 4; group++) {
+            int packed = 0;
+            for (int i = 0; i < 4; i++) {
+                packed = packed << 6 | dense[group * 4 + i];
+            }
+            bytes[1 + group * 3] = (byte) (packed >>> 16);
+            bytes[2 + group * 3] = (byte) (packed >>> 8);
+            bytes[3 + group * 3] = (byte) packed;
+        }
+        return bytes;
+    }
+
+    // true se algum registrador subiu, isto é, se o sketch precisa ser regravado
+    public boolean add(long value) {
+        long hash = mix(value);
+        int register = (int) (hash >>> (64 - PRECISION));
+        // Zeros à esquerda dos bits restantes, mais um; o bit sentinela limita o posto a 64 - p + 1
+        int rank = Long.numberOfLeadingZeros(hash << PRECISION | 1L << (PRECISION - 1)) + 1;
+        return set(register, rank);
+    }
+
+    public void merge(HyperLogLog other) {
+        if (other.dense != null) {
+            toDense();
+            for (int register = 0; register < REGISTERS; register++) {
+                if (other.dense[register] > dense[register]) {
+                    dense[register] = other.dense[register];
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < other.sparseSize; i++) {
+            set(other.sparse[i] >>> 8, other.sparse[i] & 0xFF);
+        }
+    }
+
+    public long estimate() {
+        double sum;
+        int zeros;
+        if (dense == null) {
+            zeros = REGISTERS - sparseSize;
+            sum = zeros;
+            for (int i = 0; i < sparseSize; i++) {
+                sum += Math.scalb(1.0, -(sparse[i] & 0xFF));
+            }
+        } else {
+            zeros = 0;
+            sum = 0;
+            for (byte rank : dense) {
+                if (rank == 0) {
+                    zeros++;
+                }
+                sum += Math.scalb(1.0, -rank);
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        // Faixa baixa: contagem linear pelos registradores vazios é bem mais precisa
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private boolean set(int register, int rank) {
+        if (dense != null) {
+            if (dense[register] >= rank) {
+                return false;
+            }
+            dense[register] = (byte) rank;
+            return true;
+        }
+
+        int index = find(register);
+        if (index >= 0) {
+            if ((sparse[index] & 0xFF) >= rank) {
+                return false;
+            }
+            sparse[index] = register << 8 | rank;
+            return true;
+        }
+        if (sparseSize == SPARSE_LIMIT) {
+            toDense();
+            dense[register] = (byte) rank;
+            return true;
+        }
+        int insertAt = -index - 1;
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, SPARSE_LIMIT));
+        }
+        System.arraycopy(sparse, insertAt, sparse, insertAt + 1, sparseSize - insertAt);
+        sparse[insertAt] = register << 8 | rank;
+        sparseSize++;
+        return true;
+    }
+
+    // Busca binária pelo registrador; negativo (-(inserção) - 1) se ausente
+    private int find(int register) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int current = sparse[middle] >>> 8;
+            if (current < register) {
+                low = middle + 1;
+            } else if (current > register) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        if (dense != null) {
+            return;
+        }
+        dense = new byte[REGISTERS];
+        for (int i = 0; i < sparseSize; i++) {
+            dense[sparse[i] >>> 8] = (byte) (sparse[i] & 0xFF);
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    // Finalizador do MurmurHash3: espalha ids sequenciais por todos os bits
+    static long mix(long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb53fe1a85ec3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,113 @@
+package com.salesmanagement.metrics;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Histograma de durações em segundos com baldes logarítmicos: quatro por
+ * potência de 2, então o valor representativo de um balde fica a no máximo
+ * ~9% de qualquer duração que caia nele. Cobre de 0 s a décadas em 129 baldes.
+ *
+ * Dois histogramas se somam balde a balde, o que permite guardar um por dia
+ * e tirar a mediana de qualquer período. A forma serializada (bytea) guarda
+ * só os baldes não vazios: um byte de versão e pares (salto de índice,
+ * contagem) em varint, poucas dezenas de bytes por dia.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    // Balde 0 para 0 s; depois 4 por potência de 2 até 2^32 s
+    private static final int BUCKETS = 1 + 32 * SUB_BUCKETS;
+    private static final int FORMAT_VERSION = 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long total;
+
+    public static LatencyHistogram decode(byte[] bytes) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        if (bytes == null || bytes.length == 0) {
+            return histogram;
+        }
+        if (bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Versão de histograma desconhecida: " + bytes[0]);
+        }
+        int[] position = {1};
+        int index = -1;
+        while (position[0] < bytes.length) {
+            index += (int) Varint.read(bytes, position);
+            long count = Varint.read(bytes, position);
+            if (index < 0 || index >= BUCKETS) {
+                throw new IllegalArgumentException("Balde fora do intervalo: " + index);
+            }
+            histogram.counts[index] += count;
+            histogram.total += count;
+        }
+        return histogram;
+    }
+
+    public byte[] encode() {
+        if (total == 0) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        out.write(FORMAT_VERSION);
+        int previous = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                Varint.write(out, i - previous);
+                Varint.write(out, counts[i]);
+                previous = i;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public void record(long seconds) {
+        counts[bucketOf(seconds)]++;
+        total++;
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    // Mediana inferior, pelo valor representativo do balde; null sem amostras
+    public Long median() {
+        if (total == 0) {
+            return null;
+        }
+        long rank = (total + 1) / 2;
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return representative(i);
+            }
+        }
+        return representative(BUCKETS - 1);
+    }
+
+    static int bucketOf(long seconds) {
+        if (seconds <= 0) {
+            return 0;
+        }
+        int index = 1 + (int) Math.floor(Math.log(seconds) / Math.log(2) * SUB_BUCKETS);
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    // Média geométrica dos limites do balde
+    static long representative(int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        double lower = Math.pow(2, (bucket - 1) / (double) SUB_BUCKETS);
+        double upper = Math.pow(2, bucket / (double) SUB_BUCKETS);
+        return Math.round(Math.sqrt(lower * upper));
+    }
+}
@@ -0,0 +1,194 @@
+package com.salesmanagement.metrics;
+
+import com.salesmanagement.dto.report.LiveSalesReport;
+import com.salesmanagement.dto.report.LiveSalesWindow;
+import com.salesmanagement.entity.OrderStatus;
+import com.salesmanagement.event.OrderChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Pedidos finalizados e faturamento nos últimos 5 minutos, 1 hora e 24 horas,
+ * em memória e sem locks.
+ *
+ * Dois anéis de baldes: 300 de um segundo e 1440 de um minuto, com centavos e
+ * quantidade em AtomicLongArray. Cada balde guarda a época (segundo ou minuto
+ * desde 1970) que o ocupa; quem grava numa época nova toma o balde por CAS e
+ * zera, e a leitura só soma baldes cuja época está dentro da janela. Na
+ * subida, as últimas 24 horas são recarregadas dos pedidos.
+ */
+@Component
+public class LiveSalesMetrics implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveSalesMetrics.class);
+
+    private static final int FIVE_MINUTES = 300;
+    private static final int HOUR = 60;
+    private static final int DAY = 1440;
+
+    // Por segundo na janela de 5 minutos: menos de 86400 linhas mesmo com um dia cheio
+    private static final String REHYDRATE_SQL = """
+            SELECT date_trunc('second', updated_at) AS second, count(*) AS orders, sum(total_amount) AS revenue
+            FROM orders
+            WHERE status = 'FINALIZADO' AND updated_at >= ? AND updated_at < ?
+            GROUP BY 1
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Ring seconds = new Ring(FIVE_MINUTES);
+    private final Ring minutes = new Ring(DAY);
+
+    // Finalizações anteriores a este instante vêm da recarga; as demais, dos eventos
+    private final LocalDateTime liveSince = LocalDateTime.now();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        long[] rows = new long[1];
+        jdbcTemplate.query(REHYDRATE_SQL, rs -> {
+            record(rs.getTimestamp("second").toLocalDateTime(), rs.getLong("orders"), rs.getBigDecimal("revenue"));
+            rows[0]++;
+        }, Timestamp.valueOf(liveSince.minusDays(1)), Timestamp.valueOf(liveSince));
+        log.info("Vendas ao vivo recarregadas: {} segundos com finalizações nas últimas 24 h", rows[0]);
+    }
+
+    // Depois do commit: finalização desfeita não entra na conta
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.getStatus() == OrderStatus.FINALIZADO && !event.getChangedAt().isBefore(liveSince)) {
+            record(event.getChangedAt(), 1, event.getTotalAmount());
+        }
+    }
+
+    public LiveSalesReport report() {
+        return new LiveSalesReport(LocalDateTime.now(), lastFiveMinutes(), lastHour(), lastDay());
+    }
+
+    public LiveSalesWindow lastFiveMinutes() {
+        long now = Instant.now().getEpochSecond();
+        return seconds.window(now - FIVE_MINUTES + 1, now);
+    }
+
+    // A janela por minuto inclui o minuto corrente, ainda parcial
+    public LiveSalesWindow lastHour() {
+        long minute = Math.floorDiv(Instant.now().getEpochSecond(), 60);
+        return minutes.window(minute - HOUR + 1, minute);
+    }
+
+    public LiveSalesWindow lastDay() {
+        long minute = Math.floorDiv(Instant.now().getEpochSecond(), 60);
+        return minutes.window(minute - DAY + 1, minute);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauges(registry, "5m", LiveSalesMetrics::lastFiveMinutes);
+        gauges(registry, "1h", LiveSalesMetrics::lastHour);
+        gauges(registry, "24h", LiveSalesMetrics::lastDay);
+    }
+
+    private void gauges(MeterRegistry registry, String window, Function<LiveSalesMetrics, LiveSalesWindow> reader) {
+        Gauge.builder("sales.live.orders", this, metrics -> reader.apply(metrics).orders())
+                .description("Pedidos finalizados na janela móvel")
+                .tag("window", window)
+                .register(registry);
+        Gauge.builder("sales.live.revenue", this, metrics -> reader.apply(metrics).revenue().doubleValue())
+                .description("Faturamento dos pedidos finalizados na janela móvel")
+                .tag("window", window)
+                .baseUnit("BRL")
+                .register(registry);
+    }
+
+    private void record(LocalDateTime at, long orders, BigDecimal revenue) {
+        long second = at.atZone(ZoneId.systemDefault()).toEpochSecond();
+        long cents = revenue != null ? revenue.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+        seconds.add(second, orders, cents);
+        minutes.add(Math.floorDiv(second, 60), orders, cents);
+    }
+
+    /**
+     * Anel de baldes endereçado por época: o balde de uma época é época % tamanho.
+     */
+    static final class Ring {
+
+        private static final long EMPTY = -1;
+        // Balde tomado por quem o está zerando para uma época nova
+        private static final long CLAIMED = Long.MIN_VALUE;
+
+        private final int size;
+        private final AtomicLongArray epochs;
+        private final AtomicLongArray orders;
+        private final AtomicLongArray cents;
+
+        Ring(int size) {
+            this.size = size;
+            this.epochs = new AtomicLongArray(size);
+            this.orders = new AtomicLongArray(size);
+            this.cents = new AtomicLongArray(size);
+            for (int slot = 0; slot < size; slot++) {
+                epochs.set(slot, EMPTY);
+            }
+        }
+
+        void add(long epoch, long orderCount, long amountCents) {
+            int slot = (int) Math.floorMod(epoch, size);
+            while (true) {
+                long current = epochs.get(slot);
+                if (current == epoch) {
+                    orders.addAndGet(slot, orderCount);
+                    cents.addAndGet(slot, amountCents);
+                    return;
+                }
+                if (current == CLAIMED) {
+                    Thread.onSpinWait();
+                } else if (current > epoch) {
+                    // O balde já é de uma época mais nova: esta saiu do anel
+                    return;
+                } else if (epochs.compareAndSet(slot, current, CLAIMED)) {
+                    orders.set(slot, 0);
+                    cents.set(slot, 0);
+                    epochs.set(slot, epoch);
+                }
+            }
+        }
+
+        // Soma das épocas de from a to, inclusive
+        LiveSalesWindow window(long from, long to) {
+            long totalOrders = 0;
+            long totalCents = 0;
+            for (int slot = 0; slot < size; slot++) {
+                long epoch = epochs.get(slot);
+                if (epoch < from || epoch > to) {
+                    continue;
+                }
+                long slotOrders = orders.get(slot);
+                long slotCents = cents.get(slot);
+                // Balde reaproveitado durante a leitura: a época lida já não está nele
+                if (epochs.get(slot) == epoch) {
+                    totalOrders += slotOrders;
+                    totalCents += slotCents;
+                }
+            }
+            return new LiveSalesWindow(totalOrders, BigDecimal.valueOf(totalCents, 2));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.salesmanagement.metrics;
+
+/**
+ * Contadores de acesso ao banco por escopo (requisição ou bloco de teste),
+ * guardados em ThreadLocal. Escopos podem ser aninhados: cada evento conta no
+ * escopo corrente e em todos os externos. Fora de qualquer escopo nada é
+ * contado.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static Scope open() {
+        return attach(new Scope());
+    }
+
+    // Reanexa um escopo à thread atual, como na segunda fase de uma requisição assíncrona
+    public static Scope attach(Scope scope) {
+        scope.parent = CURRENT.get();
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static void detach(Scope scope) {
+        if (CURRENT.get() == scope) {
+            CURRENT.set(scope.parent);
+        }
+        scope.parent = null;
+    }
+
+    static void statementPrepared() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.entityLoads++;
+        }
+    }
+
+    static void lazyLoaded() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.lazyLoads++;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private Scope parent;
+        private long statements;
+        private long entityLoads;
+        private long lazyLoads;
+
+        // Comandos SQL preparados pelo Hibernate (JdbcTemplate não passa por aqui)
+        public long getStatements() { return statements; }
+
+        // Entidades materializadas a partir de linhas do banco
+        public long getEntityLoads() { return entityLoads; }
+
+        // Proxies e coleções LAZY inicializados sob demanda
+        public long getLazyLoads() { return lazyLoads; }
+
+        @Override
+        public void close() {
+            detach(this);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.salesmanagement.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Conta cada SQL que o Hibernate prepara, sem alterá-lo
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,35 @@
+package com.salesmanagement.metrics;
+
+import java.io.ByteArrayOutputStream;
+
+// Inteiros sem sinal em 7 bits por byte (LEB128), usados nas formas serializadas dos sketches
+final class Varint {
+
+    private Varint() {
+    }
+
+    static void write(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    // Lê a partir de position[0] e avança a posição
+    static long read(byte[] bytes, int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            if (position[0] >= bytes.length || shift > 63) {
+                throw new IllegalArgumentException("Varint truncado");
+            }
+            byte b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.salesmanagement.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Observa o evento JFR jdk.VirtualThreadPinned: virtual thread bloqueada
+ * enquanto presa à carrier (bloqueio dentro de synchronized ou em código
+ * nativo). Cada ocorrência acima do limiar vira um Timer por "local" — o
+ * primeiro frame do nosso código, do Hibernate ou do driver — e o primeiro
+ * registro de cada local é logado com a pilha.
+ */
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final List<String> INTERESTING_PACKAGES = List.of(
+            "com.salesmanagement.", "org.hibernate.", "org.postgresql.", "com.zaxxer.hikari.");
+    private static final int LOGGED_FRAMES = 20;
+    // Teto de locais distintos, para não explodir a cardinalidade da métrica
+    private static final int MAX_SITES = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(EVENT, this::record);
+        recording.startAsync();
+        stream = recording;
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threshold", threshold.toString());
+        stats.put("pinnedEvents", total.sum());
+        Map<String, Long> bySite = new LinkedHashMap<>();
+        sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(10)
+                .forEach(entry -> bySite.put(entry.getKey(), entry.getValue().sum()));
+        stats.put("topSites", bySite);
+        return stats;
+    }
+
+    private void record(RecordedEvent event) {
+        total.increment();
+        String site = site(event.getStackTrace());
+        if (!sites.containsKey(site) && sites.size() >= MAX_SITES) {
+            site = "other";
+        }
+
+        LongAdder count = sites.computeIfAbsent(site, key -> new LongAdder());
+        count.increment();
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Tempo de virtual threads bloqueadas presas à carrier")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (count.sum() == 1) {
+            log.warn("Virtual thread presa à carrier por {} ms em {} (thread {}){}", event.getDuration().toMillis(), site,
+                    event.getThread("eventThread") != null ? event.getThread("eventThread").getJavaName() : "?",
+                    formatStack(event.getStackTrace()));
+        }
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (INTERESTING_PACKAGES.stream().anyMatch(type::startsWith)) {
+                return describe(frame);
+            }
+        }
+        return describe(stackTrace.getFrames().get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static String formatStack(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(frames.size(), LOGGED_FRAMES); i++) {
+            RecordedFrame frame = frames.get(i);
+            out.append(System.lineSeparator()).append("\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber());
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package com.salesmanagement.repository;
+
+import com.salesmanagement.entity.DistinctCustomerSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DistinctCustomerSketchRepository extends JpaRepository<DistinctCustomerSketch, Long> {
+
+    // Garante a linha do dia sem disputar a chave única, como em SellerDailyStatsRepository
+    @Modifying
+    @Query(value = """
+            INSERT INTO distinct_customer_sketches (dimension, dimension_id, sketch_day, sketch)
+            VALUES (:dimension, :dimensionId, :day, '')
+            ON CONFLICT (dimension, dimension_id, sketch_day) DO NOTHING
+            """, nativeQuery = true)
+    void ensureExists(@Param("dimension") String dimension, @Param("dimensionId") Long dimensionId,
+                      @Param("day") LocalDate day);
+
+    // Trava os sketches do pedido sempre na mesma ordem: finalizações com produtos em comum não se travam mutuamente
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT s FROM DistinctCustomerSketch s
+            WHERE s.day = :day
+              AND ((s.dimension = com.salesmanagement.entity.SketchDimension.PRODUCT AND s.dimensionId IN :productIds)
+                OR (s.dimension = com.salesmanagement.entity.SketchDimension.SELLER AND s.dimensionId = :sellerId))
+            ORDER BY s.dimension, s.dimensionId
+            """)
+    List<DistinctCustomerSketch> lockForOrder(@Param("day") LocalDate day,
+                                              @Param("productIds") Collection<Long> productIds,
+                                              @Param("sellerId") Long sellerId);
+}
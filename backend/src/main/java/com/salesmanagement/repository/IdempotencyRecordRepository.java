@@ -0,0 +1,45 @@
+package com.salesmanagement.repository;
+
+import com.salesmanagement.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    // Buscar registro pela chave enviada no header Idempotency-Key, dentro do escopo do chamador
+    Optional<IdempotencyRecord> findByScopeAndIdempotencyKey(String scope, String idempotencyKey);
+
+    /**
+     * Reserva a chave; devolve 0 se outra requisição já a tem. Com uma reserva
+     * concorrente ainda aberta, o INSERT espera o commit ou rollback dela.
+     * Registro expirado ou sem pedido (reserva antiga interrompida) é retomado.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_requests (scope, idempotency_key, request_hash, order_id, created_at)
+            VALUES (:scope, :key, :requestHash, NULL, :now)
+            ON CONFLICT (scope, idempotency_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash, order_id = NULL, created_at = EXCLUDED.created_at
+                WHERE idempotency_requests.created_at < :cutoff OR idempotency_requests.order_id IS NULL
+            """, nativeQuery = true)
+    int claim(@Param("scope") String scope, @Param("key") String key, @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.orderId = :orderId WHERE r.scope = :scope AND r.idempotencyKey = :key")
+    int complete(@Param("scope") String scope, @Param("key") String key, @Param("orderId") Long orderId);
+
+    // Remover chaves fora do TTL
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -3,25 +3,108 @@ package com.salesmanagement.repository;
 import com.salesmanagement.entity.Order;
 import com.salesmanagement.entity.OrderStatus;
 import com.salesmanagement.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    // Pedidos são serializados com cliente, vendedor, itens e produtos:
+    // tudo vem na mesma consulta, sem uma consulta extra por pedido
+
+    @Override
+    @EntityGraph(attributePaths = {"customer", "seller", "items", "items.product"})
+    List<Order> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"customer", "seller", "items", "items.product"})
+    Optional<Order> findById(Long id);
+
+    // Trava a linha do pedido até o fim da transação: transições concorrentes do mesmo pedido
+    // esperam e releem o status gravado pela primeira, em vez de passarem as duas pela checagem.
+    // Separado do findById porque o FOR UPDATE não se aplica ao lado opcional do join com os itens
+    @Query(value = "SELECT id FROM orders WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
     // Buscar pedidos por cliente
+    @EntityGraph(attributePaths = {"customer", "seller", "items", "items.product"})
     List<Order> findByCustomer(User customer);
 
     // Buscar pedidos por status
+    @EntityGraph(attributePaths = {"customer", "seller", "items", "items.product"})
     List<Order> findByStatus(OrderStatus status);
 
     // Buscar pedidos pendentes
+    @EntityGraph(attributePaths = {"customer", "seller", "items", "items.product"})
     @Query("SELECT o FROM Order o WHERE o.status = 'PENDENTE' ORDER BY o.createdAt ASC")
     List<Order> findPendingOrders();
 
     // Buscar pedidos por cliente e status
+    @EntityGraph(attributePaths = {"customer", "seller", "items", "items.product"})
     List<Order> findByCustomerAndStatus(User customer, OrderStatus status);
-}
\ No newline at end of file
+
+    // Exportação em páginas por chave: ids depois do último já exportado, e os pedidos dessa página
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "seller", "items", "items.product"})
+    List<Order> findWithDetailsByIdInOrderByIdAsc(Collection<Long> ids);
+
+    // Resumo do cliente: linhas [status, quantidade, soma do total]
+    @Query("""
+            SELECT o.status, COUNT(o), COALESCE(SUM(o.totalAmount), 0)
+            FROM Order o
+            WHERE o.customer.id = :customerId
+            GROUP BY o.status
+            """)
+    List<Object[]> summarizeByCustomer(@Param("customerId") Long customerId);
+
+    // Histórico do cliente em páginas por chave, do mais novo para o mais antigo
+    @Query("SELECT o.id FROM Order o WHERE o.customer.id = :customerId AND o.id < :beforeId ORDER BY o.id DESC")
+    List<Long> findCustomerOrderIdsBefore(@Param("customerId") Long customerId, @Param("beforeId") long beforeId,
+                                          Pageable pageable);
+
+    @EntityGraph(attributePaths = {"customer", "seller", "items", "items.product"})
+    List<Order> findWithDetailsByIdInOrderByIdDesc(Collection<Long> ids);
+
+    // Agregações para relatórios: contam e somam no banco em vez de carregar os pedidos
+
+    // Linhas [status, quantidade]
+    @Query("SELECT o.status, COUNT(o) FROM Order o GROUP BY o.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.status = :status")
+    BigDecimal sumTotalAmountByStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT COALESCE(SUM(i.quantity), 0) FROM OrderItem i WHERE i.order.status = :status")
+    Long sumItemQuantityByStatus(@Param("status") OrderStatus status);
+
+    // Linhas [id, nome, email, pedidos, total gasto em pedidos no status informado]
+    @Query("""
+            SELECT c.id, c.name, c.email, COUNT(o),
+                   COALESCE(SUM(CASE WHEN o.status = :spentStatus THEN o.totalAmount ELSE 0 END), 0)
+            FROM Order o JOIN o.customer c
+            GROUP BY c.id, c.name, c.email
+            ORDER BY COUNT(o) DESC, c.id ASC
+            """)
+    List<Object[]> findTopCustomers(@Param("spentStatus") OrderStatus spentStatus, Pageable pageable);
+
+    // Linhas [id do produto, quantidade vendida, receita]
+    @Query("""
+            SELECT i.product.id, SUM(i.quantity), SUM(i.subtotal)
+            FROM OrderItem i
+            WHERE i.order.status = :status
+            GROUP BY i.product.id
+            ORDER BY SUM(i.quantity) DESC, i.product.id ASC
+            """)
+    List<Object[]> sumSalesByProduct(@Param("status") OrderStatus status, Pageable pageable);
+}
@@ -19,4 +19,11 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     // Buscar por nome
     List<Product> findByNameContainingIgnoreCaseAndActiveTrue(String name);
-}
\ No newline at end of file
+
+    // Produtos ativos com estoque abaixo do limite, do menor estoque para o maior
+    List<Product> findByActiveTrueAndStockLessThanOrderByStockAsc(int stock);
+
+    long countByActiveTrue();
+
+    long countByActiveTrueAndStockLessThan(int stock);
+}
@@ -0,0 +1,33 @@
+package com.salesmanagement.repository;
+
+import com.salesmanagement.entity.SellerDailyStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SellerDailyStatsRepository extends JpaRepository<SellerDailyStats, Long> {
+
+    // Garante a linha do dia sem disputar a chave única: duas primeiras transições simultâneas não falham
+    @Modifying
+    @Query(value = """
+            INSERT INTO seller_daily_stats (seller_id, stats_day, approvals, rejections, completions, revenue, approval_latency)
+            VALUES (:sellerId, :day, 0, 0, 0, 0, '')
+            ON CONFLICT (seller_id, stats_day) DO NOTHING
+            """, nativeQuery = true)
+    void ensureExists(@Param("sellerId") Long sellerId, @Param("day") LocalDate day);
+
+    // SELECT ... FOR UPDATE: transições do mesmo vendedor no mesmo dia se enfileiram
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<SellerDailyStats> findBySellerIdAndDay(Long sellerId, LocalDate day);
+
+    List<SellerDailyStats> findByDayBetweenOrderBySellerIdAscDayAsc(LocalDate from, LocalDate to);
+}
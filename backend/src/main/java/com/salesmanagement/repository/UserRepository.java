@@ -1,19 +1,34 @@
 package com.salesmanagement.repository;
 
 import com.salesmanagement.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     // Spring Data JPA cria automaticamente os métodos básicos
 
-    // Buscar usuário por email (para login)
+    // Buscar usuário por email (para login); resultado no cache de consultas,
+    // invalidado por qualquer escrita na tabela users feita pelo Hibernate
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-by-email")
+    })
     Optional<User> findByEmail(String email);
 
     // Verificar se email já existe
     boolean existsByEmail(String email);
+
+    // Linhas [role, quantidade]
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countGroupedByRole();
 }
 
 
@@ -0,0 +1,80 @@
+package com.salesmanagement.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Optional;
+
+/**
+ * Autenticação stateless: verifica o Bearer token uma vez por requisição e expõe
+ * as claims como principal (request.getUserPrincipal() ou um parâmetro
+ * JwtPrincipal no controller). Sem token, ou com token inválido, a requisição
+ * segue anônima.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<JwtPrincipal> principal = verifiedTokenCache.verify(header.substring(BEARER_PREFIX.length()).trim());
+        if (principal.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        chain.doFilter(new AuthenticatedRequest(request, principal.get()), response);
+    }
+
+    private static class AuthenticatedRequest extends HttpServletRequestWrapper {
+
+        private final JwtPrincipal principal;
+
+        AuthenticatedRequest(HttpServletRequest request, JwtPrincipal principal) {
+            super(request);
+            this.principal = principal;
+        }
+
+        @Override
+        public Principal getUserPrincipal() {
+            return principal;
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return principal.getEmail();
+        }
+
+        @Override
+        public String getAuthType() {
+            return "Bearer";
+        }
+
+        @Override
+        public boolean isUserInRole(String role) {
+            return role != null && role.equals(principal.getRole());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.salesmanagement.security;
+
+import java.security.Principal;
+import java.time.Instant;
+
+// Claims de um token já verificado, expostas como principal da requisição
+public final class JwtPrincipal implements Principal {
+
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(Long userId, String email, String role, Instant expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+
+    @Override
+    public String getName() { return email; }
+
+    public Long getUserId() { return userId; }
+
+    public String getEmail() { return email; }
+
+    public String getRole() { return role; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal{userId=" + userId + ", email='" + email + "', role=" + role + "}";
+    }
+}
@@ -0,0 +1,93 @@
+package com.salesmanagement.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hash e verificação de senhas (bcrypt) em um executor dedicado e limitado.
+ *
+ * Cada bcrypt custa dezenas de milissegundos de CPU; com poucas threads e fila
+ * curta, uma rajada de logins não rouba CPU das demais rotas da API. Quando a
+ * fila enche, as chamadas falham com RejectedExecutionException e o login
+ * responde 503.
+ */
+@Component
+public class PasswordHashingService {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(@Value("${app.password.bcrypt-strength:10}") int strength,
+                                  @Value("${app.password.threads:0}") int threads,
+                                  @Value("${app.password.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<String> hash(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+    }
+
+    /**
+     * Verifica a senha. Se ela confere mas o valor gravado é texto puro (legado)
+     * ou bcrypt com custo menor que o configurado, já devolve o novo hash para
+     * ser gravado no lugar.
+     */
+    public CompletableFuture<Verification> verify(String rawPassword, String storedPassword) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (storedPassword == null || rawPassword == null) {
+                return new Verification(false, null);
+            }
+            if (isBcrypt(storedPassword)) {
+                boolean matches = encoder.matches(rawPassword, storedPassword);
+                boolean outdated = matches && encoder.upgradeEncoding(storedPassword);
+                return new Verification(matches, outdated ? encoder.encode(rawPassword) : null);
+            }
+            boolean matches = MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+            return new Verification(matches, matches ? encoder.encode(rawPassword) : null);
+        }, executor);
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static boolean isBcrypt(String storedPassword) {
+        return storedPassword.startsWith("$2a$") || storedPassword.startsWith("$2b$") || storedPassword.startsWith("$2y$");
+    }
+
+    // upgradedHash não nulo indica que a senha gravada deve ser substituída
+    public record Verification(boolean matches, String upgradedHash) {}
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
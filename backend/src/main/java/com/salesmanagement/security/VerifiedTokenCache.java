@@ -0,0 +1,107 @@
+package com.salesmanagement.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado de tokens já verificados, indexado pelo SHA-256 do token.
+ *
+ * Um token repetido custa um hash e uma consulta ao mapa em vez de HMAC e parse
+ * do JSON. As entradas valem até a expiração do próprio token.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${app.jwt.verified-cache-size:10000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, JwtPrincipal> verified = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // Vazio quando o token é inválido, adulterado ou expirado
+    public Optional<JwtPrincipal> verify(String token) {
+        String digest = digest(token);
+        JwtPrincipal cached = verified.get(digest);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            verified.remove(digest, cached);
+            return Optional.empty();
+        }
+
+        misses.increment();
+        JwtPrincipal principal;
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            principal = new JwtPrincipal(
+                    claims.get("userId", Long.class),
+                    claims.getSubject(),
+                    claims.get("role", String.class),
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (verified.size() >= maxEntries) {
+            evict();
+        }
+        verified.put(digest, principal);
+        return Optional.of(principal);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return verified.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.verified-cache-purge-interval:PT1M}")
+    public void purgeExpired() {
+        verified.values().removeIf(JwtPrincipal::isExpired);
+    }
+
+    // Remove expirados e, se ainda estiver cheio, descarta entradas até 90% da capacidade
+    private void evict() {
+        purgeExpired();
+        Iterator<String> keys = verified.keySet().iterator();
+        while (verified.size() >= maxEntries * 9 / 10 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
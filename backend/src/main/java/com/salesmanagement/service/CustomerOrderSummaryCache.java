@@ -0,0 +1,179 @@
+package com.salesmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.salesmanagement.dto.CustomerOrderPage;
+import com.salesmanagement.dto.CustomerOrderSummary;
+import com.salesmanagement.dto.CustomerOrderView;
+import com.salesmanagement.entity.OrderStatus;
+import com.salesmanagement.event.OrderChangedEvent;
+import com.salesmanagement.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resumo dos pedidos por cliente (painel do cliente), em cache limitado por
+ * peso: cada resumo pesa o número de pedidos e itens que carrega, então
+ * clientes com pedidos grandes ocupam mais espaço e saem primeiro.
+ *
+ * Todo OrderChangedEvent descarta o resumo do cliente, recarregado na
+ * próxima visita; visitas sem mudanças não leem a tabela de pedidos. A carga
+ * roda fora do cache (sem compute do Caffeine, que seguraria um lock durante
+ * a consulta): antes de ler, a carga reserva a entrada do cliente, que
+ * onOrderChanged descarta como descartaria o resumo, e só guarda o resultado
+ * se a reserva ainda estiver lá. Nada fica fora do cache, então o limite de
+ * peso vale para tudo. Os pedidos guardados são CustomerOrderView, não entidades.
+ */
+@Service
+public class CustomerOrderSummaryCache {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.customer-summary.recent-orders:10}")
+    private int recentOrders;
+
+    @Value("${app.customer-summary.max-weight:100000}")
+    private long maxWeight;
+
+    @Value("${app.customer-summary.expire-after-access:PT30M}")
+    private Duration expireAfterAccess;
+
+    private Cache<Long, Entry> summaries;
+
+    private TransactionTemplate readOnly;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        summaries = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long customerId, Entry entry) -> entry.summary != null ? weight(entry.summary) : 1)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    public CustomerOrderSummary getSummary(Long customerId) {
+        Entry cached = summaries.getIfPresent(customerId);
+        if (cached != null && cached.summary != null) {
+            hits.increment();
+            return cached.summary;
+        }
+        misses.increment();
+
+        // Mudança durante a carga descarta a reserva e o replace não acontece; a reserva de
+        // outra carga mais nova também não é substituída, já que a comparação é por identidade
+        Entry reservation = new Entry(null);
+        summaries.put(customerId, reservation);
+        CustomerOrderSummary loaded;
+        try {
+            loaded = readOnly.execute(status -> load(customerId));
+        } catch (RuntimeException e) {
+            summaries.asMap().remove(customerId, reservation);
+            throw e;
+        }
+        summaries.asMap().replace(customerId, reservation, new Entry(loaded));
+        return loaded;
+    }
+
+    // Pedidos mais antigos que beforeId (ou os mais recentes, sem beforeId); não passa pelo cache
+    public CustomerOrderPage getHistory(Long customerId, Long beforeId, int size) {
+        return readOnly.execute(status -> page(customerId, beforeId, size));
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long size() {
+        return summaries.estimatedSize();
+    }
+
+    // Depois do commit: descartar antes deixaria uma carga concorrente guardar o estado anterior
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderChanged(OrderChangedEvent event) {
+        summaries.invalidate(event.getCustomerId());
+    }
+
+    private CustomerOrderSummary load(Long customerId) {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, 0L);
+        }
+        long total = 0;
+        BigDecimal spent = BigDecimal.ZERO;
+        for (Object[] row : orderRepository.summarizeByCustomer(customerId)) {
+            OrderStatus status = (OrderStatus) row[0];
+            long count = (Long) row[1];
+            counts.put(status, count);
+            total += count;
+            if (status == OrderStatus.FINALIZADO) {
+                spent = (BigDecimal) row[2];
+            }
+        }
+
+        CustomerOrderPage recent = total == 0 ? new CustomerOrderPage(List.of(), null) : page(customerId, null, recentOrders);
+        return new CustomerOrderSummary(customerId, counts, total, spent, recent.orders(), recent.nextBeforeId());
+    }
+
+    private CustomerOrderPage page(Long customerId, Long beforeId, int size) {
+        // Um id a mais só para saber se há próxima página
+        List<Long> ids = orderRepository.findCustomerOrderIdsBefore(customerId,
+                beforeId != null ? beforeId : Long.MAX_VALUE, PageRequest.of(0, size + 1));
+        boolean hasMore = ids.size() > size;
+        if (hasMore) {
+            ids = ids.subList(0, size);
+        }
+        if (ids.isEmpty()) {
+            return new CustomerOrderPage(List.of(), null);
+        }
+        List<CustomerOrderView> orders = orderRepository.findWithDetailsByIdInOrderByIdDesc(ids).stream()
+                .map(CustomerOrderView::of)
+                .toList();
+        return new CustomerOrderPage(orders, hasMore ? ids.get(ids.size() - 1) : null);
+    }
+
+    // Resumo guardado, ou null na reserva de uma carga em andamento. Sem equals: cada carga
+    // só substitui a própria reserva
+    private static final class Entry {
+
+        private final CustomerOrderSummary summary;
+
+        Entry(CustomerOrderSummary summary) {
+            this.summary = summary;
+        }
+    }
+
+    // Um por resumo mais um por pedido e por item guardados
+    private static int weight(CustomerOrderSummary summary) {
+        int weight = 1;
+        for (CustomerOrderView order : summary.recentOrders()) {
+            weight += 1 + order.items().size();
+        }
+        return weight;
+    }
+}
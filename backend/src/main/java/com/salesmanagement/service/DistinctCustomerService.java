@@ -0,0 +1,228 @@
+package com.salesmanagement.service;
+
+import com.salesmanagement.dto.report.DistinctCustomerRow;
+import com.salesmanagement.dto.report.DistinctCustomersReport;
+import com.salesmanagement.entity.DistinctCustomerSketch;
+import com.salesmanagement.entity.SketchDimension;
+import com.salesmanagement.event.OrderChangedEvent;
+import com.salesmanagement.metrics.HyperLogLog;
+import com.salesmanagement.repository.DistinctCustomerSketchRepository;
+import com.salesmanagement.repository.ProductRepository;
+import com.salesmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Clientes distintos por dia × produto e dia × vendedor, em sketches
+ * HyperLogLog (distinct_customer_sketches). Cada finalização adiciona o
+ * cliente aos sketches dos produtos do pedido e do vendedor, na mesma
+ * transação; um período qualquer é a união dos sketches dos seus dias, sem
+ * COUNT(DISTINCT) sobre pedidos e itens.
+ *
+ * Erro padrão relativo de ~1,6% (1,04/√4096); os limites informados são dois
+ * erros padrão para cada lado, um intervalo de ~95%.
+ */
+@Service
+public class DistinctCustomerService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final double CONFIDENCE_SIGMAS = 2;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO distinct_customer_sketches (dimension, dimension_id, sketch_day, sketch)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String SELECT_SQL = """
+            SELECT dimension_id, sketch
+            FROM distinct_customer_sketches
+            WHERE dimension = ? AND sketch_day BETWEEN ? AND ?
+            """;
+
+    @Autowired
+    private DistinctCustomerSketchRepository sketchRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Junta-se à transação da finalização; sem transação aberta, roda na sua
+    @EventListener(condition = "#event.status.name() == 'FINALIZADO'")
+    @Transactional
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (event.getProductIds().isEmpty() && event.getSellerId() == null) {
+            return;
+        }
+        LocalDate day = event.getChangedAt().toLocalDate();
+        // Mesma ordem da trava: produtos crescentes, depois o vendedor
+        for (Long productId : event.getProductIds()) {
+            sketchRepository.ensureExists(SketchDimension.PRODUCT.name(), productId, day);
+        }
+        if (event.getSellerId() != null) {
+            sketchRepository.ensureExists(SketchDimension.SELLER.name(), event.getSellerId(), day);
+        }
+
+        for (DistinctCustomerSketch sketch : sketchRepository.lockForOrder(day, event.getProductIds(), event.getSellerId())) {
+            HyperLogLog customers = HyperLogLog.decode(sketch.getSketch());
+            // Cliente que já comprou no dia não sobe registrador: sem UPDATE
+            if (customers.add(event.getCustomerId())) {
+                sketch.setSketch(customers.encode());
+            }
+        }
+    }
+
+    /**
+     * Une os sketches do período: um produto ou vendedor (id informado) ou
+     * todos, com as linhas ordenadas pela estimativa. O total é a união de
+     * todas as linhas do período, antes do limite.
+     */
+    @Transactional(readOnly = true)
+    public DistinctCustomersReport report(SketchDimension dimension, Long id, LocalDate from, LocalDate to, int limit) {
+        Map<Long, HyperLogLog> byId = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    id != null ? SELECT_SQL + " AND dimension_id = ?" : SELECT_SQL);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setString(1, dimension.name());
+            statement.setDate(2, Date.valueOf(from));
+            statement.setDate(3, Date.valueOf(to));
+            if (id != null) {
+                statement.setLong(4, id);
+            }
+            return statement;
+        }, rs -> {
+            byId.computeIfAbsent(rs.getLong("dimension_id"), key -> new HyperLogLog())
+                    .merge(HyperLogLog.decode(rs.getBytes("sketch")));
+        });
+
+        HyperLogLog union = new HyperLogLog();
+        List<Map.Entry<Long, Long>> estimates = new ArrayList<>(byId.size());
+        for (Map.Entry<Long, HyperLogLog> entry : byId.entrySet()) {
+            union.merge(entry.getValue());
+            estimates.add(Map.entry(entry.getKey(), entry.getValue().estimate()));
+        }
+        estimates.sort(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<Map.Entry<Long, Long>> top = estimates.subList(0, Math.min(limit, estimates.size()));
+
+        Map<Long, String> names = names(dimension, top.stream().map(Map.Entry::getKey).toList());
+        List<DistinctCustomerRow> rows = new ArrayList<>(top.size());
+        for (Map.Entry<Long, Long> entry : top) {
+            long estimate = entry.getValue();
+            rows.add(new DistinctCustomerRow(entry.getKey(), names.get(entry.getKey()),
+                    estimate, lowerBound(estimate), upperBound(estimate)));
+        }
+        long total = union.estimate();
+        return new DistinctCustomersReport(dimension, from, to, HyperLogLog.RELATIVE_STANDARD_ERROR,
+                total, lowerBound(total), upperBound(total), rows);
+    }
+
+    /**
+     * Recalcula todos os sketches a partir dos pedidos finalizados (carga
+     * inicial ou reparo). Os pedidos vêm ordenados por dia e cada dia é gravado
+     * ao terminar, então a memória é a de um dia. A tabela fica travada até o
+     * fim: finalizações concorrentes esperam e somam depois da recarga.
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.execute("LOCK TABLE distinct_customer_sketches IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM distinct_customer_sketches");
+
+        Map<SketchKey, HyperLogLog> sketches = new HashMap<>();
+        LocalDate[] currentDay = {null};
+        int[] written = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    SELECT CAST(COALESCE(o.updated_at, o.created_at) AS date) AS day,
+                           o.customer_id, o.seller_id, i.product_id
+                    FROM orders o
+                    LEFT JOIN order_items i ON i.order_id = o.id
+                    WHERE o.status = 'FINALIZADO'
+                    ORDER BY day
+                    """);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            LocalDate day = rs.getDate("day").toLocalDate();
+            if (!day.equals(currentDay[0])) {
+                written[0] += insert(sketches);
+                currentDay[0] = day;
+            }
+            long customerId = rs.getLong("customer_id");
+            long productId = rs.getLong("product_id");
+            if (!rs.wasNull()) {
+                sketches.computeIfAbsent(new SketchKey(SketchDimension.PRODUCT, productId, day), key -> new HyperLogLog())
+                        .add(customerId);
+            }
+            long sellerId = rs.getLong("seller_id");
+            if (!rs.wasNull()) {
+                sketches.computeIfAbsent(new SketchKey(SketchDimension.SELLER, sellerId, day), key -> new HyperLogLog())
+                        .add(customerId);
+            }
+        });
+        written[0] += insert(sketches);
+        return written[0];
+    }
+
+    // Grava os sketches acumulados e esvazia o mapa
+    private int insert(Map<SketchKey, HyperLogLog> sketches) {
+        if (sketches.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<SketchKey, HyperLogLog>> rows = new ArrayList<>(sketches.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SketchKey key = rows.get(i).getKey();
+                ps.setString(1, key.dimension().name());
+                ps.setLong(2, key.dimensionId());
+                ps.setDate(3, Date.valueOf(key.day()));
+                ps.setBytes(4, rows.get(i).getValue().encode());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        sketches.clear();
+        return rows.size();
+    }
+
+    private Map<Long, String> names(SketchDimension dimension, List<Long> ids) {
+        Map<Long, String> names = new HashMap<>();
+        if (ids.isEmpty()) {
+            return names;
+        }
+        if (dimension == SketchDimension.PRODUCT) {
+            productRepository.findAllById(ids).forEach(product -> names.put(product.getId(), product.getName()));
+        } else {
+            userRepository.findAllById(ids).forEach(user -> names.put(user.getId(), user.getName()));
+        }
+        return names;
+    }
+
+    private static long lowerBound(long estimate) {
+        return Math.max(0, Math.round(estimate * (1 - CONFIDENCE_SIGMAS * HyperLogLog.RELATIVE_STANDARD_ERROR)));
+    }
+
+    private static long upperBound(long estimate) {
+        return Math.round(estimate * (1 + CONFIDENCE_SIGMAS * HyperLogLog.RELATIVE_STANDARD_ERROR));
+    }
+
+    private record SketchKey(SketchDimension dimension, long dimensionId, LocalDate day) {}
+}
@@ -0,0 +1,200 @@
+package com.salesmanagement.service;
+
+import com.salesmanagement.entity.IdempotencyRecord;
+import com.salesmanagement.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Deduplica criações de pedido pelo header Idempotency-Key.
+ *
+ * A chave vale dentro de um escopo (o usuário autenticado ou, sem token, o
+ * cliente do pedido) e guarda o hash da requisição: a mesma chave com outro
+ * corpo é recusada em vez de devolver o pedido original.
+ *
+ * Camadas, da mais barata para a mais cara: cache limitado em memória com os
+ * resultados recentes, mapa de requisições em andamento (duplicatas concorrentes aguardam a
+ * primeira) e a tabela idempotency_requests. A reserva da chave, o pedido e o
+ * vínculo entre os dois são gravados na mesma transação: uma queda no meio
+ * desfaz tudo, e a instância concorrente espera o commit no próprio INSERT.
+ */
+@Service
+public class IdempotencyService {
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.idempotency.wait-timeout:PT30S}")
+    private Duration waitTimeout;
+
+    // Sem synchronizedMap: o monitor disputado prenderia virtual threads à carrier
+    private final ConcurrentHashMap<ScopedKey, CachedResult> recentResults = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<ScopedKey, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    /**
+     * Executa a criação apenas uma vez por escopo e chave dentro do TTL. A ação
+     * deve devolver o id do pedido criado e roda na transação da reserva;
+     * replays devolvem o id original. Lança KeyReusedException se a chave já
+     * foi usada com outra requisição.
+     */
+    public Result execute(String scope, String key, String requestHash, Supplier<Long> action) {
+        if (key == null || key.isBlank()) {
+            return new Result(action.get(), false);
+        }
+        if (key.length() > 100) {
+            throw new IllegalArgumentException("Idempotency-Key deve ter no máximo 100 caracteres");
+        }
+        ScopedKey scopedKey = new ScopedKey(scope, key);
+
+        CachedResult cached = recentResults.get(scopedKey);
+        if (cached != null && !isExpired(cached.createdAt())) {
+            cacheHits.increment();
+            checkSameRequest(cached.requestHash(), requestHash);
+            return new Result(cached.orderId(), true);
+        }
+        cacheMisses.increment();
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(scopedKey, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash(), requestHash);
+            return new Result(await(running.orderId()), true);
+        }
+
+        try {
+            Result result = claimAndRun(scopedKey, requestHash, action);
+            if (recentResults.size() >= cacheSize) {
+                evictRecentResults();
+            }
+            recentResults.put(scopedKey, new CachedResult(result.orderId(), requestHash, LocalDateTime.now()));
+            mine.orderId().complete(result.orderId());
+            return result;
+        } catch (RuntimeException e) {
+            mine.orderId().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scopedKey, mine);
+        }
+    }
+
+    private Result claimAndRun(ScopedKey scopedKey, String requestHash, Supplier<Long> action) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = idempotencyRecordRepository.claim(scopedKey.scope(), scopedKey.key(), requestHash,
+                    now, now.minus(ttl));
+            if (claimed == 0) {
+                // Já gravada por outra requisição, que commitou junto com o pedido
+                IdempotencyRecord record = idempotencyRecordRepository
+                        .findByScopeAndIdempotencyKey(scopedKey.scope(), scopedKey.key())
+                        .orElseThrow(() -> new IllegalStateException("Requisição original em andamento, tente novamente"));
+                checkSameRequest(record.getRequestHash(), requestHash);
+                return new Result(record.getOrderId(), true);
+            }
+
+            // Falha da ação desfaz também a reserva: o cliente pode tentar de novo
+            Long orderId = action.get();
+            idempotencyRecordRepository.complete(scopedKey.scope(), scopedKey.key(), orderId);
+            return new Result(orderId, false);
+        });
+    }
+
+    private static void checkSameRequest(String original, String requestHash) {
+        if (!original.equals(requestHash)) {
+            throw new KeyReusedException("Idempotency-Key já usada com outra requisição");
+        }
+    }
+
+    private Long await(CompletableFuture<Long> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Falha na requisição original", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Requisição original ainda em andamento");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a requisição original");
+        }
+    }
+
+    // Remove expirados e, se ainda estiver cheio, descarta os mais antigos até 90% da capacidade
+    private void evictRecentResults() {
+        recentResults.values().removeIf(cached -> isExpired(cached.createdAt()));
+        int excess = recentResults.size() - cacheSize * 9 / 10;
+        if (excess > 0) {
+            recentResults.entrySet().stream()
+                    .sorted(Map.Entry.comparingByValue(Comparator.comparing(CachedResult::createdAt)))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(recentResults::remove);
+        }
+    }
+
+    private boolean isExpired(LocalDateTime createdAt) {
+        return createdAt.isBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    public long getCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMissCount() {
+        return cacheMisses.sum();
+    }
+
+    public int getCacheSize() {
+        return recentResults.size();
+    }
+
+    public record Result(Long orderId, boolean replayed) {}
+
+    // Mesma chave, requisição diferente (422)
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException(String message) {
+            super(message);
+        }
+    }
+
+    private record ScopedKey(String scope, String key) {}
+
+    private record InFlight(String requestHash, CompletableFuture<Long> orderId) {}
+
+    private record CachedResult(Long orderId, String requestHash, LocalDateTime createdAt) {}
+}
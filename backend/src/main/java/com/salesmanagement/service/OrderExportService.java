@@ -0,0 +1,98 @@
+package com.salesmanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.salesmanagement.dto.WireFormat;
+import com.salesmanagement.entity.Order;
+import com.salesmanagement.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Exporta todos os pedidos como um único array, em JSON, Smile ou CBOR,
+ * escrito direto na saída enquanto é lido.
+ *
+ * A leitura é paginada pela chave (id > último exportado), uma transação
+ * somente leitura por página; o contexto de persistência é limpo a cada
+ * página, então a memória não cresce com o número de pedidos.
+ */
+@Service
+public class OrderExportService {
+
+    public static final int PAGE_SIZE = 500;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private WireFormatMappers wireFormatMappers;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public long export(WireFormat format, OutputStream output) throws IOException {
+        ObjectMapper mapper = wireFormatMappers.forFormat(format);
+        // Um flush por página, não por pedido
+        ObjectWriter writer = mapper.writerFor(Order.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long exported = 0;
+        // A saída é do contêiner: fechar o gerador não pode fechá-la
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+
+            long lastId = 0;
+            while (true) {
+                long afterId = lastId;
+                ExportedPage page = readOnly.execute(status -> writePage(afterId, writer, generator));
+                if (page == null) {
+                    break;
+                }
+                exported += page.count();
+                lastId = page.lastId();
+                generator.flush();
+            }
+
+            generator.writeEndArray();
+        }
+        return exported;
+    }
+
+    // Escreve uma página; null quando não há mais pedidos
+    private ExportedPage writePage(long afterId, ObjectWriter writer, JsonGenerator generator) {
+        List<Long> ids = orderRepository.findIdsAfter(afterId, PageRequest.of(0, PAGE_SIZE));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        try {
+            for (Order order : orderRepository.findWithDetailsByIdInOrderByIdAsc(ids)) {
+                writer.writeValue(generator, order);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            entityManager.clear();
+        }
+        return new ExportedPage(ids.get(ids.size() - 1), ids.size());
+    }
+
+    private record ExportedPage(long lastId, int count) {}
+}
@@ -0,0 +1,235 @@
+package com.salesmanagement.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.salesmanagement.dto.WireFormat;
+import com.salesmanagement.entity.Product;
+import com.salesmanagement.event.ProductCatalogChangedEvent;
+import com.salesmanagement.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshot imutável do catálogo de produtos com versão monotônica.
+ *
+ * A versão é incrementada a cada ProductCatalogChangedEvent e o snapshot é
+ * recarregado de forma preguiçosa na próxima leitura. O ETag deriva apenas da
+ * versão, então um GET condicional é respondido sem tocar no banco.
+ *
+ * As listas do catálogo também são guardadas já serializadas, uma vez por
+ * versão, em JSON UTF-8, JSON gzip, Smile e CBOR; servir o catálogo vira uma
+ * cópia de buffer. Os binários não são comprimidos: já são compactos.
+ */
+@Service
+public class ProductCatalogCache {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private WireFormatMappers wireFormatMappers;
+
+    // Distingue versões entre reinícios da aplicação
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong(1);
+
+    private volatile Snapshot snapshot;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Leituras servidas pelo snapshot vigente x recargas do banco
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version.get()) {
+            hits.increment();
+            return current;
+        }
+        // ReentrantLock e não synchronized: a recarga consulta o banco, e uma virtual
+        // thread bloqueada dentro de synchronized prende a carrier
+        reloadLock.lock();
+        try {
+            long target = version.get();
+            current = snapshot;
+            if (current == null || current.version() != target) {
+                misses.increment();
+                current = load(target);
+                snapshot = current;
+            } else {
+                hits.increment();
+            }
+            return current;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public String currentETag(WireFormat format, boolean gzipped) {
+        return etagFor(version.get(), format, gzipped);
+    }
+
+    // ETag da versão do snapshot dado, que pode estar atrás da versão vigente
+    public String etagOf(Snapshot snapshot, WireFormat format) {
+        return etagFor(snapshot.version(), format, false);
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    // Comparação fraca, como exigido para If-None-Match
+    public boolean matches(String ifNoneMatch) {
+        return matches(ifNoneMatch, version.get());
+    }
+
+    // Contra a versão do snapshot dado, o mesmo cujo ETag a resposta levaria
+    public boolean matches(String ifNoneMatch, Snapshot snapshot) {
+        return matches(ifNoneMatch, snapshot.version());
+    }
+
+    private boolean matches(String ifNoneMatch, long current) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || isCurrentTag(tag, current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Roda antes dos demais ouvintes, que podem ler o snapshot novo
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private Snapshot load(long loadVersion) {
+        List<Product> all = productRepository.findAll().stream()
+                .map(ProductCatalogCache::copyOf)
+                .sorted(Comparator.comparing(Product::getId))
+                .toList();
+
+        Map<Long, Product> byId = new HashMap<>(all.size() * 2);
+        for (Product product : all) {
+            byId.put(product.getId(), product);
+        }
+
+        List<Product> active = all.stream()
+                .filter(Product::getActive)
+                .toList();
+        List<Product> inStock = active.stream()
+                .filter(Product::isInStock)
+                .toList();
+
+        return new Snapshot(loadVersion, active, inStock, Map.copyOf(byId),
+                encode(loadVersion, active), encode(loadVersion, inStock));
+    }
+
+    private EncodedBody encode(long loadVersion, List<Product> products) {
+        try {
+            byte[] json = wireFormatMappers.forFormat(WireFormat.JSON).writeValueAsBytes(products);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(json.length / 4, 64));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+                gzip.write(json);
+            }
+            Map<WireFormat, byte[]> bodies = new EnumMap<>(WireFormat.class);
+            Map<WireFormat, String> etags = new EnumMap<>(WireFormat.class);
+            for (WireFormat format : WireFormat.values()) {
+                bodies.put(format, format == WireFormat.JSON ? json
+                        : wireFormatMappers.forFormat(format).writeValueAsBytes(products));
+                etags.put(format, etagFor(loadVersion, format, false));
+            }
+            return new EncodedBody(bodies, etags, buffer.toByteArray(), etagFor(loadVersion, WireFormat.JSON, true));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o catálogo", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Representações com bytes diferentes precisam de ETags fortes diferentes
+    private String etagFor(long snapshotVersion, WireFormat format, boolean gzipped) {
+        String suffix = switch (format) {
+            case JSON -> "";
+            case SMILE -> "-smile";
+            case CBOR -> "-cbor";
+        };
+        return "\"catalog-" + instanceTag + "-" + snapshotVersion + suffix + (gzipped ? "-gz" : "") + "\"";
+    }
+
+    private boolean isCurrentTag(String tag, long current) {
+        for (WireFormat format : WireFormat.values()) {
+            if (tag.equals(etagFor(current, format, false))) {
+                return true;
+            }
+        }
+        return tag.equals(etagFor(current, WireFormat.JSON, true));
+    }
+
+    // Cópia desanexada: o snapshot não pode ser alterado pelo contexto de persistência de uma requisição
+    private static Product copyOf(Product product) {
+        Product copy = new Product(product.getName(), product.getDescription(), product.getPrice(), product.getStock());
+        copy.setId(product.getId());
+        copy.setActive(product.getActive());
+        return copy;
+    }
+
+    public record Snapshot(long version,
+                           List<Product> activeProducts,
+                           List<Product> inStockProducts,
+                           Map<Long, Product> productsById,
+                           EncodedBody activeBody,
+                           EncodedBody inStockBody) {
+
+        public Product findById(Long id) {
+            return productsById.get(id);
+        }
+    }
+
+    // Corpo e ETag por formato; gzip só do JSON
+    public record EncodedBody(Map<WireFormat, byte[]> bodies, Map<WireFormat, String> etags,
+                              byte[] gzip, String gzipEtag) {
+
+        public byte[] body(WireFormat format) {
+            return bodies.get(format);
+        }
+
+        public String etag(WireFormat format) {
+            return etags.get(format);
+        }
+    }
+}
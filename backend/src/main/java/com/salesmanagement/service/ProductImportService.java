@@ -0,0 +1,359 @@
+package com.salesmanagement.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesmanagement.dto.ProductImportResult;
+import com.salesmanagement.entity.Product;
+import com.salesmanagement.event.ProductCatalogChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.*;
+
+/**
+ * Importação em massa de produtos a partir de CSV, NDJSON ou de um array de
+ * objetos em JSON, Smile ou CBOR.
+ *
+ * O arquivo é lido de forma incremental e gravado em lotes: um único
+ * INSERT ... ON CONFLICT (name) por lote, em sua própria transação, que devolve
+ * por linha se ela foi inserida ou atualizada. Linhas inválidas são reportadas
+ * sem abortar a importação, e um único ProductCatalogChangedEvent é publicado ao
+ * final. Cada lote gravado despeja Product do cache de segundo nível.
+ */
+@Service
+public class ProductImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int HEADER_PEEK_CHARS = 64 * 1024;
+
+    // xmax = 0 só na versão recém-inserida; na atualizada ele guarda a transação que a gravou
+    private static final String UPSERT_SQL = """
+            INSERT INTO products (name, description, price, stock, active)
+            SELECT * FROM unnest(?::text[], ?::text[], ?::numeric[], ?::int[], ?::boolean[])
+            ON CONFLICT (name) DO UPDATE
+            SET description = EXCLUDED.description, price = EXCLUDED.price,
+                stock = EXCLUDED.stock, active = EXCLUDED.active
+            RETURNING (xmax = 0) AS inserted
+            """;
+
+    // Aceita cabeçalhos em inglês ou português
+    private static final Map<String, String> COLUMN_ALIASES = Map.of(
+            "nome", "name",
+            "descricao", "description",
+            "descrição", "description",
+            "preco", "price",
+            "preço", "price",
+            "estoque", "stock",
+            "ativo", "active"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public ProductImportResult importCsv(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), HEADER_PEEK_CHARS);
+        ProductImportResult result = new ProductImportResult();
+
+        reader.mark(HEADER_PEEK_CHARS);
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return result;
+        }
+        reader.reset();
+
+        // Planilhas em pt-BR costumam exportar com ponto e vírgula
+        char delimiter = count(headerLine, ';') > count(headerLine, ',') ? ';' : ',';
+        CsvRecordReader csv = new CsvRecordReader(reader, delimiter);
+        Map<String, Integer> columns = columnIndex(csv.next());
+        if (!columns.containsKey("name")) {
+            throw new IllegalArgumentException("O cabeçalho deve conter a coluna name");
+        }
+
+        Batch batch = new Batch(result);
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            long line = csv.getRecordLine();
+            result.setTotalRows(result.getTotalRows() + 1);
+            try {
+                batch.add(toRow(line,
+                        field(record, columns, "name"),
+                        field(record, columns, "description"),
+                        field(record, columns, "price"),
+                        field(record, columns, "stock"),
+                        field(record, columns, "active")));
+            } catch (IllegalArgumentException e) {
+                result.addError(line, e.getMessage(), MAX_REPORTED_ERRORS);
+            }
+        }
+        batch.flush();
+        return finish(result);
+    }
+
+    public ProductImportResult importNdjson(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ProductImportResult result = new ProductImportResult();
+        Batch batch = new Batch(result);
+
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            result.setTotalRows(result.getTotalRows() + 1);
+            try {
+                JsonNode node = objectMapper.readTree(text);
+                if (!node.isObject()) {
+                    throw new IllegalArgumentException("Cada linha deve ser um objeto JSON");
+                }
+                batch.add(toRow(line,
+                        text(node, "name"),
+                        text(node, "description"),
+                        text(node, "price"),
+                        text(node, "stock"),
+                        text(node, "active")));
+            } catch (JsonProcessingException e) {
+                result.addError(line, "JSON inválido: " + e.getOriginalMessage(), MAX_REPORTED_ERRORS);
+            } catch (IllegalArgumentException e) {
+                result.addError(line, e.getMessage(), MAX_REPORTED_ERRORS);
+            }
+        }
+        batch.flush();
+        return finish(result);
+    }
+
+    // Array lido elemento a elemento com o parser do formato; a "linha" do erro é a posição no array
+    public ProductImportResult importArray(InputStream input, ObjectMapper mapper) throws IOException {
+        ProductImportResult result = new ProductImportResult();
+        Batch batch = new Batch(result);
+
+        try (JsonParser parser = mapper.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("O corpo deve ser um array de produtos");
+            }
+            long index = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new JsonParseException(parser, "Array não terminado");
+                    }
+                    index++;
+                    result.setTotalRows(result.getTotalRows() + 1);
+                    JsonNode node = mapper.readTree(parser);
+                    if (!node.isObject()) {
+                        result.addError(index, "Cada item deve ser um objeto", MAX_REPORTED_ERRORS);
+                        continue;
+                    }
+                    try {
+                        batch.add(toRow(index,
+                                text(node, "name"),
+                                text(node, "description"),
+                                text(node, "price"),
+                                text(node, "stock"),
+                                text(node, "active")));
+                    } catch (IllegalArgumentException e) {
+                        result.addError(index, e.getMessage(), MAX_REPORTED_ERRORS);
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // Corpo corrompido no meio: o que veio antes ainda é gravado
+                result.addError(index + 1, "Corpo inválido: " + e.getOriginalMessage(), MAX_REPORTED_ERRORS);
+            }
+        }
+        batch.flush();
+        return finish(result);
+    }
+
+    private ProductImportResult finish(ProductImportResult result) {
+        if (result.getInserted() + result.getUpdated() > 0) {
+            eventPublisher.publishEvent(ProductCatalogChangedEvent.bulk());
+        }
+        return result;
+    }
+
+    private static ImportRow toRow(long line, String name, String description, String price, String stock, String active) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Nome é obrigatório");
+        }
+        if (name.length() > 255) {
+            throw new IllegalArgumentException("Nome deve ter no máximo 255 caracteres");
+        }
+        if (description != null && description.length() > 500) {
+            throw new IllegalArgumentException("Descrição deve ter no máximo 500 caracteres");
+        }
+
+        if (price == null || price.isBlank()) {
+            throw new IllegalArgumentException("Preço é obrigatório");
+        }
+        BigDecimal parsedPrice;
+        try {
+            parsedPrice = new BigDecimal(normalizeDecimal(price));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Preço inválido: " + price);
+        }
+        if (parsedPrice.compareTo(new BigDecimal("0.01")) < 0) {
+            throw new IllegalArgumentException("Preço deve ser maior que zero");
+        }
+
+        int parsedStock;
+        try {
+            parsedStock = Integer.parseInt(stock == null ? "" : stock.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Estoque inválido: " + stock);
+        }
+        if (parsedStock < 0) {
+            throw new IllegalArgumentException("Estoque não pode ser negativo");
+        }
+
+        boolean parsedActive = active == null || active.isBlank()
+                || active.trim().equalsIgnoreCase("true")
+                || active.trim().equalsIgnoreCase("sim")
+                || active.trim().equals("1");
+
+        return new ImportRow(line, name.trim(), description, parsedPrice, parsedStock, parsedActive);
+    }
+
+    // "1.299,90", "1299,90" e "1,299.90" viram "1299.90": o último separador é o decimal
+    private static String normalizeDecimal(String value) {
+        String trimmed = value.trim();
+        int comma = trimmed.lastIndexOf(',');
+        if (comma < 0) {
+            return trimmed;
+        }
+        if (comma > trimmed.lastIndexOf('.')) {
+            return trimmed.replace(".", "").replace(',', '.');
+        }
+        return trimmed.replace(",", "");
+    }
+
+    private static Map<String, Integer> columnIndex(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        if (header == null) {
+            return columns;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(COLUMN_ALIASES.getOrDefault(column, column), i);
+        }
+        return columns;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static int count(String text, char c) {
+        return (int) text.chars().filter(ch -> ch == c).count();
+    }
+
+    private record ImportRow(long line, String name, String description, BigDecimal price, int stock, boolean active) {}
+
+    // Acumula linhas válidas e grava um lote por vez
+    private class Batch {
+
+        private final ProductImportResult result;
+        private final Map<String, ImportRow> rows = new LinkedHashMap<>();
+
+        Batch(ProductImportResult result) {
+            this.result = result;
+        }
+
+        void add(ImportRow row) {
+            // Nome repetido no mesmo lote: grava o lote antes, já que o ON CONFLICT não toca a
+            // mesma linha duas vezes no mesmo comando; a repetição conta como atualização
+            if (rows.containsKey(row.name())) {
+                flush();
+            }
+            rows.put(row.name(), row);
+            if (rows.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            List<ImportRow> pending = new ArrayList<>(rows.values());
+            rows.clear();
+            try {
+                record(transactionTemplate.execute(status -> upsert(pending)));
+            } catch (DataAccessException e) {
+                // Refaz linha a linha para isolar as que o banco recusou
+                for (ImportRow row : pending) {
+                    try {
+                        record(transactionTemplate.execute(status -> upsert(List.of(row))));
+                    } catch (DataAccessException rowError) {
+                        result.addError(row.line(), "Erro ao gravar: " + rowError.getMostSpecificCause().getMessage(),
+                                MAX_REPORTED_ERRORS);
+                    }
+                }
+            }
+            // O JDBC não passa pelo Hibernate: sem isto o cache de segundo nível seguiria com
+            // o estoque antigo, e um pedido gravaria esse valor por cima do importado
+            entityManagerFactory.getCache().evict(Product.class);
+        }
+
+        private void record(int[] counts) {
+            result.setInserted(result.getInserted() + counts[0]);
+            result.setUpdated(result.getUpdated() + counts[1]);
+        }
+    }
+
+    // Devolve {inseridos, atualizados}
+    private int[] upsert(List<ImportRow> rows) {
+        int[] counts = new int[2];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPSERT_SQL);
+            statement.setArray(1, connection.createArrayOf("text", rows.stream().map(ImportRow::name).toArray()));
+            statement.setArray(2, connection.createArrayOf("text", rows.stream().map(ImportRow::description).toArray()));
+            statement.setArray(3, connection.createArrayOf("numeric", rows.stream().map(ImportRow::price).toArray()));
+            statement.setArray(4, connection.createArrayOf("int4", rows.stream().map(ImportRow::stock).toArray()));
+            statement.setArray(5, connection.createArrayOf("bool", rows.stream().map(ImportRow::active).toArray()));
+            return statement;
+        }, rs -> {
+            counts[rs.getBoolean("inserted") ? 0 : 1]++;
+        });
+        return counts;
+    }
+}
@@ -0,0 +1,407 @@
+package com.salesmanagement.service;
+
+import com.salesmanagement.entity.Product;
+import com.salesmanagement.event.ProductCatalogChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória sobre nome e descrição dos produtos ativos.
+ *
+ * Os tokens são normalizados (minúsculas, sem acentos). Cada termo aponta para
+ * um array ordenado de doc ids, trocado por cópia a cada escrita, então as buscas
+ * não usam locks. O último termo da consulta é tratado como prefixo para
+ * autocomplete, e o resultado exige todos os termos, ordenado por relevância.
+ */
+@Service
+public class ProductSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_PENALTY = 0.7f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final String[] NO_TOKENS = new String[0];
+
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
+    private volatile State state = new State();
+
+    // Serializa os escritores; buscas leem o State volátil sem lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild(catalogCache.getSnapshot().activeProducts());
+    }
+
+    @EventListener
+    public void onCatalogChanged(ProductCatalogChangedEvent event) {
+        if (event.isBulk()) {
+            rebuild(catalogCache.getSnapshot().activeProducts());
+            return;
+        }
+        for (Product product : event.getProducts()) {
+            if (Boolean.TRUE.equals(product.getActive())) {
+                index(product);
+            } else {
+                remove(product.getId());
+            }
+        }
+    }
+
+    public void rebuild(Collection<Product> products) {
+        writeLock.lock();
+        try {
+            rebuildLocked(products);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rebuildLocked(Collection<Product> products) {
+        Map<String, IntList> nameBuilder = new HashMap<>();
+        Map<String, IntList> descriptionBuilder = new HashMap<>();
+        State next = new State();
+        next.ensureCapacity(products.size());
+
+        for (Product product : products) {
+            int doc = next.docCount;
+            String[] nameTokens = canonical(tokenize(product.getName()), nameBuilder);
+            String[] descriptionTokens = canonical(tokenize(product.getDescription()), descriptionBuilder);
+            for (String token : nameTokens) {
+                nameBuilder.get(token).add(doc);
+            }
+            for (String token : descriptionTokens) {
+                descriptionBuilder.get(token).add(doc);
+            }
+            next.register(product.getId(), nameTokens, descriptionTokens);
+        }
+
+        nameBuilder.forEach((token, docs) -> next.nameTerms.put(token, docs.toArray()));
+        descriptionBuilder.forEach((token, docs) -> next.descriptionTerms.put(token, docs.toArray()));
+        state = next;
+    }
+
+    public void index(Product product) {
+        writeLock.lock();
+        try {
+            indexLocked(product);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void indexLocked(Product product) {
+        State current = state;
+        Integer existing = current.docByProduct.get(product.getId());
+        String[] nameTokens = tokenize(product.getName());
+        String[] descriptionTokens = tokenize(product.getDescription());
+
+        int doc;
+        if (existing != null) {
+            doc = existing;
+            unlink(current.nameTerms, current.nameTokens.get(doc), doc);
+            unlink(current.descriptionTerms, current.descriptionTokens.get(doc), doc);
+            current.nameTokens.set(doc, nameTokens);
+            current.descriptionTokens.set(doc, descriptionTokens);
+        } else {
+            doc = current.register(product.getId(), nameTokens, descriptionTokens);
+        }
+        link(current.nameTerms, nameTokens, doc);
+        link(current.descriptionTerms, descriptionTokens, doc);
+    }
+
+    public void remove(Long productId) {
+        writeLock.lock();
+        try {
+            removeLocked(productId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void removeLocked(Long productId) {
+        State current = state;
+        Integer doc = current.docByProduct.remove(productId);
+        if (doc == null) {
+            return;
+        }
+        unlink(current.nameTerms, current.nameTokens.get(doc), doc);
+        unlink(current.descriptionTerms, current.descriptionTokens.get(doc), doc);
+        current.nameTokens.set(doc, NO_TOKENS);
+        current.descriptionTokens.set(doc, NO_TOKENS);
+        current.docProductIds[doc] = -1;
+        current.liveDocs--;
+    }
+
+    /**
+     * Busca produtos que contenham todos os termos da consulta, o último como
+     * prefixo. Devolve os ids em ordem decrescente de relevância.
+     */
+    public List<Long> search(String query, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        State current = state;
+
+        Matches result = null;
+        for (int i = 0; i < tokens.length; i++) {
+            Matches matches = match(current, tokens[i], i == tokens.length - 1);
+            result = result == null ? matches : result.intersect(matches);
+            if (result.size == 0) {
+                return List.of();
+            }
+        }
+        return topProducts(current, result, limit);
+    }
+
+    public int size() {
+        return state.liveDocs;
+    }
+
+    // Minúsculas, sem acentos e sem pontuação; tokens repetidos contam uma vez
+    public static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return NO_TOKENS;
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.splitAsStream(folded.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private Matches match(State current, String token, boolean prefix) {
+        List<int[]> postings = new ArrayList<>();
+        List<Float> weights = new ArrayList<>();
+        collect(current, current.nameTerms, token, prefix, NAME_WEIGHT, postings, weights);
+        collect(current, current.descriptionTerms, token, prefix, DESCRIPTION_WEIGHT, postings, weights);
+
+        int total = 0;
+        for (int[] docs : postings) {
+            total += docs.length;
+        }
+
+        // doc id nos 32 bits altos e o peso nos baixos: ordenar o long agrupa por doc
+        long[] packed = new long[total];
+        int n = 0;
+        for (int p = 0; p < postings.size(); p++) {
+            long bits = Float.floatToIntBits(weights.get(p)) & 0xFFFFFFFFL;
+            for (int doc : postings.get(p)) {
+                packed[n++] = ((long) doc << 32) | bits;
+            }
+        }
+        Arrays.sort(packed);
+
+        Matches matches = new Matches(total);
+        for (long entry : packed) {
+            int doc = (int) (entry >>> 32);
+            float weight = Float.intBitsToFloat((int) entry);
+            matches.accumulate(doc, weight);
+        }
+        return matches;
+    }
+
+    private void collect(State current, ConcurrentSkipListMap<String, int[]> terms, String token, boolean prefix,
+                         float fieldWeight, List<int[]> postings, List<Float> weights) {
+        int[] exact = terms.get(token);
+        if (exact != null) {
+            postings.add(exact);
+            weights.add(fieldWeight * idf(current, exact.length));
+        }
+        if (!prefix) {
+            return;
+        }
+        int expansions = 0;
+        for (Map.Entry<String, int[]> entry : terms.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+            if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            postings.add(entry.getValue());
+            weights.add(fieldWeight * PREFIX_PENALTY * idf(current, entry.getValue().length));
+        }
+    }
+
+    private static float idf(State current, int documentFrequency) {
+        return (float) Math.log(1.0 + (double) Math.max(current.liveDocs, 1) / Math.max(documentFrequency, 1));
+    }
+
+    private static List<Long> topProducts(State current, Matches matches, int limit) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, Comparator
+                .comparingDouble((Integer i) -> matches.scores[i])
+                .thenComparing(i -> -matches.docs[i]));
+        for (int i = 0; i < matches.size; i++) {
+            heap.offer(i);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        long[] productIds = current.docProductIds;
+        List<Long> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            long productId = productIds[matches.docs[heap.poll()]];
+            if (productId >= 0) {
+                result.add(productId);
+            }
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // Reaproveita a mesma instância de String usada como chave do termo
+    private static String[] canonical(String[] tokens, Map<String, IntList> builder) {
+        for (int i = 0; i < tokens.length; i++) {
+            IntList docs = builder.computeIfAbsent(tokens[i], IntList::new);
+            tokens[i] = docs.owner;
+        }
+        return tokens;
+    }
+
+    private static void link(ConcurrentSkipListMap<String, int[]> terms, String[] tokens, int doc) {
+        for (String token : tokens) {
+            terms.compute(token, (key, docs) -> insertSorted(docs, doc));
+        }
+    }
+
+    private static void unlink(ConcurrentSkipListMap<String, int[]> terms, String[] tokens, int doc) {
+        for (String token : tokens) {
+            terms.computeIfPresent(token, (key, docs) -> removeSorted(docs, doc));
+        }
+    }
+
+    private static int[] insertSorted(int[] docs, int doc) {
+        if (docs == null) {
+            return new int[]{doc};
+        }
+        int pos = Arrays.binarySearch(docs, doc);
+        if (pos >= 0) {
+            return docs;
+        }
+        int insertAt = -pos - 1;
+        int[] copy = new int[docs.length + 1];
+        System.arraycopy(docs, 0, copy, 0, insertAt);
+        copy[insertAt] = doc;
+        System.arraycopy(docs, insertAt, copy, insertAt + 1, docs.length - insertAt);
+        return copy;
+    }
+
+    private static int[] removeSorted(int[] docs, int doc) {
+        int pos = Arrays.binarySearch(docs, doc);
+        if (pos < 0) {
+            return docs;
+        }
+        if (docs.length == 1) {
+            return null;
+        }
+        int[] copy = new int[docs.length - 1];
+        System.arraycopy(docs, 0, copy, 0, pos);
+        System.arraycopy(docs, pos + 1, copy, pos, docs.length - pos - 1);
+        return copy;
+    }
+
+    // Estado completo do índice; rebuild monta um novo e troca a referência
+    private static final class State {
+        final ConcurrentSkipListMap<String, int[]> nameTerms = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<String, int[]> descriptionTerms = new ConcurrentSkipListMap<>();
+        final Map<Long, Integer> docByProduct = new HashMap<>();
+        final List<String[]> nameTokens = new ArrayList<>();
+        final List<String[]> descriptionTokens = new ArrayList<>();
+        volatile long[] docProductIds = new long[1024];
+        int docCount;
+        volatile int liveDocs;
+
+        void ensureCapacity(int capacity) {
+            if (capacity > docProductIds.length) {
+                docProductIds = Arrays.copyOf(docProductIds, Math.max(capacity, docProductIds.length * 2));
+            }
+        }
+
+        int register(Long productId, String[] names, String[] descriptions) {
+            int doc = docCount;
+            ensureCapacity(doc + 1);
+            docProductIds[doc] = productId;
+            docByProduct.put(productId, doc);
+            nameTokens.add(names);
+            descriptionTokens.add(descriptions);
+            docCount++;
+            liveDocs++;
+            return doc;
+        }
+    }
+
+    // Doc ids ordenados e a pontuação acumulada de cada um
+    private static final class Matches {
+        final int[] docs;
+        final float[] scores;
+        int size;
+
+        Matches(int capacity) {
+            this.docs = new int[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void accumulate(int doc, float weight) {
+            if (size > 0 && docs[size - 1] == doc) {
+                scores[size - 1] += weight;
+            } else {
+                docs[size] = doc;
+                scores[size] = weight;
+                size++;
+            }
+        }
+
+        Matches intersect(Matches other) {
+            Matches result = new Matches(Math.min(size, other.size));
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (docs[i] < other.docs[j]) {
+                    i++;
+                } else if (docs[i] > other.docs[j]) {
+                    j++;
+                } else {
+                    result.docs[result.size] = docs[i];
+                    result.scores[result.size] = scores[i] + other.scores[j];
+                    result.size++;
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class IntList {
+        final String owner;
+        int[] values = new int[4];
+        int size;
+
+        IntList(String owner) {
+            this.owner = owner;
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
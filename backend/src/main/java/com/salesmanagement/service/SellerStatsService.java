@@ -0,0 +1,218 @@
+package com.salesmanagement.service;
+
+import com.salesmanagement.dto.report.SellerDayRow;
+import com.salesmanagement.dto.report.SellerPerformanceRow;
+import com.salesmanagement.entity.OrderStatus;
+import com.salesmanagement.entity.SellerDailyStats;
+import com.salesmanagement.entity.User;
+import com.salesmanagement.event.OrderChangedEvent;
+import com.salesmanagement.metrics.LatencyHistogram;
+import com.salesmanagement.repository.SellerDailyStatsRepository;
+import com.salesmanagement.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Desempenho dos vendedores em baldes diários (seller_daily_stats): aprovações,
+ * rejeições, finalizações, faturamento e histograma do tempo até a aprovação.
+ *
+ * Cada transição de pedido soma no balde do vendedor e do dia, na mesma
+ * transação da transição, com a linha travada (SELECT ... FOR UPDATE). Ler o
+ * relatório custa vendedores x dias, independente do número de pedidos.
+ */
+@Service
+public class SellerStatsService {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO seller_daily_stats (seller_id, stats_day, approvals, rejections, completions, revenue, approval_latency)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    @Autowired
+    private SellerDailyStatsRepository statsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Junta-se à transação da mudança de status; sem transação aberta, roda na sua
+    @EventListener(condition = "#event.sellerId != null")
+    @Transactional
+    public void onOrderChanged(OrderChangedEvent event) {
+        switch (event.getStatus()) {
+            case APROVADO -> {
+                LocalDateTime approvedAt = event.getApprovedAt() != null ? event.getApprovedAt() : event.getChangedAt();
+                update(event.getSellerId(), approvedAt.toLocalDate(), stats -> {
+                    stats.setApprovals(stats.getApprovals() + 1);
+                    LatencyHistogram latency = LatencyHistogram.decode(stats.getApprovalLatency());
+                    latency.record(secondsBetween(event.getCreatedAt(), approvedAt));
+                    stats.setApprovalLatency(latency.encode());
+                });
+            }
+            case REJEITADO -> update(event.getSellerId(), event.getChangedAt().toLocalDate(),
+                    stats -> stats.setRejections(stats.getRejections() + 1));
+            case FINALIZADO -> update(event.getSellerId(), event.getChangedAt().toLocalDate(), stats -> {
+                stats.setCompletions(stats.getCompletions() + 1);
+                stats.setRevenue(stats.getRevenue().add(event.getTotalAmount()));
+            });
+            default -> {
+                // Criação e cancelamento não contam para o vendedor
+            }
+        }
+    }
+
+    // Uma linha por vendedor com atividade no período, com os totais e os dias
+    @Transactional(readOnly = true)
+    public List<SellerPerformanceRow> report(LocalDate from, LocalDate to) {
+        Map<Long, List<SellerDailyStats>> bySeller = new LinkedHashMap<>();
+        for (SellerDailyStats stats : statsRepository.findByDayBetweenOrderBySellerIdAscDayAsc(from, to)) {
+            bySeller.computeIfAbsent(stats.getSellerId(), id -> new ArrayList<>()).add(stats);
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (User seller : userRepository.findAllById(bySeller.keySet())) {
+            names.put(seller.getId(), seller.getName());
+        }
+
+        List<SellerPerformanceRow> rows = new ArrayList<>(bySeller.size());
+        for (Map.Entry<Long, List<SellerDailyStats>> entry : bySeller.entrySet()) {
+            long approvals = 0;
+            long rejections = 0;
+            long completions = 0;
+            BigDecimal revenue = BigDecimal.ZERO;
+            LatencyHistogram latency = new LatencyHistogram();
+            List<SellerDayRow> days = new ArrayList<>(entry.getValue().size());
+            for (SellerDailyStats stats : entry.getValue()) {
+                LatencyHistogram dayLatency = LatencyHistogram.decode(stats.getApprovalLatency());
+                latency.merge(dayLatency);
+                approvals += stats.getApprovals();
+                rejections += stats.getRejections();
+                completions += stats.getCompletions();
+                revenue = revenue.add(stats.getRevenue());
+                days.add(new SellerDayRow(stats.getDay(), stats.getApprovals(), stats.getRejections(),
+                        stats.getCompletions(), stats.getRevenue(), dayLatency.median()));
+            }
+            rows.add(new SellerPerformanceRow(entry.getKey(), names.get(entry.getKey()), approvals, rejections,
+                    completions, revenue, latency.median(), days));
+        }
+        rows.sort(Comparator.comparing(SellerPerformanceRow::revenue).reversed()
+                .thenComparingLong(SellerPerformanceRow::sellerId));
+        return rows;
+    }
+
+    /**
+     * Recalcula todos os baldes a partir da tabela de pedidos (reparo, ou
+     * carga inicial de pedidos anteriores ao relatório). A tabela fica travada
+     * até o fim: transições concorrentes esperam e somam depois da recarga.
+     * Pedidos finalizados antes de existir approved_at entram sem a aprovação.
+     */
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.execute("LOCK TABLE seller_daily_stats IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM seller_daily_stats");
+
+        Map<BucketKey, SellerDailyStats> buckets = new HashMap<>();
+        Map<BucketKey, LatencyHistogram> latencies = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("""
+                    SELECT seller_id, status, total_amount, created_at, approved_at, updated_at
+                    FROM orders
+                    WHERE seller_id IS NOT NULL AND status IN ('APROVADO', 'REJEITADO', 'FINALIZADO')
+                    """);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            long sellerId = rs.getLong("seller_id");
+            OrderStatus status = OrderStatus.valueOf(rs.getString("status"));
+            LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+            LocalDateTime approvedAt = toLocalDateTime(rs.getTimestamp("approved_at"));
+            LocalDateTime updatedAt = toLocalDateTime(rs.getTimestamp("updated_at"));
+            LocalDateTime changedAt = updatedAt != null ? updatedAt : createdAt;
+
+            // Aprovado ainda não finalizado: updated_at é o momento da aprovação
+            if (status == OrderStatus.APROVADO && approvedAt == null) {
+                approvedAt = changedAt;
+            }
+            if (approvedAt != null) {
+                BucketKey key = new BucketKey(sellerId, approvedAt.toLocalDate());
+                SellerDailyStats stats = buckets.computeIfAbsent(key, k -> new SellerDailyStats(k.sellerId(), k.day()));
+                stats.setApprovals(stats.getApprovals() + 1);
+                latencies.computeIfAbsent(key, k -> new LatencyHistogram()).record(secondsBetween(createdAt, approvedAt));
+            }
+            if (status == OrderStatus.REJEITADO || status == OrderStatus.FINALIZADO) {
+                BucketKey key = new BucketKey(sellerId, changedAt.toLocalDate());
+                SellerDailyStats stats = buckets.computeIfAbsent(key, k -> new SellerDailyStats(k.sellerId(), k.day()));
+                if (status == OrderStatus.REJEITADO) {
+                    stats.setRejections(stats.getRejections() + 1);
+                } else {
+                    stats.setCompletions(stats.getCompletions() + 1);
+                    stats.setRevenue(stats.getRevenue().add(rs.getBigDecimal("total_amount")));
+                }
+            }
+        });
+
+        List<SellerDailyStats> rows = new ArrayList<>(buckets.size());
+        for (Map.Entry<BucketKey, SellerDailyStats> entry : buckets.entrySet()) {
+            LatencyHistogram latency = latencies.get(entry.getKey());
+            if (latency != null) {
+                entry.getValue().setApprovalLatency(latency.encode());
+            }
+            rows.add(entry.getValue());
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SellerDailyStats stats = rows.get(i);
+                ps.setLong(1, stats.getSellerId());
+                ps.setDate(2, Date.valueOf(stats.getDay()));
+                ps.setLong(3, stats.getApprovals());
+                ps.setLong(4, stats.getRejections());
+                ps.setLong(5, stats.getCompletions());
+                ps.setBigDecimal(6, stats.getRevenue());
+                ps.setBytes(7, stats.getApprovalLatency());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+        return rows.size();
+    }
+
+    private void update(Long sellerId, LocalDate day, Consumer<SellerDailyStats> change) {
+        statsRepository.ensureExists(sellerId, day);
+        SellerDailyStats stats = statsRepository.findBySellerIdAndDay(sellerId, day)
+                .orElseThrow(() -> new IllegalStateException("Estatística do vendedor não encontrada"));
+        // Gravado pelo dirty checking no commit
+        change.accept(stats);
+    }
+
+    private static long secondsBetween(LocalDateTime from, LocalDateTime to) {
+        return Math.max(0, Duration.between(from, to).getSeconds());
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record BucketKey(long sellerId, LocalDate day) {}
+}
@@ -0,0 +1,30 @@
+package com.salesmanagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.salesmanagement.dto.WireFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+// ObjectMapper de cada formato, para quem serializa por conta própria (catálogo, exportação, importação)
+@Component
+public class WireFormatMappers {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    public ObjectMapper forFormat(WireFormat format) {
+        return switch (format) {
+            case JSON -> objectMapper;
+            case SMILE -> smileConverter.getObjectMapper();
+            case CBOR -> cborConverter.getObjectMapper();
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.salesmanagement.throttling;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência AIMD: cresce uma unidade quando as execuções terminam
+ * abaixo do limiar de latência com o limite em uso, e é multiplicado por
+ * backoffRatio quando uma execução estoura o limiar ou falha. Quem chega com o
+ * limite esgotado espera até maxWait numa fila de no máximo maxWaiters.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final long maxWaitNanos;
+    private final int maxWaiters;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiters;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                             long latencyThresholdNanos, long maxWaitNanos, int maxWaiters) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Configuração inválida do limite de concorrência");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.maxWaiters = maxWaiters;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // true se obteve uma vaga; false se a fila estava cheia ou a espera expirou
+    boolean acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                accepted.increment();
+                return true;
+            }
+            if (waiters >= maxWaiters || maxWaitNanos <= 0) {
+                rejected.increment();
+                return false;
+            }
+
+            waiters++;
+            queued.increment();
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+            } finally {
+                waiters--;
+            }
+            inFlight++;
+            accepted.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (saturated) {
+                // Só cresce quando o limite foi de fato atingido
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            // Um aumento de limite pode liberar mais de uma vaga
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long getAccepted() { return accepted.sum(); }
+
+    long getQueued() { return queued.sum(); }
+
+    long getRejected() { return rejected.sum(); }
+}
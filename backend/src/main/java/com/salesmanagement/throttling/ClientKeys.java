@@ -0,0 +1,33 @@
+package com.salesmanagement.throttling;
+
+import com.salesmanagement.security.JwtPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+
+// Identifica o cliente: o usuário do JWT quando houver, senão o IP de origem
+public final class ClientKeys {
+
+    private ClientKeys() {
+    }
+
+    public static String resolve(HttpServletRequest request, boolean trustForwardedFor) {
+        if (request.getUserPrincipal() instanceof JwtPrincipal principal && principal.getUserId() != null) {
+            return "user:" + principal.getUserId();
+        }
+        return "ip:" + clientIp(request, trustForwardedFor);
+    }
+
+    // Com proxy confiável, vale o último salto do X-Forwarded-For: o que o proxy anexou.
+    // Os anteriores vêm do cliente, que os escolhe à vontade.
+    public static String clientIp(HttpServletRequest request, boolean trustForwardedFor) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                String last = forwarded.substring(forwarded.lastIndexOf(',') + 1).trim();
+                if (!last.isEmpty()) {
+                    return last;
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
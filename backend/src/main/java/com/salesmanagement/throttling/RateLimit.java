@@ -0,0 +1,19 @@
+package com.salesmanagement.throttling;
+
+// Taxa sustentada por segundo e tamanho da rajada aceita com o bucket cheio
+record RateLimit(double permitsPerSecond, int burst) {
+
+    RateLimit {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Limite inválido: " + permitsPerSecond + "/s, rajada " + burst);
+        }
+    }
+
+    long emissionIntervalNanos() {
+        return (long) (1_000_000_000L / permitsPerSecond);
+    }
+
+    long burstToleranceNanos() {
+        return emissionIntervalNanos() * burst;
+    }
+}
@@ -0,0 +1,117 @@
+package com.salesmanagement.throttling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limiting por cliente (usuário do JWT ou IP) e por grupo de rotas.
+ *
+ * Roda como interceptor, depois do JwtAuthenticationFilter e do tratamento de
+ * CORS, para que o 429 chegue ao navegador com os headers de CORS. Buckets
+ * ociosos são descartados periodicamente; como um bucket ocioso está cheio, o
+ * descarte não altera nenhuma decisão.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.trust-forwarded-for:false}")
+    private boolean trustForwardedFor;
+
+    @Value("${app.rate-limit.reports.per-second:2}")
+    private double reportsPerSecond;
+
+    @Value("${app.rate-limit.reports.burst:10}")
+    private int reportsBurst;
+
+    @Value("${app.rate-limit.order-writes.per-second:5}")
+    private double orderWritesPerSecond;
+
+    @Value("${app.rate-limit.order-writes.burst:20}")
+    private int orderWritesBurst;
+
+    @Value("${app.rate-limit.catalog-reads.per-second:50}")
+    private double catalogReadsPerSecond;
+
+    @Value("${app.rate-limit.catalog-reads.burst:100}")
+    private int catalogReadsBurst;
+
+    private final Map<RouteGroup, RateLimit> limits = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, LongAdder> allowed = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, LongAdder> shed = new EnumMap<>(RouteGroup.class);
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        limits.put(RouteGroup.REPORTS, new RateLimit(reportsPerSecond, reportsBurst));
+        limits.put(RouteGroup.ORDER_WRITES, new RateLimit(orderWritesPerSecond, orderWritesBurst));
+        limits.put(RouteGroup.CATALOG_READS, new RateLimit(catalogReadsPerSecond, catalogReadsBurst));
+        for (RouteGroup group : RouteGroup.values()) {
+            allowed.put(group, new LongAdder());
+            shed.put(group, new LongAdder());
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!enabled || "OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+        RouteGroup group = RouteGroup.of(request);
+        if (group == null) {
+            return true;
+        }
+
+        String key = group.name() + '|' + ClientKeys.resolve(request, trustForwardedFor);
+        long now = System.nanoTime();
+        long waitNanos = buckets.computeIfAbsent(key, k -> new TokenBucket(now)).tryAcquire(now, limits.get(group));
+        if (waitNanos == 0) {
+            allowed.get(group).increment();
+            return true;
+        }
+
+        shed.get(group).increment();
+        ThrottlingResponses.reject(response, objectMapper, HttpStatus.TOO_MANY_REQUESTS.value(),
+                TokenBucket.retryAfterSeconds(waitNanos),
+                "Muitas requisições, tente novamente em instantes");
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-purge-interval:PT30S}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (RouteGroup group : RouteGroup.values()) {
+            Map<String, Long> counters = new LinkedHashMap<>();
+            counters.put("allowed", allowed.get(group).sum());
+            counters.put("shed", shed.get(group).sum());
+            stats.put(group.name(), counters);
+        }
+        stats.put("activeBuckets", buckets.size());
+        return stats;
+    }
+}
@@ -0,0 +1,99 @@
+package com.salesmanagement.throttling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limite adaptativo de concorrência para /api/reports/**.
+ *
+ * Os relatórios varrem tabelas inteiras; sem limite, uma rajada deles ocupa o
+ * pool JDBC e atrasa a criação de pedidos. O máximo padrão fica abaixo do
+ * tamanho do pool do Hikari (10) para sempre sobrar conexão para o resto da API.
+ * Excedentes esperam um pouco e depois recebem 503 com Retry-After.
+ */
+@Component
+public class ReportConcurrencyInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ReportConcurrencyInterceptor.class.getName() + ".start";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.report-limiter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.report-limiter.initial-limit:4}")
+    private int initialLimit;
+
+    @Value("${app.report-limiter.min-limit:1}")
+    private int minLimit;
+
+    @Value("${app.report-limiter.max-limit:6}")
+    private int maxLimit;
+
+    @Value("${app.report-limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${app.report-limiter.latency-threshold:PT2S}")
+    private Duration latencyThreshold;
+
+    @Value("${app.report-limiter.max-wait:PT0.5S}")
+    private Duration maxWait;
+
+    @Value("${app.report-limiter.max-waiters:20}")
+    private int maxWaiters;
+
+    private AdaptiveConcurrencyLimit limit;
+
+    @PostConstruct
+    void init() {
+        limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, backoffRatio,
+                latencyThreshold.toNanos(), maxWait.toNanos(), maxWaiters);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!enabled || "OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+        if (!limit.acquire()) {
+            ThrottlingResponses.reject(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE.value(), 1,
+                    "Relatórios temporariamente sobrecarregados, tente novamente em instantes");
+            return false;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        boolean failed = ex != null || response.getStatus() >= 500;
+        limit.release(System.nanoTime() - (Long) start, failed);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("limit", limit.getLimit());
+        stats.put("inFlight", limit.getInFlight());
+        stats.put("accepted", limit.getAccepted());
+        stats.put("queued", limit.getQueued());
+        stats.put("rejected", limit.getRejected());
+        return stats;
+    }
+}
@@ -0,0 +1,39 @@
+package com.salesmanagement.throttling;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Grupos de rotas com limites próprios; o resto da API não é limitado
+public enum RouteGroup {
+
+    REPORTS,
+    ORDER_WRITES,
+    CATALOG_READS;
+
+    public static RouteGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (path.startsWith("/api/reports/")) {
+            // Vendas ao vivo saem da memória e são consultadas a cada segundo
+            return path.equals("/api/reports/live-sales") ? null : REPORTS;
+        }
+        if (path.startsWith("/api/orders")) {
+            if (!"GET".equals(method) || isOrderWriteViaGet(path)) {
+                return ORDER_WRITES;
+            }
+            return null;
+        }
+        if (path.startsWith("/api/products") && "GET".equals(method) && !path.contains("/create-")) {
+            return CATALOG_READS;
+        }
+        return null;
+    }
+
+    // approve/reject/complete e os create-* alteram dados mesmo sendo GET
+    private static boolean isOrderWriteViaGet(String path) {
+        return path.contains("/approve/")
+                || path.contains("/reject/")
+                || path.endsWith("/complete")
+                || path.contains("/create-");
+    }
+}
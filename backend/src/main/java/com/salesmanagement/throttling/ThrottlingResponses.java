@@ -0,0 +1,30 @@
+package com.salesmanagement.throttling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Resposta de recusa no mesmo formato de erro dos controllers
+final class ThrottlingResponses {
+
+    private ThrottlingResponses() {
+    }
+
+    static void reject(HttpServletResponse response, ObjectMapper objectMapper, int status,
+                       long retryAfterSeconds, String message) throws IOException {
+        Map<String, String> error = new HashMap<>();
+        error.put("error", message);
+        error.put("success", "false");
+
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,49 @@
+package com.salesmanagement.throttling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock no formato GCRA: guarda apenas o instante teórico de
+ * chegada (TAT) da próxima requisição. Cada requisição aceita empurra o TAT em
+ * um intervalo de emissão; a requisição é recusada quando o TAT passaria do
+ * instante atual mais a tolerância de rajada.
+ */
+final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Devolve 0 se a requisição foi aceita ou, se recusada, quantos nanossegundos
+     * faltam para haver uma ficha disponível.
+     */
+    long tryAcquire(long now, RateLimit limit) {
+        long interval = limit.emissionIntervalNanos();
+        long tolerance = limit.burstToleranceNanos();
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + interval;
+            long excess = next - now - tolerance;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Retry-After em segundos inteiros, arredondando a espera para cima
+    static long retryAfterSeconds(long waitNanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1);
+    }
+
+    // Com o TAT no passado o bucket está cheio: descartá-lo não muda nenhuma decisão
+    boolean isIdle(long now) {
+        return theoreticalArrival.get() <= now;
+    }
+}
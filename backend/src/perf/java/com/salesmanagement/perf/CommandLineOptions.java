@@ -0,0 +1,27 @@
+package com.salesmanagement.perf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Opções no formato --nome=valor; --flag sem valor vale "true"
+final class CommandLineOptions {
+
+    private CommandLineOptions() {
+    }
+
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+}
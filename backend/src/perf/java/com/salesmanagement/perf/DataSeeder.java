@@ -0,0 +1,339 @@
+package com.salesmanagement.perf;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Popula o banco com volume de produção usando COPY. Via Gradle:
+ *
+ *   ./gradlew seedData -PseedArgs="--orders=10000000 --truncate"
+ *
+ * O esquema precisa existir (suba a aplicação uma vez com ddl-auto=update). A
+ * conexão vem de SPRING_DATASOURCE_URL/USERNAME/PASSWORD ou das opções
+ * --jdbc-url, --user e --password. Demais opções, com os padrões:
+ *
+ *   --orders=1000000       pedidos (os itens ficam entre 1 e 8 por pedido)
+ *   --customers=           clientes (padrão: pedidos / 8)
+ *   --sellers=             vendedores (padrão: clientes / 500, mínimo 5)
+ *   --products=5000        produtos
+ *   --years=3              período coberto pelos pedidos
+ *   --as-of=               data final dos pedidos (padrão: hoje); fixe para reproduzir byte a byte
+ *   --seed=42              semente; mesma semente e opções geram os mesmos dados
+ *   --threads=             conexões em paralelo (padrão: núcleos disponíveis)
+ *   --chunk-size=50000     pedidos por transação
+ *   --truncate             apaga os dados existentes antes de carregar
+ *   --keep-constraints     não remove as FKs durante a carga
+ *
+ * Todos os usuários têm a senha 123456 (hash bcrypt), como os de demonstração.
+ */
+public final class DataSeeder {
+
+    private static final String PASSWORD = "123456";
+    private static final String[] PRODUCT_TYPES = {"Notebook", "Mouse", "Teclado", "Monitor", "Headset", "Webcam",
+            "Cabo USB", "Hub", "SSD", "Mousepad", "Cadeira", "Impressora", "Roteador", "Smartphone", "Tablet"};
+    private static final String[] BRANDS = {"Dell", "Logitech", "Samsung", "Lenovo", "Asus", "Acer", "Positivo",
+            "Multilaser", "Redragon", "Intelbras", "LG", "HP"};
+    private static final String[] ADJECTIVES = {"Gamer", "Sem Fio", "Mecânico", "Ergonômico", "Portátil",
+            "Profissional", "Compacto", "Silencioso", "RGB", "Ultrafino"};
+    private static final String[] FIRST_NAMES = {"Maria", "João", "Ana", "Pedro", "Carla", "Lucas", "Juliana",
+            "Rafael", "Fernanda", "Bruno", "Camila", "Gabriel", "Larissa", "Mateus", "Beatriz", "Felipe"};
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira",
+            "Costa", "Rodrigues", "Almeida", "Nascimento", "Carvalho", "Gomes", "Ribeiro", "Martins"};
+
+    private static final String[] TABLES = {"users", "products", "orders", "order_items"};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = CommandLineOptions.parse(args);
+
+        long orders = Long.parseLong(options.getOrDefault("orders", "1000000"));
+        int customers = Integer.parseInt(options.getOrDefault("customers", Long.toString(Math.max(10, orders / 8))));
+        int sellers = Integer.parseInt(options.getOrDefault("sellers", Integer.toString(Math.max(5, customers / 500))));
+        SeedPlan plan = new SeedPlan(
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                orders,
+                customers,
+                sellers,
+                3,
+                Integer.parseInt(options.getOrDefault("products", "5000")),
+                Integer.parseInt(options.getOrDefault("chunk-size", "50000")),
+                Integer.parseInt(options.getOrDefault("years", "3")),
+                options.containsKey("as-of")
+                        ? LocalDate.parse(options.get("as-of")).atStartOfDay()
+                        : LocalDate.now().atStartOfDay());
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                Integer.toString(Runtime.getRuntime().availableProcessors())));
+
+        String url = options.getOrDefault("jdbc-url", env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/salesdb"));
+        String user = options.getOrDefault("user", env("SPRING_DATASOURCE_USERNAME", "postgres"));
+        String password = options.getOrDefault("password", env("SPRING_DATASOURCE_PASSWORD", "postgres"));
+
+        new DataSeeder(plan, url, user, password, threads)
+                .run(options.containsKey("truncate"), !options.containsKey("keep-constraints"));
+    }
+
+    private final SeedPlan plan;
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int threads;
+
+    private DataSeeder(SeedPlan plan, String url, String user, String password, int threads) {
+        this.plan = plan;
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.threads = threads;
+    }
+
+    private void run(boolean truncate, boolean dropConstraints) throws Exception {
+        long started = System.nanoTime();
+        List<String> droppedConstraints = new ArrayList<>();
+
+        try (Connection connection = connect()) {
+            prepare(connection, truncate);
+            if (dropConstraints) {
+                droppedConstraints = dropForeignKeys(connection);
+            }
+        }
+
+        boolean loaded = false;
+        try {
+            System.out.printf("Carregando %d usuários e %d produtos...%n",
+                    plan.admins() + plan.sellers() + plan.customers(), plan.products());
+            BigDecimal[] prices;
+            try (Connection connection = connect()) {
+                copy(connection, "users (id, name, email, password, role)", new StringReader(users().toString()));
+                StringBuilder products = new StringBuilder(plan.products() * 96);
+                prices = products(products);
+                copy(connection, "products (id, name, description, price, stock, active)", new StringReader(products.toString()));
+                connection.commit();
+            }
+
+            System.out.printf("Carregando %d pedidos em %d blocos com %d conexões...%n",
+                    plan.orders(), plan.chunkCount(), threads);
+            loadOrders(new OrderChunkGenerator(plan, prices));
+            loaded = true;
+        } finally {
+            // Também quando a carga falha: os blocos já gravados são consistentes entre si
+            if (!droppedConstraints.isEmpty()) {
+                restoreForeignKeys(droppedConstraints, loaded);
+            }
+        }
+
+        try (Connection connection = connect()) {
+            restartSequences(connection);
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE users, products, orders, order_items");
+            }
+        }
+        System.out.printf("Concluído em %.1fs%n", (System.nanoTime() - started) / 1e9);
+    }
+
+    private void prepare(Connection connection, boolean truncate) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                try (ResultSet rs = statement.executeQuery("SELECT to_regclass('public." + table + "') IS NOT NULL")) {
+                    rs.next();
+                    if (!rs.getBoolean(1)) {
+                        throw new IllegalStateException("Tabela " + table + " não existe: suba a aplicação uma vez para criar o esquema");
+                    }
+                }
+            }
+            if (truncate) {
+                statement.execute("TRUNCATE users, products, orders, order_items, idempotency_requests, seller_daily_stats, distinct_customer_sketches RESTART IDENTITY CASCADE");
+            } else {
+                try (ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM users) OR EXISTS (SELECT 1 FROM orders)")) {
+                    rs.next();
+                    if (rs.getBoolean(1)) {
+                        throw new IllegalStateException("O banco já tem dados; use --truncate para substituí-los");
+                    }
+                }
+            }
+        }
+        connection.commit();
+    }
+
+    // FKs checadas linha a linha dominam o tempo do COPY; são recriadas (e validadas) no final
+    private List<String> dropForeignKeys(Connection connection) throws SQLException {
+        List<String> drops = new ArrayList<>();
+        List<String> restores = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                     SELECT conrelid::regclass::text, quote_ident(conname), pg_get_constraintdef(oid)
+                     FROM pg_constraint
+                     WHERE contype = 'f' AND conrelid IN ('orders'::regclass, 'order_items'::regclass)
+                     """)) {
+            while (rs.next()) {
+                drops.add("ALTER TABLE " + rs.getString(1) + " DROP CONSTRAINT " + rs.getString(2));
+                restores.add("ALTER TABLE " + rs.getString(1) + " ADD CONSTRAINT " + rs.getString(2) + " " + rs.getString(3));
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : drops) {
+                statement.execute(sql);
+            }
+        }
+        connection.commit();
+        return restores;
+    }
+
+    // Se a recriação falhar, imprime o DDL para rodar à mão; depois de uma carga que já falhou,
+    // não mascara o erro original
+    private void restoreForeignKeys(List<String> statements, boolean loaded) throws SQLException {
+        System.out.println("Recriando chaves estrangeiras...");
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Não foi possível recriar as chaves estrangeiras (" + e.getMessage() + "). Rode:");
+            for (String sql : statements) {
+                System.err.println("  " + sql + ";");
+            }
+            if (loaded) {
+                throw e;
+            }
+        }
+    }
+
+    private static void restartSequences(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                        + "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + table + "), false)");
+            }
+        }
+    }
+
+    private void loadOrders(OrderChunkGenerator generator) throws Exception {
+        AtomicInteger nextChunk = new AtomicInteger();
+        AtomicLong loadedOrders = new AtomicLong();
+        AtomicLong loadedItems = new AtomicLong();
+        long started = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    try (Connection connection = connect()) {
+                        int chunkIndex;
+                        while ((chunkIndex = nextChunk.getAndIncrement()) < plan.chunkCount()) {
+                            OrderChunkGenerator.Chunk chunk = generator.generate(chunkIndex);
+                            copy(connection, "orders (id, customer_id, seller_id, status, total_amount, created_at, updated_at, approved_at, notes)",
+                                    new StringReader(chunk.orders().toString()));
+                            copy(connection, "order_items (id, order_id, product_id, quantity, unit_price, subtotal)",
+                                    new StringReader(chunk.items().toString()));
+                            connection.commit();
+                            long done = loadedOrders.addAndGet(chunk.orderCount());
+                            loadedItems.addAndGet(chunk.itemCount());
+                            double seconds = (System.nanoTime() - started) / 1e9;
+                            System.out.printf("  %,d / %,d pedidos (%,d itens) - %,.0f pedidos/s%n",
+                                    done, plan.orders(), loadedItems.get(), done / seconds);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private StringBuilder users() {
+        SplittableRandom random = new SplittableRandom(plan.seed());
+        String hash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+        StringBuilder rows = new StringBuilder((plan.admins() + plan.sellers() + plan.customers()) * 110);
+        for (int i = 0; i < plan.admins(); i++) {
+            appendUser(rows, plan.firstAdminId() + i, randomName(random), "admin" + (i + 1) + "@seed.local", hash, "ADMIN");
+        }
+        for (int i = 0; i < plan.sellers(); i++) {
+            appendUser(rows, plan.firstSellerId() + i, randomName(random), "vendedor" + (i + 1) + "@seed.local", hash, "VENDEDOR");
+        }
+        for (int i = 0; i < plan.customers(); i++) {
+            appendUser(rows, plan.firstCustomerId() + i, randomName(random), "cliente" + (i + 1) + "@seed.local", hash, "CLIENTE");
+        }
+        return rows;
+    }
+
+    private static void appendUser(StringBuilder rows, long id, String name, String email, String hash, String role) {
+        rows.append(id).append(',').append(name).append(',').append(email).append(',')
+                .append(hash).append(',').append(role).append('\n');
+    }
+
+    // Preços log-normais (muitos acessórios baratos, poucos itens caros); devolve o preço por índice
+    private BigDecimal[] products(StringBuilder rows) {
+        SplittableRandom random = new SplittableRandom(plan.seed() + 1);
+        BigDecimal[] prices = new BigDecimal[plan.products()];
+        for (int i = 0; i < plan.products(); i++) {
+            double price = Math.exp(4.5 + random.nextGaussian() * 1.2);
+            prices[i] = BigDecimal.valueOf(Math.min(20_000, Math.max(4.9, price))).setScale(2, RoundingMode.HALF_UP);
+            int stockRoll = random.nextInt(100);
+            int stock = stockRoll < 5 ? 0 : stockRoll < 15 ? 1 + random.nextInt(4) : 5 + random.nextInt(500);
+            boolean active = random.nextInt(100) >= 3;
+            String name = pick(random, PRODUCT_TYPES) + " " + pick(random, BRANDS) + " " + pick(random, ADJECTIVES) + " " + (i + 1);
+            rows.append(i + 1).append(',')
+                    .append(name).append(',')
+                    .append("Produto de linha ").append(pick(random, BRANDS)).append(" com garantia de ")
+                    .append(1 + random.nextInt(3)).append(" anos").append(',')
+                    .append(prices[i].toPlainString()).append(',')
+                    .append(stock).append(',')
+                    .append(active).append('\n');
+        }
+        return prices;
+    }
+
+    private static String randomName(SplittableRandom random) {
+        return pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private Connection connect() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, user, password);
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static void copy(Connection connection, String target, Reader csv) throws SQLException, IOException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        copyManager.copyIn("COPY " + target + " FROM STDIN WITH (FORMAT csv)", csv, 1 << 16);
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
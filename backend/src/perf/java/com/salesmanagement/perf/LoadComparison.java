@@ -0,0 +1,122 @@
+package com.salesmanagement.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara duas rodadas do teste de carga a partir dos summary.json: vazão de
+ * respostas 2xx, p50/p99 do tempo de resposta e falhas (5xx, E/S e shed) por
+ * operação. Usado pelo loadTestCompare (plataforma x virtual threads), mas
+ * serve para quaisquer duas rodadas:
+ *
+ *   java ... com.salesmanagement.perf.LoadComparison base/summary.json novo/summary.json
+ */
+final class LoadComparison {
+
+    private final String baselineLabel;
+    private final String candidateLabel;
+    private final JsonNode baseline;
+    private final JsonNode candidate;
+
+    private LoadComparison(String baselineLabel, JsonNode baseline, String candidateLabel, JsonNode candidate) {
+        this.baselineLabel = baselineLabel;
+        this.baseline = baseline;
+        this.candidateLabel = candidateLabel;
+        this.candidate = candidate;
+    }
+
+    static LoadComparison of(Path baselineSummary, Path candidateSummary) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode baseline = objectMapper.readTree(baselineSummary.toFile());
+        JsonNode candidate = objectMapper.readTree(candidateSummary.toFile());
+        return new LoadComparison(label(baseline, baselineSummary), baseline, label(candidate, candidateSummary), candidate);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Uso: LoadComparison <base/summary.json> <novo/summary.json>");
+        }
+        Path baseline = Path.of(args[0]);
+        of(baseline, Path.of(args[1])).write(baseline.toAbsolutePath().getParent(), System.out);
+    }
+
+    void write(Path directory, PrintStream console) throws IOException {
+        String table = table();
+        console.print(table);
+        Files.writeString(directory.resolve("comparison.txt"), table, StandardCharsets.UTF_8);
+        console.println("Comparação em " + directory.resolve("comparison.txt").toAbsolutePath());
+    }
+
+    private String table() {
+        Map<String, JsonNode> base = byOperation(baseline);
+        Map<String, JsonNode> next = byOperation(candidate);
+        double baseSeconds = baseline.path("durationSeconds").asDouble(1);
+        double nextSeconds = candidate.path("durationSeconds").asDouble(1);
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%n%s  x  %s (2xx/s, tempo de resposta em ms, falhas = 5xx + E/S + shed)%n",
+                baselineLabel, candidateLabel));
+        out.append(String.format("%-42s %9s %9s %7s %9s %9s %9s %9s %8s %8s%n",
+                "operação", "2xx/s A", "2xx/s B", "Δ", "p50 A", "p50 B", "p99 A", "p99 B", "falhas A", "falhas B"));
+
+        double baseOk = 0;
+        double nextOk = 0;
+        for (Map.Entry<String, JsonNode> entry : base.entrySet()) {
+            JsonNode a = entry.getValue();
+            JsonNode b = next.get(entry.getKey());
+            if (b == null) {
+                continue;
+            }
+            double okA = a.path("ok").asDouble() / baseSeconds;
+            double okB = b.path("ok").asDouble() / nextSeconds;
+            baseOk += okA;
+            nextOk += okB;
+            out.append(String.format("%-42s %9.1f %9.1f %7s %9.1f %9.1f %9.1f %9.1f %8d %8d%n",
+                    a.path("endpoint").asText(entry.getKey()), okA, okB, change(okA, okB),
+                    a.path("responseTimeMs").path("p50").asDouble(), b.path("responseTimeMs").path("p50").asDouble(),
+                    a.path("responseTimeMs").path("p99").asDouble(), b.path("responseTimeMs").path("p99").asDouble(),
+                    failures(a), failures(b)));
+        }
+        out.append(String.format("%-42s %9.1f %9.1f %7s%n", "TOTAL", baseOk, nextOk, change(baseOk, nextOk)));
+        out.append(String.format("descartadas pelo gerador: A=%d B=%d%n",
+                baseline.path("dropped").asLong(), candidate.path("dropped").asLong()));
+        return out.toString();
+    }
+
+    private static Map<String, JsonNode> byOperation(JsonNode summary) {
+        Map<String, JsonNode> operations = new LinkedHashMap<>();
+        for (JsonNode operation : summary.path("operations")) {
+            operations.put(operation.path("operation").asText(), operation);
+        }
+        return operations;
+    }
+
+    private static long failures(JsonNode operation) {
+        return operation.path("serverErrors").asLong() + operation.path("ioFailures").asLong() + operation.path("shed").asLong();
+    }
+
+    private static String change(double before, double after) {
+        if (before == 0) {
+            return after == 0 ? "0%" : "novo";
+        }
+        return String.format("%+.0f%%", (after - before) * 100 / before);
+    }
+
+    // Rótulo da rodada: o modo de threads, se registrado, ou o diretório do relatório
+    private static String label(JsonNode summary, Path path) {
+        String threads = summary.path("settings").path("threads").asText("");
+        if (!threads.isEmpty() && !threads.equals("default")) {
+            return threads;
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        return parent != null ? parent.getFileName().toString() : path.toString();
+    }
+}
@@ -0,0 +1,163 @@
+package com.salesmanagement.perf;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga em modelo aberto: as requisições saem numa taxa fixa de
+ * chegada, independente de quantas ainda estão em andamento, cada uma numa
+ * virtual thread. Se o sistema fica lento a fila cresce, como aconteceria com
+ * usuários reais, em vez de o gerador desacelerar junto.
+ */
+final class LoadGenerator {
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final HttpClient client;
+    private final WorkloadState state;
+    private final WorkloadMix mix;
+    private final double ratePerSecond;
+    private final boolean poisson;
+    private final SplittableRandom random;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    final LongAdder dropped = new LongAdder();
+
+    LoadGenerator(HttpClient client, WorkloadState state, WorkloadMix mix, double ratePerSecond,
+                  boolean poisson, long seed, int maxInFlight) {
+        this.client = client;
+        this.state = state;
+        this.mix = mix;
+        this.ratePerSecond = ratePerSecond;
+        this.poisson = poisson;
+        this.random = new SplittableRandom(seed);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        for (Operation operation : mix.weights().keySet()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    Map<Operation, OperationStats> run(Duration warmup, Duration duration, Duration drainTimeout, PrintStream progress)
+            throws InterruptedException {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long nextProgress = start + PROGRESS_INTERVAL_NANOS;
+        double next = start;
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            while (next < end) {
+                long intended = (long) next;
+                long now = System.nanoTime();
+                while (now < intended) {
+                    LockSupport.parkNanos(intended - now);
+                    now = System.nanoTime();
+                }
+                if (now >= nextProgress) {
+                    printProgress(progress, now - start, now < measureFrom);
+                    nextProgress += PROGRESS_INTERVAL_NANOS;
+                }
+
+                // O próximo instante depende só do relógio programado, nunca das respostas
+                next += poisson ? -Math.log(1 - random.nextDouble()) * intervalNanos : intervalNanos;
+
+                Operation operation = mix.next(random);
+                OperationStats operationStats = stats.get(operation);
+                HttpRequest request = operation.request(state, random);
+                boolean measured = intended >= measureFrom;
+                if (request == null) {
+                    if (measured) {
+                        operationStats.skipped.increment();
+                    }
+                    continue;
+                }
+                if (!inFlight.tryAcquire()) {
+                    // Limite de segurança do gerador: a rodada deixa de ser confiável
+                    if (measured) {
+                        dropped.increment();
+                    }
+                    continue;
+                }
+                executor.execute(() -> execute(operation, operationStats, request, intended, measured));
+            }
+        } finally {
+            executor.shutdown();
+            if (!executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+
+        for (OperationStats operationStats : stats.values()) {
+            operationStats.drainInterval(true);
+        }
+        return stats;
+    }
+
+    private void execute(Operation operation, OperationStats operationStats, HttpRequest request,
+                         long intended, boolean measured) {
+        long sent = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            long finished = System.nanoTime();
+            if (measured) {
+                operationStats.record(intended, sent, finished, response.statusCode());
+            }
+            if (response.statusCode() / 100 == 2) {
+                state.onSuccess(operation, response.body());
+            }
+        } catch (IOException e) {
+            if (measured) {
+                operationStats.recordFailure(intended, sent, System.nanoTime());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void printProgress(PrintStream progress, long elapsedNanos, boolean warmingUp) {
+        if (warmingUp) {
+            // No aquecimento nada é registrado
+            progress.printf("[%4ds] aquecimento, em andamento=%d%n",
+                    TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), inFlightCount());
+            return;
+        }
+        Histogram interval = new Histogram(OperationStats.HIGHEST_TRACKABLE_MICROS, 3);
+        for (OperationStats operationStats : stats.values()) {
+            interval.add(operationStats.drainInterval(true));
+        }
+        progress.printf("[%4ds] concluídas=%d p50=%.1fms p99=%.1fms max=%.1fms em andamento=%d fila approve=%d%n",
+                TimeUnit.NANOSECONDS.toSeconds(elapsedNanos),
+                interval.getTotalCount(),
+                interval.getValueAtPercentile(50) / 1000.0,
+                interval.getValueAtPercentile(99) / 1000.0,
+                interval.getMaxValue() / 1000.0,
+                inFlightCount(),
+                state.pendingOrders.size());
+    }
+
+    private int inFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+}
@@ -0,0 +1,126 @@
+package com.salesmanagement.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório da rodada: tabela no console e em summary.txt, summary.json para
+ * comparar rodadas e um .hgrm por operação (distribuição completa de
+ * percentis, no formato do plotter do HdrHistogram). Latências em ms.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Object> settings;
+    private final Map<Operation, OperationStats> stats;
+    private final Duration duration;
+    private final long dropped;
+
+    LoadReport(Map<String, Object> settings, Map<Operation, OperationStats> stats, Duration duration, long dropped) {
+        this.settings = settings;
+        this.stats = stats;
+        this.duration = duration;
+        this.dropped = dropped;
+    }
+
+    void write(Path directory, PrintStream console) throws IOException {
+        Files.createDirectories(directory);
+        String table = table();
+        console.print(table);
+        Files.writeString(directory.resolve("summary.txt"), table, StandardCharsets.UTF_8);
+
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), toJson());
+
+        for (OperationStats operationStats : stats.values()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(operationStats.operation.key + ".hgrm")), false, StandardCharsets.UTF_8)) {
+                // Valores gravados em µs; o fator 1000 gera o arquivo em ms
+                operationStats.responseTime.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        console.println("Relatório em " + directory.toAbsolutePath());
+    }
+
+    private String table() {
+        StringBuilder out = new StringBuilder();
+        double seconds = duration.toMillis() / 1000.0;
+        out.append(String.format("%n%-42s %8s %8s %6s %6s %6s %9s %9s %9s %9s %9s %9s%n",
+                "operação (tempo de resposta)", "total", "req/s", "4xx", "shed", "5xx/io",
+                "p50", "p90", "p99", "p99.9", "max", "svc p99"));
+        Histogram all = new Histogram(OperationStats.HIGHEST_TRACKABLE_MICROS, 3);
+        long total = 0;
+        for (OperationStats s : stats.values()) {
+            all.add(s.responseTime);
+            total += s.total();
+            out.append(String.format("%-42s %8d %8.1f %6d %6d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    s.operation.label, s.total(), s.total() / seconds,
+                    s.clientErrors.sum(), s.rateLimited.sum(), s.serverErrors.sum() + s.failures.sum(),
+                    ms(s.responseTime, 50), ms(s.responseTime, 90), ms(s.responseTime, 99), ms(s.responseTime, 99.9),
+                    s.responseTime.getMaxValue() / 1000.0, ms(s.serviceTime, 99)));
+        }
+        out.append(String.format("%-42s %8d %8.1f %6s %6s %6s %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                "TOTAL", total, total / seconds, "", "", "",
+                ms(all, 50), ms(all, 90), ms(all, 99), ms(all, 99.9), all.getMaxValue() / 1000.0));
+        if (dropped > 0) {
+            out.append(String.format("ATENÇÃO: %d requisições descartadas pelo limite de requisições em andamento do gerador;"
+                    + " a taxa pedida não foi sustentada.%n", dropped));
+        }
+        return out.toString();
+    }
+
+    private Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("finishedAt", Instant.now().toString());
+        json.put("settings", settings);
+        json.put("durationSeconds", duration.toSeconds());
+        json.put("dropped", dropped);
+        List<Map<String, Object>> operations = new ArrayList<>();
+        for (OperationStats s : stats.values()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("operation", s.operation.key);
+            entry.put("endpoint", s.operation.label);
+            entry.put("total", s.total());
+            entry.put("ok", s.ok.sum());
+            entry.put("clientErrors", s.clientErrors.sum());
+            entry.put("shed", s.rateLimited.sum());
+            entry.put("serverErrors", s.serverErrors.sum());
+            entry.put("ioFailures", s.failures.sum());
+            entry.put("skipped", s.skipped.sum());
+            entry.put("responseTimeMs", percentiles(s.responseTime));
+            entry.put("serviceTimeMs", percentiles(s.serviceTime));
+            operations.add(entry);
+        }
+        json.put("operations", operations);
+        return json;
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            values.put("p" + (percentile == Math.rint(percentile) ? Integer.toString((int) percentile) : Double.toString(percentile)),
+                    ms(histogram, percentile));
+        }
+        values.put("max", histogram.getMaxValue() / 1000.0);
+        values.put("mean", histogram.getMean() / 1000.0);
+        return values;
+    }
+
+    private static double ms(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
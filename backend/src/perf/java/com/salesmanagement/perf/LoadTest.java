@@ -0,0 +1,141 @@
+package com.salesmanagement.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * Teste de carga ponta a ponta. Via Gradle:
+ *
+ *   ./gradlew loadTest -PloadArgs="--rate=200 --duration=PT2M"
+ *   ./gradlew loadTestCompare -PloadArgs="--rate=300"   (plataforma x virtual threads)
+ *
+ * Sem --base-url, sobe o jar da aplicação (Postgres das variáveis
+ * SPRING_DATASOURCE_*) com o rate limiting desligado, já que toda a carga sai
+ * de um único IP. Opções, com os padrões:
+ *
+ *   --base-url=            usa uma instância já no ar em vez de subir o jar
+ *   --jar=                 jar da aplicação (o Gradle preenche)
+ *   --port=18080           porta da instância iniciada pelo teste
+ *   --app-jvm-args=        argumentos da JVM da aplicação, separados por vírgula
+ *   --keep-rate-limit      mantém o rate limiting da aplicação ligado
+ *   --threads=             platform, virtual ou both (duas rodadas, com comparison.txt);
+ *                          vazio mantém o padrão da aplicação
+ *   --app-env=             variáveis extras da aplicação, K=V separados por vírgula
+ *                          (ex.: DB_POOL_SIZE=5,SERVER_TOMCAT_THREADS_MAX=50)
+ *   --rate=100             requisições por segundo (chegadas)
+ *   --arrival=poisson      poisson ou uniform
+ *   --warmup=PT15S         aquecimento, fora das estatísticas
+ *   --duration=PT1M        janela medida
+ *   --mix=...              pesos por operação (ver WorkloadMix.DEFAULT)
+ *   --seed=42              semente do sorteio de operações e dados
+ *   --max-in-flight=5000   teto de requisições simultâneas do gerador
+ *   --timeout=PT30S        timeout por requisição
+ *   --logins=20            quantos clientes e vendedores autenticar
+ *   --report-dir=build/reports/loadtest
+ */
+public final class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = CommandLineOptions.parse(args);
+        Path reportDir = Path.of(options.getOrDefault("report-dir", "build/reports/loadtest"));
+
+        String threads = options.get("threads");
+        if (!"both".equals(threads)) {
+            run(options, threads, reportDir);
+            return;
+        }
+        if (options.containsKey("base-url")) {
+            throw new IllegalArgumentException("--threads=both sobe a aplicação duas vezes e não combina com --base-url");
+        }
+        // Mesma carga e semente nas duas rodadas; só muda o modo de threads da aplicação
+        Path platformDir = reportDir.resolve("platform");
+        Path virtualDir = reportDir.resolve("virtual");
+        run(options, "platform", platformDir);
+        run(options, "virtual", virtualDir);
+        LoadComparison.of(platformDir.resolve("summary.json"), virtualDir.resolve("summary.json"))
+                .write(reportDir, System.out);
+    }
+
+    private static void run(Map<String, String> options, String threads, Path reportDir) throws Exception {
+        double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT15S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT1M"));
+        Duration timeout = Duration.parse(options.getOrDefault("timeout", "PT30S"));
+        String mixSpec = options.getOrDefault("mix", WorkloadMix.DEFAULT);
+        WorkloadMix mix = WorkloadMix.parse(mixSpec);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        boolean poisson = !"uniform".equals(options.getOrDefault("arrival", "poisson"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "5000"));
+        int logins = Integer.parseInt(options.getOrDefault("logins", "20"));
+        Files.createDirectories(reportDir);
+
+        AppProcess app = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            String jar = options.get("jar");
+            if (jar == null) {
+                throw new IllegalArgumentException("Informe --base-url ou --jar");
+            }
+            Map<String, String> env = new HashMap<>();
+            if (!options.containsKey("keep-rate-limit")) {
+                env.put("RATE_LIMIT_ENABLED", "false");
+            }
+            if (threads != null) {
+                env.put("VIRTUAL_THREADS_ENABLED", Boolean.toString("virtual".equals(threads)));
+            }
+            for (String variable : options.getOrDefault("app-env", "").split(",")) {
+                int separator = variable.indexOf('=');
+                if (separator > 0) {
+                    env.put(variable.substring(0, separator).trim(), variable.substring(separator + 1).trim());
+                }
+            }
+            String jvmArgs = options.getOrDefault("app-jvm-args", "");
+            System.out.println("Iniciando " + jar + (threads != null ? " (threads " + threads + ")" : "") + " ...");
+            app = AppProcess.start(Path.of(jar), Integer.parseInt(options.getOrDefault("port", "18080")),
+                    jvmArgs.isBlank() ? List.of() : Arrays.asList(jvmArgs.trim().split(",")),
+                    env, reportDir.resolve("app.log"), Duration.ofMinutes(2));
+            baseUrl = app.baseUrl;
+        }
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build()) {
+            ObjectMapper objectMapper = new ObjectMapper();
+            WorkloadState state = new WorkloadState(baseUrl, timeout, objectMapper);
+            state.load(client, logins);
+            System.out.printf("Alvo %s: %d clientes, %d vendedores, %d produtos em estoque%n",
+                    baseUrl, state.customerCount(), state.sellerCount(), state.productCount());
+            System.out.printf("Carga: %.0f req/s (%s), aquecimento %s, medição %s, mix %s%n",
+                    rate, poisson ? "poisson" : "uniforme", warmup, duration, mixSpec);
+
+            LoadGenerator generator = new LoadGenerator(client, state, mix, rate, poisson, seed, maxInFlight);
+            var stats = generator.run(warmup, duration, timeout.plusSeconds(5), System.out);
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("baseUrl", baseUrl);
+            settings.put("ratePerSecond", rate);
+            settings.put("arrival", poisson ? "poisson" : "uniform");
+            settings.put("warmup", warmup.toString());
+            settings.put("duration", duration.toString());
+            settings.put("mix", mixSpec);
+            settings.put("seed", seed);
+            settings.put("threads", threads != null ? threads : "default");
+            new LoadReport(settings, stats, duration, generator.dropped.sum()).write(reportDir, System.out);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.salesmanagement.perf;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+/**
+ * Operações do mix de carga. Cada uma monta sua requisição a partir do estado
+ * compartilhado (ids, tokens e filas de pedidos criados pelo próprio teste);
+ * devolve null quando não há o que fazer, como aprovar sem pedido pendente.
+ */
+enum Operation {
+
+    BROWSE("browse", "GET /api/products") {
+        @Override
+        HttpRequest request(WorkloadState state, SplittableRandom random) {
+            return state.get("/api/products", state.customerToken(random)).build();
+        }
+    },
+    PRODUCT("product", "GET /api/products/{id}") {
+        @Override
+        HttpRequest request(WorkloadState state, SplittableRandom random) {
+            return state.get("/api/products/" + state.product(random), state.customerToken(random)).build();
+        }
+    },
+    SEARCH("search", "GET /api/products/search") {
+        @Override
+        HttpRequest request(WorkloadState state, SplittableRandom random) {
+            return state.get("/api/products/search?q=" + state.searchTerm(random), state.customerToken(random)).build();
+        }
+    },
+    ORDER("order", "POST /api/orders") {
+        @Override
+        HttpRequest request(WorkloadState state, SplittableRandom random) {
+            return state.builder("/api/orders", state.customerToken(random))
+                    .header("Content-Type", "application/json")
+                    .header("Idempotency-Key", state.nextIdempotencyKey())
+                    .POST(HttpRequest.BodyPublishers.ofString(state.orderBody(random)))
+                    .build();
+        }
+    },
+    APPROVE("approve", "GET /api/orders/{id}/approve/{sellerId}") {
+        @Override
+        HttpRequest request(WorkloadState state, SplittableRandom random) {
+            Long orderId = state.pendingOrders.poll();
+            if (orderId == null) {
+                return null;
+            }
+            return state.get("/api/orders/" + orderId + "/approve/" + state.seller(random), state.sellerToken(random)).build();
+        }
+    },
+    COMPLETE("complete", "GET /api/orders/{id}/complete") {
+        @Override
+        HttpRequest request(WorkloadState state, SplittableRandom random) {
+            Long orderId = state.approvedOrders.poll();
+            if (orderId == null) {
+                return null;
+            }
+            return state.get("/api/orders/" + orderId + "/complete", state.sellerToken(random)).build();
+        }
+    },
+    CUSTOMER_ORDERS("history", "GET /api/orders/customer/{id}") {
+        @Override
+        HttpRequest request(WorkloadState state, SplittableRandom random) {
+            return state.get("/api/orders/customer/" + state.customer(random), state.customerToken(random)).build();
+        }
+    },
+    DASHBOARD("dashboard", "GET /api/reports/dashboard") {
+        @Override
+        HttpRequest request(WorkloadState state, SplittableRandom random) {
+            return state.get("/api/reports/dashboard", state.adminToken()).build();
+        }
+    };
+
+    final String key;
+    final String label;
+
+    Operation(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    abstract HttpRequest request(WorkloadState state, SplittableRandom random);
+
+    static Operation byKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida: " + key);
+    }
+}
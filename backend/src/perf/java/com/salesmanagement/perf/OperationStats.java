@@ -0,0 +1,86 @@
+package com.salesmanagement.perf;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramas de uma operação. responseTime conta a partir do instante em que a
+ * requisição deveria ter saído segundo a taxa programada, e não de quando saiu:
+ * atrasos do próprio gerador entram na latência (sem coordinated omission).
+ * serviceTime mede só o envio real até a resposta, para comparação.
+ */
+final class OperationStats {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    final Operation operation;
+
+    private final Recorder responseRecorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Recorder serviceRecorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+
+    final Histogram responseTime = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    final Histogram serviceTime = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    final LongAdder ok = new LongAdder();
+    final LongAdder clientErrors = new LongAdder();
+    final LongAdder rateLimited = new LongAdder();
+    final LongAdder serverErrors = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void record(long intendedStartNanos, long sentNanos, long endNanos, int status) {
+        responseRecorder.recordValue(clamp(endNanos - intendedStartNanos));
+        serviceRecorder.recordValue(clamp(endNanos - sentNanos));
+        if (status == 429 || status == 503) {
+            rateLimited.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            ok.increment();
+        }
+    }
+
+    // Falha de I/O ou timeout: entra no histograma com o tempo que o cliente esperou
+    void recordFailure(long intendedStartNanos, long sentNanos, long endNanos) {
+        responseRecorder.recordValue(clamp(endNanos - intendedStartNanos));
+        serviceRecorder.recordValue(clamp(endNanos - sentNanos));
+        failures.increment();
+    }
+
+    // Acumula o intervalo corrente nos totais; devolve o intervalo para o relatório parcial
+    Histogram drainInterval(boolean accumulate) {
+        Histogram interval = responseRecorder.getIntervalHistogram();
+        Histogram serviceInterval = serviceRecorder.getIntervalHistogram();
+        if (accumulate) {
+            responseTime.add(interval);
+            serviceTime.add(serviceInterval);
+        }
+        return interval;
+    }
+
+    void resetCounters() {
+        ok.reset();
+        clientErrors.reset();
+        rateLimited.reset();
+        serverErrors.reset();
+        failures.reset();
+        skipped.reset();
+    }
+
+    long total() {
+        return ok.sum() + clientErrors.sum() + rateLimited.sum() + serverErrors.sum() + failures.sum();
+    }
+
+    private static long clamp(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
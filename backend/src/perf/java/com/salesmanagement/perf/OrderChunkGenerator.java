@@ -0,0 +1,120 @@
+package com.salesmanagement.perf;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.SplittableRandom;
+
+/**
+ * Gera um bloco de pedidos e itens em CSV para COPY. Cada bloco tem sua
+ * própria semente (semente global + índice do bloco), então o resultado não
+ * depende de quantas threads rodam nem da ordem em que os blocos terminam.
+ *
+ * Distribuições: clientes e produtos com popularidade Zipf (clientes
+ * recorrentes e produtos campeões de venda), datas concentradas nos períodos
+ * mais recentes e status conforme a idade do pedido.
+ */
+final class OrderChunkGenerator {
+
+    // Ids de itens derivados do pedido: orderId * MAX_ITEMS + posição
+    static final int MAX_ITEMS = 8;
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String[] NOTES = {"", "", "", "Entregar no período da tarde", "Cliente recorrente", "Urgente"};
+
+    private final SeedPlan plan;
+    private final ZipfSampler customerSampler;
+    private final ZipfSampler productSampler;
+    private final BigDecimal[] productPrices;
+
+    OrderChunkGenerator(SeedPlan plan, BigDecimal[] productPrices) {
+        this.plan = plan;
+        this.productPrices = productPrices;
+        this.customerSampler = new ZipfSampler(plan.customers(), 0.8);
+        this.productSampler = new ZipfSampler(plan.products(), 1.1);
+    }
+
+    record Chunk(StringBuilder orders, StringBuilder items, int orderCount, int itemCount) {}
+
+    Chunk generate(int chunkIndex) {
+        long firstOrder = (long) chunkIndex * plan.chunkSize();
+        int count = (int) Math.min(plan.chunkSize(), plan.orders() - firstOrder);
+        SplittableRandom random = new SplittableRandom(plan.seed() * 31 + chunkIndex);
+
+        StringBuilder orders = new StringBuilder(count * 116);
+        StringBuilder items = new StringBuilder(count * 3 * 64);
+        int itemCount = 0;
+        long horizonMinutes = plan.years() * 365L * 24 * 60;
+
+        for (int i = 0; i < count; i++) {
+            long orderId = firstOrder + i + 1;
+            long customerId = plan.firstCustomerId() + customerSampler.next(random);
+
+            // sqrt concentra os pedidos nos períodos recentes (crescimento ao longo dos anos)
+            long minutesAgo = (long) (horizonMinutes * (1 - Math.sqrt(random.nextDouble())));
+            LocalDateTime createdAt = plan.asOf().minusMinutes(minutesAgo);
+            String status = status(random, minutesAgo);
+
+            int lines = 1 + Math.min(MAX_ITEMS - 1, (int) (-Math.log(1 - random.nextDouble()) * 1.5));
+            BigDecimal total = BigDecimal.ZERO;
+            for (int line = 0; line < lines; line++) {
+                int product = productSampler.next(random);
+                int quantity = 1 + (random.nextInt(10) < 7 ? 0 : random.nextInt(4));
+                BigDecimal unitPrice = productPrices[product];
+                BigDecimal subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+                total = total.add(subtotal);
+                items.append(orderId * MAX_ITEMS + line).append(',')
+                        .append(orderId).append(',')
+                        .append(product + 1).append(',')
+                        .append(quantity).append(',')
+                        .append(unitPrice.toPlainString()).append(',')
+                        .append(subtotal.toPlainString()).append('\n');
+            }
+            itemCount += lines;
+
+            String seller = status.equals("PENDENTE") || status.equals("CANCELADO")
+                    ? ""
+                    : Long.toString(plan.firstSellerId() + random.nextInt(plan.sellers()));
+            LocalDateTime updatedAt = status.equals("PENDENTE")
+                    ? createdAt
+                    : createdAt.plusMinutes(5 + random.nextInt(72 * 60));
+            if (updatedAt.isAfter(plan.asOf())) {
+                updatedAt = plan.asOf();
+            }
+            // Aprovado: a última transição foi a aprovação. Finalizado: aprovado em algum ponto entre
+            // a criação e a finalização. Os demais nunca passaram por APROVADO
+            LocalDateTime approvedAt = switch (status) {
+                case "APROVADO" -> updatedAt;
+                case "FINALIZADO" -> createdAt.plusMinutes(
+                        random.nextLong(Duration.between(createdAt, updatedAt).toMinutes() + 1));
+                default -> null;
+            };
+            String notes = status.equals("REJEITADO") ? "Sem estoque no fornecedor" : NOTES[random.nextInt(NOTES.length)];
+
+            orders.append(orderId).append(',')
+                    .append(customerId).append(',')
+                    .append(seller).append(',')
+                    .append(status).append(',')
+                    .append(total.setScale(2, RoundingMode.HALF_UP).toPlainString()).append(',')
+                    .append(TIMESTAMP.format(createdAt)).append(',')
+                    .append(TIMESTAMP.format(updatedAt)).append(',')
+                    .append(approvedAt != null ? TIMESTAMP.format(approvedAt) : "").append(',')
+                    .append(notes).append('\n');
+        }
+        return new Chunk(orders, items, count, itemCount);
+    }
+
+    // Pedidos antigos já foram resolvidos; os recentes ainda têm pendentes e aprovados
+    private static String status(SplittableRandom random, long minutesAgo) {
+        int roll = random.nextInt(100);
+        if (minutesAgo > 30L * 24 * 60) {
+            return roll < 82 ? "FINALIZADO" : roll < 91 ? "REJEITADO" : roll < 98 ? "CANCELADO" : "APROVADO";
+        }
+        if (minutesAgo > 2L * 24 * 60) {
+            return roll < 60 ? "FINALIZADO" : roll < 75 ? "APROVADO" : roll < 85 ? "PENDENTE" : roll < 93 ? "REJEITADO" : "CANCELADO";
+        }
+        return roll < 40 ? "PENDENTE" : roll < 65 ? "APROVADO" : roll < 85 ? "FINALIZADO" : roll < 93 ? "REJEITADO" : "CANCELADO";
+    }
+}
@@ -0,0 +1,31 @@
+package com.salesmanagement.perf;
+
+import java.time.LocalDateTime;
+
+// Tamanhos e faixas de ids do seeding; os ids são explícitos para o resultado ser reproduzível
+record SeedPlan(long seed,
+                long orders,
+                int customers,
+                int sellers,
+                int admins,
+                int products,
+                int chunkSize,
+                int years,
+                LocalDateTime asOf) {
+
+    long firstAdminId() {
+        return 1;
+    }
+
+    long firstSellerId() {
+        return firstAdminId() + admins;
+    }
+
+    long firstCustomerId() {
+        return firstSellerId() + sellers;
+    }
+
+    int chunkCount() {
+        return (int) ((orders + chunkSize - 1) / chunkSize);
+    }
+}
@@ -0,0 +1,62 @@
+package com.salesmanagement.perf;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Mix ponderado de operações, no formato "browse=40,order=15,dashboard=5"
+final class WorkloadMix {
+
+    static final String DEFAULT =
+            "browse=30,product=15,search=10,order=15,approve=10,complete=8,history=7,dashboard=5";
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Integer> weights;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("O mix precisa de ao menos uma operação com peso");
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida no mix: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo no mix: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Operation.byKey(pair[0].trim()), weight);
+            }
+        }
+        return new WorkloadMix(weights);
+    }
+
+    Operation next(SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    Map<Operation, Integer> weights() {
+        return weights;
+    }
+}
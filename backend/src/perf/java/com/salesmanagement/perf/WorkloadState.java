@@ -0,0 +1,210 @@
+package com.salesmanagement.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dados que as operações usam: ids de clientes, vendedores e produtos, tokens
+ * JWT e as filas de pedidos criados (pendentes e aprovados) que alimentam
+ * approve e complete. Carregado da própria API antes do teste.
+ */
+final class WorkloadState {
+
+    private static final String DEMO_PASSWORD = "123456";
+    private static final String[] SEARCH_TERMS = {"note", "mouse", "teclado", "monitor", "gamer", "sem fio", "usb"};
+    // 80% dos pedidos e visualizações caem em 20% dos produtos
+    private static final double HOT_SHARE = 0.8;
+
+    final ConcurrentLinkedQueue<Long> pendingOrders = new ConcurrentLinkedQueue<>();
+    final ConcurrentLinkedQueue<Long> approvedOrders = new ConcurrentLinkedQueue<>();
+
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong idempotencySequence = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final List<Long> customers = new ArrayList<>();
+    private final List<Long> sellers = new ArrayList<>();
+    private final List<Long> products = new ArrayList<>();
+    private final List<String> customerTokens = new ArrayList<>();
+    private final List<String> sellerTokens = new ArrayList<>();
+    private String adminToken;
+
+    WorkloadState(String baseUrl, Duration requestTimeout, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+        this.objectMapper = objectMapper;
+    }
+
+    // Garante dados de demonstração e carrega ids e tokens
+    void load(HttpClient client, int maxLogins) throws IOException, InterruptedException {
+        send(client, get("/api/users/create-demo-users", null).build());
+        send(client, get("/api/products/create-demo-products", null).build());
+
+        List<String> customerEmails = new ArrayList<>();
+        List<String> sellerEmails = new ArrayList<>();
+        String adminEmail = null;
+        for (JsonNode user : readJson(client, "/api/users")) {
+            long id = user.get("id").asLong();
+            String email = user.get("email").asText();
+            switch (user.get("role").asText()) {
+                case "CLIENTE" -> {
+                    customers.add(id);
+                    customerEmails.add(email);
+                }
+                case "VENDEDOR" -> {
+                    sellers.add(id);
+                    sellerEmails.add(email);
+                }
+                case "ADMIN" -> adminEmail = adminEmail == null ? email : adminEmail;
+                default -> { }
+            }
+        }
+        for (JsonNode product : readJson(client, "/api/products")) {
+            if (product.get("stock").asInt() > 0) {
+                products.add(product.get("id").asLong());
+            }
+        }
+        if (customers.isEmpty() || sellers.isEmpty() || products.isEmpty()) {
+            throw new IllegalStateException("A base precisa de clientes, vendedores e produtos em estoque");
+        }
+
+        // Usuários criados pelo seeder ou pela demonstração usam a mesma senha
+        for (String email : customerEmails.subList(0, Math.min(maxLogins, customerEmails.size()))) {
+            login(client, email).ifPresent(customerTokens::add);
+        }
+        for (String email : sellerEmails.subList(0, Math.min(maxLogins, sellerEmails.size()))) {
+            login(client, email).ifPresent(sellerTokens::add);
+        }
+        if (adminEmail != null) {
+            adminToken = login(client, adminEmail).orElse(null);
+        }
+    }
+
+    HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    HttpRequest.Builder get(String path, String token) {
+        return builder(path, token).GET();
+    }
+
+    long customer(SplittableRandom random) {
+        return customers.get(random.nextInt(customers.size()));
+    }
+
+    long seller(SplittableRandom random) {
+        return sellers.get(random.nextInt(sellers.size()));
+    }
+
+    long product(SplittableRandom random) {
+        int hot = Math.max(1, products.size() / 5);
+        int index = random.nextDouble() < HOT_SHARE ? random.nextInt(hot) : random.nextInt(products.size());
+        return products.get(index);
+    }
+
+    String searchTerm(SplittableRandom random) {
+        return URLEncoder.encode(SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)], StandardCharsets.UTF_8);
+    }
+
+    String customerToken(SplittableRandom random) {
+        return customerTokens.isEmpty() ? null : customerTokens.get(random.nextInt(customerTokens.size()));
+    }
+
+    String sellerToken(SplittableRandom random) {
+        return sellerTokens.isEmpty() ? null : sellerTokens.get(random.nextInt(sellerTokens.size()));
+    }
+
+    String adminToken() {
+        return adminToken;
+    }
+
+    String nextIdempotencyKey() {
+        return "load-" + runId + "-" + idempotencySequence.incrementAndGet();
+    }
+
+    String orderBody(SplittableRandom random) {
+        StringBuilder body = new StringBuilder("{\"customerId\":").append(customer(random)).append(",\"items\":[");
+        int items = 1 + random.nextInt(3);
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"productId\":").append(product(random))
+                    .append(",\"quantity\":").append(1 + random.nextInt(3)).append('}');
+        }
+        return body.append("],\"notes\":\"teste de carga\"}").toString();
+    }
+
+    // Encadeia o fluxo do pedido: criado -> aprovado -> finalizado
+    void onSuccess(Operation operation, byte[] body) {
+        if (operation != Operation.ORDER && operation != Operation.APPROVE) {
+            return;
+        }
+        try {
+            JsonNode order = objectMapper.readTree(body);
+            long id = order.path("id").asLong(-1);
+            if (id < 0) {
+                return;
+            }
+            if (operation == Operation.ORDER) {
+                pendingOrders.add(id);
+            } else {
+                approvedOrders.add(id);
+            }
+        } catch (IOException ignored) {
+            // Corpo inesperado: o pedido só não segue no fluxo
+        }
+    }
+
+    int customerCount() { return customers.size(); }
+
+    int sellerCount() { return sellers.size(); }
+
+    int productCount() { return products.size(); }
+
+    private Optional<String> login(HttpClient client, String email) throws IOException, InterruptedException {
+        String payload = objectMapper.writeValueAsString(Map.of("email", email, "password", DEMO_PASSWORD));
+        HttpResponse<byte[]> response = send(client, builder("/api/auth/login", null)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                .build());
+        if (response.statusCode() != 200) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(objectMapper.readTree(response.body()).path("token").textValue());
+    }
+
+    private JsonNode readJson(HttpClient client, String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(client, get(path, null).header("Accept-Encoding", "identity").build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " respondeu " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
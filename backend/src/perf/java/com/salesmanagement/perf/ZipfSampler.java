@@ -0,0 +1,43 @@
+package com.salesmanagement.perf;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sorteio Zipf sobre 0..n-1 por busca binária na CDF pré-calculada: o índice 0
+ * é o mais popular. Imutável e compartilhável entre threads; cada thread usa
+ * seu próprio SplittableRandom.
+ */
+final class ZipfSampler {
+
+    private final double[] cdf;
+
+    ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n deve ser positivo");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+    }
+
+    int next(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
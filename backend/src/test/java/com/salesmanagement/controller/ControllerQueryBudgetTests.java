@@ -0,0 +1,519 @@
+package com.salesmanagement.controller;
+
+import com.salesmanagement.dto.WireFormat;
+import com.salesmanagement.entity.Order;
+import com.salesmanagement.entity.OrderItem;
+import com.salesmanagement.entity.OrderStatus;
+import com.salesmanagement.entity.Product;
+import com.salesmanagement.entity.Role;
+import com.salesmanagement.entity.User;
+import com.salesmanagement.event.ProductCatalogChangedEvent;
+import com.salesmanagement.metrics.LiveSalesMetrics;
+import com.salesmanagement.metrics.QueryBudget;
+import com.salesmanagement.repository.OrderRepository;
+import com.salesmanagement.repository.ProductRepository;
+import com.salesmanagement.repository.UserRepository;
+import com.salesmanagement.service.OrderExportService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Orçamento de consultas de cada endpoint dos controllers, contra um PostgreSQL
+ * real. A massa de dados tem pedidos suficientes para que qualquer N+1
+ * estoure os limites; os limites não dependem do número de linhas.
+ *
+ * Sem Docker disponível a classe é ignorada.
+ */
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=false",
+        "app.report-limiter.enabled=false",
+        "app.password.bcrypt-strength=4"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ControllerQueryBudgetTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final int ORDERS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private LiveSalesMetrics liveSalesMetrics;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    private final MockServletContext servletContext = new MockServletContext();
+
+    private List<User> customers;
+    private List<User> sellers;
+    private List<Product> products;
+
+    @BeforeAll
+    void seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            users.add(new User("Cliente " + i, "cliente" + i + "@budget.test", "123456", Role.CLIENTE));
+        }
+        for (int i = 0; i < 3; i++) {
+            users.add(new User("Vendedor " + i, "vendedor" + i + "@budget.test", "123456", Role.VENDEDOR));
+        }
+        users.add(new User("Gerente", "gerente@budget.test", "123456", Role.ADMIN));
+        userRepository.saveAll(users);
+        customers = users.stream().filter(user -> user.getRole() == Role.CLIENTE).toList();
+        sellers = users.stream().filter(user -> user.getRole() != Role.CLIENTE).toList();
+
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            // Alguns produtos com estoque baixo para os relatórios
+            catalog.add(new Product("Produto " + i, "Descrição do produto " + i,
+                    new BigDecimal("10.00").add(BigDecimal.valueOf(i)), i % 5 == 0 ? i % 3 : 20 + i));
+        }
+        products = productRepository.saveAll(catalog);
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.bulk());
+
+        seedOrders(ORDERS);
+    }
+
+    @Test
+    void healthEndpointsDoNotTouchTheDatabase() throws Exception {
+        // O health indicator do banco usa JDBC direto, fora da contagem do Hibernate
+        for (String url : List.of("/", "/health", "/test", "/setup-demo")) {
+            expectOk(get(url), 0);
+        }
+    }
+
+    @Test
+    void authEndpoints() throws Exception {
+        User customer = customers.get(0);
+
+        // Só o primeiro despacho: a verificação da senha roda em outro executor
+        MvcResult login = QueryBudget.of("POST /api/auth/login", 1)
+                .withoutLazyLoads()
+                .verify(() -> mockMvc.perform(post("/api/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"email\":\"" + customer.getEmail() + "\",\"password\":\"123456\"}"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn());
+        mockMvc.perform(asyncDispatch(login)).andExpect(status().isOk());
+
+        String body = expectOk(get("/api/auth/login-test/" + customer.getEmail()), 1)
+                .andReturn().getResponse().getContentAsString();
+        String token = body.replaceAll(".*\"token\"\\s*:\\s*\"([^\"]+)\".*", "$1");
+
+        expectOk(post("/api/auth/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"token\":\"" + token + "\"}"), 0);
+        expectOk(get("/api/auth/me").header("Authorization", "Bearer " + token), 0);
+        expectOk(get("/api/auth/users-for-login"), 0);
+    }
+
+    @Test
+    void userEndpoints() throws Exception {
+        expectOk(get("/api/users"), 1);
+        expectOk(get("/api/users/count"), 1);
+        expectOk(get("/api/users/create-demo-users"), 2);
+        expectOk(get("/api/users/create-custom-example"), 0);
+
+        expectOk(post("/api/users/create-admin"), 1);
+        expectOk(post("/api/users/create-client"), 1);
+        expectOk(post("/api/users/create-seller"), 1);
+
+        // Verificação de email duplicado + INSERT
+        expectOk(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Novo\",\"email\":\"novo@budget.test\",\"password\":\"123456\",\"role\":\"CLIENTE\"}"), 2);
+        expectOk(post("/api/users/create-custom")
+                .param("name", "Custom")
+                .param("email", "custom@budget.test")
+                .param("password", "123456")
+                .param("role", "VENDEDOR"), 2);
+    }
+
+    @Test
+    void productEndpoints() throws Exception {
+        Long productId = products.get(1).getId();
+
+        // No máximo uma recarga do snapshot do catálogo
+        expectOk(get("/api/products"), 1);
+        expectOk(get("/api/products/" + productId), 1);
+        expectOk(get("/api/products/in-stock"), 1);
+        expectOk(get("/api/products/search").param("q", "produto"), 1);
+        expectOk(get("/api/products/autocomplete").param("q", "prod"), 1);
+        expectOk(get("/api/products/count"), 1);
+
+        expectOk(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Produto novo\",\"description\":\"Novo\",\"price\":15.50,\"stock\":7,\"active\":true}"), 1);
+        expectOk(put("/api/products/" + productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Produto 1\",\"description\":\"Atualizado\",\"price\":11.00,\"stock\":21,\"active\":true}"), 2);
+
+        // A importação grava via JdbcTemplate, fora da contagem; o limite pega regressões para o Hibernate
+        expectOk(post("/api/products/import")
+                .contentType("text/csv")
+                .content("name,description,price,stock\nImportado A,Lote,9.90,3\nImportado B,Lote,19.90,4\n"), 0);
+        expectOk(post("/api/products/import")
+                .contentType("application/x-ndjson")
+                .content("{\"name\":\"Importado C\",\"price\":\"5.00\",\"stock\":\"1\"}\n"), 0);
+
+        expectOk(get("/api/products/create-sample-laptop"), 1);
+        expectOk(get("/api/products/create-sample-mouse"), 1);
+        expectOk(get("/api/products/create-sample-keyboard"), 1);
+        expectOk(get("/api/products/create-demo-products"), 1);
+
+        Long removed = productRepository.save(new Product("Descontinuado", "Sai de linha", new BigDecimal("1.00"), 1)).getId();
+        expectOk(delete("/api/products/" + removed), 2);
+    }
+
+    @Test
+    void productCatalogRevalidation() throws Exception {
+        String json = etagOf(get("/api/products"));
+        String smile = etagOf(get("/api/products").accept(WireFormat.SMILE.mediaType()));
+        String cbor = etagOf(get("/api/products").accept(WireFormat.CBOR.mediaType()));
+        String gzip = etagOf(get("/api/products").header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+        // Qualquer representação da versão vigente revalida, sem consultas; o 304 leva o ETag do formato pedido
+        for (String etag : List.of(json, smile, cbor, gzip, "W/" + json)) {
+            expectNotModified(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, etag), json);
+            expectNotModified(get("/api/products/in-stock").header(HttpHeaders.IF_NONE_MATCH, etag), json);
+        }
+        expectNotModified(get("/api/products")
+                .accept(WireFormat.SMILE.mediaType())
+                .header(HttpHeaders.IF_NONE_MATCH, json), smile);
+        expectNotModified(get("/api/products")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"outro\", " + json), gzip);
+
+        Long productId = products.get(1).getId();
+        expectNotModified(get("/api/products/" + productId).header(HttpHeaders.IF_NONE_MATCH, json), json);
+        // O ETag é do catálogo, mas um id inexistente continua 404
+        mockMvc.perform(get("/api/products/" + Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isNotFound());
+
+        // Mudança no catálogo invalida todas as representações
+        eventPublisher.publishEvent(ProductCatalogChangedEvent.bulk());
+        for (String etag : List.of(json, smile, cbor, gzip)) {
+            mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk());
+        }
+        assertNotEquals(json, etagOf(get("/api/products")));
+    }
+
+    @Test
+    void productCatalogRepresentations() throws Exception {
+        String json = etagOf(get("/api/products"));
+        String smile = etagOf(get("/api/products").accept(WireFormat.SMILE.mediaType()));
+        String cbor = etagOf(get("/api/products").accept(WireFormat.CBOR.mediaType()));
+        String gzip = mockMvc.perform(get("/api/products").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // Bytes diferentes, ETags fortes diferentes
+        assertEquals(4, Set.of(json, smile, cbor, gzip).size(), "ETags repetidos entre representações");
+
+        // q=0 recusa o gzip; "*" aceita; Smile e CBOR nunca vão comprimidos
+        mockMvc.perform(get("/api/products").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, json));
+        mockMvc.perform(get("/api/products").header(HttpHeaders.ACCEPT_ENCODING, "GZIP;q=0.000"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api/products").header(HttpHeaders.ACCEPT_ENCODING, "br, *;q=0.5"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, gzip));
+        mockMvc.perform(get("/api/products").accept(WireFormat.CBOR.mediaType())
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(content().contentType(WireFormat.CBOR.mediaType()))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, cbor));
+
+        // in-stock tem os próprios bytes, com os mesmos ETags da versão
+        mockMvc.perform(get("/api/products/in-stock").accept(WireFormat.SMILE.mediaType()))
+                .andExpect(content().contentType(WireFormat.SMILE.mediaType()))
+                .andExpect(header().string(HttpHeaders.ETAG, smile));
+    }
+
+    @Test
+    void orderReadEndpoints() throws Exception {
+        User customer = customers.get(2);
+        Long orderId = orderRepository.findByCustomer(customer).get(0).getId();
+
+        // Cliente, vendedor, itens e produtos vêm na mesma consulta dos pedidos
+        expectOk(get("/api/orders"), 1);
+        expectOk(get("/api/orders/" + orderId), 1);
+        expectOk(get("/api/orders/pending"), 1);
+        for (OrderStatus status : OrderStatus.values()) {
+            expectOk(get("/api/orders/status/" + status), 1);
+        }
+        expectOk(get("/api/orders/customer/" + customer.getId()), 2);
+        expectOk(get("/api/orders/count"), 1);
+    }
+
+    @Test
+    void orderExportReadsTwoStatementsPerPage() throws Exception {
+        MvcResult export = mockMvc.perform(get("/api/orders/export").accept(WireFormat.CBOR.mediaType()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(WireFormat.CBOR.mediaType()));
+
+        // O corpo é escrito fora da thread da requisição: o orçamento é medido no serviço.
+        // Ids da página e pedidos com cliente, vendedor e itens; a última busca de ids volta vazia
+        long orders = orderRepository.count();
+        long pages = (orders + OrderExportService.PAGE_SIZE - 1) / OrderExportService.PAGE_SIZE;
+        long exported = QueryBudget.of("GET /api/orders/export", 2 * pages + 1)
+                .withoutLazyLoads()
+                .verify(() -> orderExportService.export(WireFormat.JSON, OutputStream.nullOutputStream()));
+        assertEquals(orders, exported);
+    }
+
+    @Test
+    void orderWriteEndpoints() throws Exception {
+        User customer = customers.get(3);
+        User seller = sellers.get(0);
+
+        // Cliente + produtos numa consulta + INSERT do pedido e de cada item
+        expectOk(post("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"customerId\":%d,\"items\":[{\"productId\":%d,\"quantity\":1},"
+                                + "{\"productId\":%d,\"quantity\":2},{\"productId\":%d,\"quantity\":1}]}",
+                        customer.getId(), products.get(1).getId(), products.get(2).getId(), products.get(3).getId())), 6);
+
+        // Com chave: INSERT ... ON CONFLICT da reserva e UPDATE com o pedido criado, na transação do pedido
+        expectOk(get("/api/orders/create-sample/" + customer.getId() + "/" + products.get(4).getId())
+                .header("Idempotency-Key", "budget-sample-1"), 4 + 2);
+        // A mesma chave com outro pedido não devolve o original
+        mockMvc.perform(get("/api/orders/create-sample/" + customer.getId() + "/" + products.get(6).getId())
+                        .header("Idempotency-Key", "budget-sample-1"))
+                .andExpect(status().isUnprocessableEntity());
+
+        // Cada transição trava o pedido (SELECT ... FOR UPDATE) antes de lê-lo e soma no balde do vendedor:
+        // INSERT ... ON CONFLICT, SELECT ... FOR UPDATE e UPDATE; a finalização ainda garante os sketches
+        // do produto e do vendedor, trava os dois numa consulta e grava
+        Order pending = newPendingOrder(customer);
+        expectOk(get("/api/orders/" + pending.getId() + "/approve/" + seller.getId()), 4 + 3);
+        expectOk(get("/api/orders/" + pending.getId() + "/complete"), 3 + 3 + 5);
+
+        Order rejected = newPendingOrder(customer);
+        expectOk(get("/api/orders/" + rejected.getId() + "/reject/" + seller.getId()), 4 + 3);
+
+        // Usuários + produtos, depois oito pedidos de até três itens e no máximo um UPDATE de status por pedido;
+        // as seis transições (três aprovações, duas finalizações, uma rejeição) somam nos baldes dos vendedores
+        // e as duas finalizações, de um item cada, nos sketches de clientes distintos
+        expectOk(get("/api/orders/create-demo-orders"), 2 + 8 * (1 + 3) + 8 + 6 * 3 + 2 * 5);
+    }
+
+    @Test
+    void reportEndpoints() throws Exception {
+        expectOk(get("/api/reports/dashboard"), 6);
+        expectOk(get("/api/reports/sales-summary"), 3);
+        expectOk(get("/api/reports/top-customers"), 1);
+        expectOk(get("/api/reports/top-products"), 2);
+        expectOk(get("/api/reports/low-stock"), 1);
+        expectOk(get("/api/reports/sales-trend"), 1);
+        expectOk(get("/api/reports/system-status"), 4);
+
+        // Separados seriam 6 + 3 + 2 + 1 + 4: contagens, faturamento e estoque baixo são lidos uma vez
+        expectOk(get("/api/reports/batch")
+                .param("reports", "dashboard,sales-summary,top-products,low-stock,system-status"), 10);
+    }
+
+    @Test
+    void customerSummaryIsServedFromCacheOnRepeatVisits() throws Exception {
+        User customer = customers.get(1);
+
+        // Primeira visita: usuário, contagens por status, ids recentes e pedidos com itens
+        expectOk(get("/api/orders/customer/" + customer.getId() + "/summary"), 4);
+        expectOk(get("/api/orders/customer/" + customer.getId() + "/summary"), 0);
+
+        // Pedidos mais antigos: ids da página e pedidos com itens
+        expectOk(get("/api/orders/customer/" + customer.getId() + "/history")
+                .param("beforeId", String.valueOf(Long.MAX_VALUE))
+                .param("size", "2"), 2);
+
+        // Mudança de status descarta o resumo, que é recarregado na visita seguinte
+        Order pending = newPendingOrder(customer);
+        expectOk(get("/api/orders/" + pending.getId() + "/approve/" + sellers.get(0).getId()), 4 + 3);
+        String summary = expectOk(get("/api/orders/customer/" + customer.getId() + "/summary"), 4)
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(summary.contains("\"id\":" + pending.getId() + ","), "resumo sem o pedido aprovado");
+    }
+
+    @Test
+    void liveSalesCountCompletionsWithoutQueries() throws Exception {
+        long before = liveSalesMetrics.lastFiveMinutes().orders();
+        Order order = newPendingOrder(customers.get(3));
+        expectOk(get("/api/orders/" + order.getId() + "/approve/" + sellers.get(0).getId()), 4 + 3);
+        expectOk(get("/api/orders/" + order.getId() + "/complete"), 3 + 3 + 5);
+
+        expectOk(get("/api/reports/live-sales"), 0);
+        assertEquals(before + 1, liveSalesMetrics.lastFiveMinutes().orders());
+        assertTrue(liveSalesMetrics.lastDay().orders() >= liveSalesMetrics.lastHour().orders());
+    }
+
+    @Test
+    void sellerReportMatchesRebuildFromOrders() throws Exception {
+        // Os pedidos da massa foram gravados direto no repositório, sem eventos: a recarga os inclui
+        mockMvc.perform(post("/api/reports/sellers/rebuild")).andExpect(status().isOk());
+
+        User seller = sellers.get(1);
+        Order order = newPendingOrder(customers.get(2));
+        expectOk(get("/api/orders/" + order.getId() + "/approve/" + seller.getId()), 4 + 3);
+        expectOk(get("/api/orders/" + order.getId() + "/complete"), 3 + 3 + 5);
+
+        // Baldes do período e nomes dos vendedores, sem ler pedidos
+        String incremental = expectOk(get("/api/reports/sellers"), 2).andReturn().getResponse().getContentAsString();
+        assertTrue(incremental.contains("\"sellerId\":" + seller.getId() + ","), "vendedor ausente do relatório");
+
+        mockMvc.perform(post("/api/reports/sellers/rebuild")).andExpect(status().isOk());
+        String rebuilt = mockMvc.perform(get("/api/reports/sellers")).andReturn().getResponse().getContentAsString();
+        assertEquals(rebuilt, incremental);
+    }
+
+    @Test
+    void distinctCustomerSketchesMatchRebuildFromOrders() throws Exception {
+        mockMvc.perform(post("/api/reports/distinct-customers/rebuild")).andExpect(status().isOk());
+
+        for (User customer : customers.subList(0, 3)) {
+            Order order = newPendingOrder(customer);
+            expectOk(get("/api/orders/" + order.getId() + "/approve/" + sellers.get(0).getId()), 4 + 3);
+            expectOk(get("/api/orders/" + order.getId() + "/complete"), 3 + 3 + 5);
+        }
+
+        // Sketches do período e nomes, sem ler pedidos
+        String productUrl = "/api/reports/distinct-customers?by=product&limit=100";
+        String sellerUrl = "/api/reports/distinct-customers?by=seller&id=" + sellers.get(0).getId();
+        String byProduct = expectOk(get(productUrl), 2).andReturn().getResponse().getContentAsString();
+        String bySeller = expectOk(get(sellerUrl), 2).andReturn().getResponse().getContentAsString();
+        assertTrue(byProduct.contains("\"id\":" + products.get(5).getId() + ","), "produto ausente do relatório");
+
+        mockMvc.perform(post("/api/reports/distinct-customers/rebuild")).andExpect(status().isOk());
+        assertEquals(mockMvc.perform(get(productUrl)).andReturn().getResponse().getContentAsString(), byProduct);
+        assertEquals(mockMvc.perform(get(sellerUrl)).andReturn().getResponse().getContentAsString(), bySeller);
+    }
+
+    @Test
+    void listQueriesDoNotGrowWithRowCount() throws Exception {
+        List<String> urls = List.of("/api/orders", "/api/orders/pending", "/api/reports/top-customers",
+                "/api/reports/top-products", "/api/reports/dashboard");
+
+        List<Long> before = new ArrayList<>();
+        for (String url : urls) {
+            before.add(QueryBudget.measure(() -> mockMvc.perform(get(url))).statements());
+        }
+
+        seedOrders(ORDERS);
+
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i);
+            long after = QueryBudget.measure(() -> mockMvc.perform(get(url))).statements();
+            assertEquals(before.get(i), after, url + ": número de consultas mudou com o volume de pedidos");
+        }
+    }
+
+    private ResultActions expectOk(MockHttpServletRequestBuilder request, long maxStatements) throws Exception {
+        MockHttpServletRequest built = request.buildRequest(servletContext);
+        return QueryBudget.of(built.getMethod() + " " + built.getRequestURI(), maxStatements)
+                .withoutLazyLoads()
+                .verify(() -> mockMvc.perform(request).andExpect(status().isOk()));
+    }
+
+    private String etagOf(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void expectNotModified(MockHttpServletRequestBuilder request, String etag) throws Exception {
+        MockHttpServletRequest built = request.buildRequest(servletContext);
+        QueryBudget.of(built.getMethod() + " " + built.getRequestURI() + " (If-None-Match)", 0)
+                .verify(() -> mockMvc.perform(request)
+                        .andExpect(status().isNotModified())
+                        .andExpect(header().string(HttpHeaders.ETAG, etag)));
+    }
+
+    private Order newPendingOrder(User customer) {
+        Order order = new Order(customer);
+        order.addItem(new OrderItem(products.get(5), 1));
+        return orderRepository.save(order);
+    }
+
+    // Distribui os pedidos entre clientes, status e produtos de forma determinística
+    private void seedOrders(int count) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Order order = new Order(customers.get(i % customers.size()));
+            int items = 1 + i % 3;
+            for (int j = 0; j < items; j++) {
+                order.addItem(new OrderItem(products.get((i + j * 4) % products.size()), 1 + j));
+            }
+            User seller = sellers.get(i % sellers.size());
+            switch (i % 4) {
+                case 0 -> {
+                    order.approve(seller);
+                    order.complete();
+                }
+                case 1 -> order.approve(seller);
+                case 2 -> order.reject(seller, "Sem estoque");
+                default -> {
+                    // Pendente
+                }
+            }
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+    }
+}
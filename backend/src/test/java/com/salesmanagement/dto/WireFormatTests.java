@@ -0,0 +1,74 @@
+package com.salesmanagement.dto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Negociação do formato pelo Accept (qualidades, curingas e empates) e
+ * leitura do formato do corpo pelo Content-Type.
+ */
+class WireFormatTests {
+
+    @Test
+    void missingOrInvalidAcceptFallsBackToJson() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(""));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("   "));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("não é um media type"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("text/html"));
+    }
+
+    @Test
+    void explicitTypesAreHonoured() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/json"));
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate(WireFormat.SMILE_VALUE));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate(WireFormat.CBOR_VALUE));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("text/html, application/cbor"));
+    }
+
+    @Test
+    void highestQualityWins() {
+        assertEquals(WireFormat.CBOR,
+                WireFormat.negotiate("application/x-jackson-smile;q=0.5, application/cbor;q=0.9"));
+        assertEquals(WireFormat.SMILE,
+                WireFormat.negotiate("application/json;q=0.1, application/x-jackson-smile"));
+        assertEquals(WireFormat.JSON,
+                WireFormat.negotiate("application/cbor;q=0.2, application/json;q=0.8, */*;q=0.1"));
+    }
+
+    @Test
+    void wildcardsPreferJson() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/*"));
+    }
+
+    @Test
+    void explicitTypeBeatsWildcardOfEqualQuality() {
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("*/*, application/cbor"));
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate("application/*;q=0.3, application/x-jackson-smile;q=0.3"));
+        // Com qualidade maior o curinga vence, e fica com JSON
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*, application/cbor;q=0.5"));
+    }
+
+    @Test
+    void zeroQualityIsNeverChosen() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/cbor;q=0"));
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate("application/json;q=0, application/x-jackson-smile;q=0.5"));
+    }
+
+    @Test
+    void bodyFormatComesFromContentType() {
+        assertEquals(WireFormat.JSON, WireFormat.of("application/json"));
+        assertEquals(WireFormat.JSON, WireFormat.of("application/json;charset=UTF-8"));
+        assertEquals(WireFormat.SMILE, WireFormat.of(WireFormat.SMILE_VALUE));
+        assertEquals(WireFormat.CBOR, WireFormat.of(WireFormat.CBOR_VALUE));
+    }
+
+    @Test
+    void unknownContentTypeIsReadAsJson() {
+        assertEquals(WireFormat.JSON, WireFormat.of(null));
+        assertEquals(WireFormat.JSON, WireFormat.of("text/plain"));
+        assertEquals(WireFormat.JSON, WireFormat.of("inválido"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.salesmanagement.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Formas serializadas, troca de esparso para denso, união e precisão do
+ * HyperLogLog. O formato é lido no primeiro byte de encode(): 1 esparso, 2 denso.
+ */
+class HyperLogLogTests {
+
+    private static final byte SPARSE = 1;
+    private static final byte DENSE = 2;
+    private static final int DENSE_LENGTH = 1 + (1 << HyperLogLog.PRECISION) * 6 / 8;
+
+    @Test
+    void emptySketchEncodesToNothing() {
+        assertEquals(0, new HyperLogLog().encode().length);
+        assertEquals(0, HyperLogLog.decode(new byte[0]).estimate());
+        assertEquals(0, HyperLogLog.decode(null).estimate());
+    }
+
+    @Test
+    void sparseRoundTrip() {
+        HyperLogLog sketch = sequence(1, 500);
+        byte[] encoded = sketch.encode();
+
+        assertEquals(SPARSE, encoded[0]);
+        assertArrayEquals(encoded, HyperLogLog.decode(encoded).encode());
+        assertEquals(sketch.estimate(), HyperLogLog.decode(encoded).estimate());
+    }
+
+    @Test
+    void denseRoundTrip() {
+        HyperLogLog sketch = sequence(1, 100_000);
+        byte[] encoded = sketch.encode();
+
+        assertEquals(DENSE, encoded[0]);
+        assertEquals(DENSE_LENGTH, encoded.length);
+        assertArrayEquals(encoded, HyperLogLog.decode(encoded).encode());
+        assertEquals(sketch.estimate(), HyperLogLog.decode(encoded).estimate());
+    }
+
+    @Test
+    void repeatedValueDoesNotChangeTheSketch() {
+        HyperLogLog sketch = sequence(1, 100);
+        byte[] before = sketch.encode();
+
+        for (long value = 1; value <= 100; value++) {
+            assertFalse(sketch.add(value));
+        }
+        assertArrayEquals(before, sketch.encode());
+    }
+
+    @Test
+    void staysSparseUpToTheLimitAndTurnsDenseOnTheNextRegister() {
+        HyperLogLog sketch = new HyperLogLog();
+        Set<Integer> registers = new HashSet<>();
+        long value = 0;
+        while (registers.size() < HyperLogLog.SPARSE_LIMIT) {
+            if (registers.add(register(++value))) {
+                sketch.add(value);
+            }
+        }
+        assertEquals(SPARSE, sketch.encode()[0]);
+
+        // Registrador já ocupado: no limite, o esparso ainda o atualiza no lugar
+        long known = value + 1;
+        while (!registers.contains(register(known))) {
+            known++;
+        }
+        sketch.add(known);
+        assertEquals(SPARSE, sketch.encode()[0]);
+
+        long fresh = known + 1;
+        while (registers.contains(register(fresh))) {
+            fresh++;
+        }
+        long before = sketch.estimate();
+        assertTrue(sketch.add(fresh));
+        byte[] encoded = sketch.encode();
+
+        assertEquals(DENSE, encoded[0]);
+        assertEquals(DENSE_LENGTH, encoded.length);
+        assertArrayEquals(encoded, HyperLogLog.decode(encoded).encode());
+        assertTrue(sketch.estimate() >= before);
+    }
+
+    @Test
+    void mergesSparseIntoDenseAndDenseIntoSparse() {
+        HyperLogLog expected = sequence(1, 50_300);
+
+        HyperLogLog dense = sequence(1, 50_000);
+        assertEquals(DENSE, dense.encode()[0]);
+        dense.merge(sequence(49_800, 50_300));
+        assertArrayEquals(expected.encode(), dense.encode());
+
+        HyperLogLog sparse = sequence(49_800, 50_300);
+        assertEquals(SPARSE, sparse.encode()[0]);
+        sparse.merge(sequence(1, 50_000));
+        assertEquals(DENSE, sparse.encode()[0]);
+        assertArrayEquals(expected.encode(), sparse.encode());
+    }
+
+    @Test
+    void mergingSparseSketchesMatchesAddingEverything() {
+        HyperLogLog merged = sequence(1, 300);
+        merged.merge(sequence(200, 600));
+
+        assertArrayEquals(sequence(1, 600).encode(), merged.encode());
+    }
+
+    @Test
+    void estimateStaysWithinThreeStandardErrors() {
+        for (long count : new long[]{10, 100, 1_000, 5_000, 50_000, 1_000_000}) {
+            long estimate = sequence(1, count).estimate();
+            double tolerance = 3 * HyperLogLog.RELATIVE_STANDARD_ERROR * count;
+            assertTrue(Math.abs(estimate - count) <= tolerance,
+                    () -> count + " distintos estimados em " + estimate);
+        }
+    }
+
+    @Test
+    void rejectsCorruptedSketches() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.decode(new byte[]{DENSE, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.decode(new byte[]{9}));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.decode(new byte[]{SPARSE, 1}));
+    }
+
+    // Ids de first a last, inclusive, como ids de clientes
+    private static HyperLogLog sequence(long first, long last) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long value = first; value <= last; value++) {
+            sketch.add(value);
+        }
+        return sketch;
+    }
+
+    private static int register(long value) {
+        return (int) (HyperLogLog.mix(value) >>> (64 - HyperLogLog.PRECISION));
+    }
+}
@@ -0,0 +1,104 @@
+package com.salesmanagement.metrics;
+
+import com.salesmanagement.dto.report.LiveSalesWindow;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reaproveitamento de baldes, descarte de épocas que já saíram do anel e
+ * somas de janelas que atravessam o fim do anel em LiveSalesMetrics.Ring.
+ */
+class LiveSalesRingTests {
+
+    @Test
+    void sameEpochAccumulates() {
+        LiveSalesMetrics.Ring ring = new LiveSalesMetrics.Ring(4);
+        ring.add(10, 1, 1_050);
+        ring.add(10, 2, 2_000);
+
+        assertWindow(3, "30.50", ring.window(10, 10));
+        assertWindow(0, "0.00", ring.window(11, 20));
+    }
+
+    @Test
+    void newerEpochResetsTheReusedSlot() {
+        LiveSalesMetrics.Ring ring = new LiveSalesMetrics.Ring(4);
+        ring.add(1, 5, 500);
+        // 5 % 4 == 1: mesmo balde da época 1
+        ring.add(5, 1, 100);
+
+        assertWindow(0, "0.00", ring.window(1, 1));
+        assertWindow(1, "1.00", ring.window(1, 5));
+    }
+
+    @Test
+    void epochOlderThanTheSlotIsDropped() {
+        LiveSalesMetrics.Ring ring = new LiveSalesMetrics.Ring(4);
+        ring.add(5, 1, 100);
+        ring.add(1, 7, 700);
+
+        assertWindow(1, "1.00", ring.window(0, 10));
+    }
+
+    @Test
+    void windowAcrossTheWrapSumsOnlyTheRequestedEpochs() {
+        LiveSalesMetrics.Ring ring = new LiveSalesMetrics.Ring(4);
+        // Épocas 6..9 ocupam os baldes 2, 3, 0 e 1
+        for (long epoch = 6; epoch <= 9; epoch++) {
+            ring.add(epoch, epoch, epoch * 100);
+        }
+
+        assertWindow(6 + 7 + 8 + 9, "30.00", ring.window(6, 9));
+        assertWindow(7 + 8, "15.00", ring.window(7, 8));
+        assertWindow(8 + 9, "17.00", ring.window(8, 20));
+
+        // A época 10 toma o balde da 6, que some das janelas
+        ring.add(10, 10, 1_000);
+        assertWindow(7 + 8 + 9 + 10, "34.00", ring.window(6, 10));
+    }
+
+    @Test
+    void concurrentAddsToTheSameEpochAreNotLost() throws Exception {
+        LiveSalesMetrics.Ring ring = new LiveSalesMetrics.Ring(8);
+        int threads = 8;
+        int addsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < addsPerThread; i++) {
+                        ring.add(42, 1, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long total = (long) threads * addsPerThread;
+        assertWindow(total, BigDecimal.valueOf(total, 2).toPlainString(), ring.window(42, 42));
+    }
+
+    private static void assertWindow(long orders, String revenue, LiveSalesWindow window) {
+        assertEquals(orders, window.orders());
+        assertEquals(new BigDecimal(revenue), window.revenue());
+    }
+}
@@ -0,0 +1,67 @@
+package com.salesmanagement.metrics;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Orçamento de acessos ao banco para um bloco de teste.
+ *
+ * Conta os comandos SQL preparados pelo Hibernate (e os carregamentos LAZY)
+ * enquanto o bloco roda na thread do teste, inclusive dentro de requisições
+ * MockMvc, e falha quando o limite é ultrapassado. Um N+1 aparece como um
+ * número de comandos que cresce com a quantidade de linhas.
+ *
+ * <pre>
+ * QueryBudget.of("GET /api/reports/top-products", 2)
+ *         .withoutLazyLoads()
+ *         .verify(() -> mockMvc.perform(get("/api/reports/top-products")));
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private final String description;
+    private final long maxStatements;
+    private long maxLazyLoads = Long.MAX_VALUE;
+
+    private QueryBudget(String description, long maxStatements) {
+        this.description = description;
+        this.maxStatements = maxStatements;
+    }
+
+    public static QueryBudget of(String description, long maxStatements) {
+        return new QueryBudget(description, maxStatements);
+    }
+
+    // Nenhum proxy ou coleção pode ser inicializado depois da consulta principal
+    public QueryBudget withoutLazyLoads() {
+        this.maxLazyLoads = 0;
+        return this;
+    }
+
+    public <T> T verify(Callable<T> block) throws Exception {
+        Measurement<T> measurement = measure(block);
+        QueryCounter.Scope scope = measurement.scope();
+        if (scope.getStatements() > maxStatements || scope.getLazyLoads() > maxLazyLoads) {
+            throw new AssertionError(String.format(
+                    "%s: %d comandos SQL (limite %d), %d carregamentos LAZY (limite %s), %d entidades carregadas",
+                    description, scope.getStatements(), maxStatements, scope.getLazyLoads(),
+                    maxLazyLoads == Long.MAX_VALUE ? "livre" : Long.toString(maxLazyLoads),
+                    scope.getEntityLoads()));
+        }
+        return measurement.result();
+    }
+
+    // Só mede, sem limite: útil para comparar o mesmo bloco com volumes de dados diferentes
+    public static <T> Measurement<T> measure(Callable<T> block) throws Exception {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            T result = block.call();
+            return new Measurement<>(result, scope);
+        }
+    }
+
+    public record Measurement<T>(T result, QueryCounter.Scope scope) {
+
+        public long statements() {
+            return scope.getStatements();
+        }
+    }
+}
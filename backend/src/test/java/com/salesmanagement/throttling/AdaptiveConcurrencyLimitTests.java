@@ -0,0 +1,157 @@
+package com.salesmanagement.throttling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Crescimento aditivo, recuo multiplicativo e fila de espera do limite AIMD.
+ */
+class AdaptiveConcurrencyLimitTests {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = THRESHOLD / 10;
+    private static final long SLOW = THRESHOLD * 2;
+
+    @Test
+    void growsOnlyWhenSaturatedAndFast() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = limit(2, 1, 4, TimeUnit.MILLISECONDS.toNanos(10), 4);
+
+        // Com folga no limite, uma execução rápida não o aumenta
+        assertTrue(limit.acquire());
+        limit.release(FAST, false);
+        assertEquals(2, limit.getLimit());
+
+        assertTrue(limit.acquire());
+        assertTrue(limit.acquire());
+        limit.release(FAST, false);
+        assertEquals(3, limit.getLimit());
+        limit.release(FAST, false);
+        assertEquals(3, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void growthStopsAtMaxLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = limit(4, 1, 4, TimeUnit.MILLISECONDS.toNanos(10), 4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limit.acquire());
+        }
+        limit.release(FAST, false);
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void backsOffOnSlowOrFailedExecutionsDownToMinLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = limit(8, 2, 16, TimeUnit.MILLISECONDS.toNanos(10), 4);
+
+        assertTrue(limit.acquire());
+        limit.release(SLOW, false);
+        assertEquals(4, limit.getLimit());
+
+        assertTrue(limit.acquire());
+        limit.release(FAST, true);
+        assertEquals(2, limit.getLimit());
+
+        assertTrue(limit.acquire());
+        limit.release(SLOW, true);
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void waiterGivesUpAfterMaxWait() throws InterruptedException {
+        long maxWait = TimeUnit.MILLISECONDS.toNanos(50);
+        AdaptiveConcurrencyLimit limit = limit(1, 1, 1, maxWait, 4);
+        assertTrue(limit.acquire());
+
+        long start = System.nanoTime();
+        assertFalse(limit.acquire());
+        assertTrue(System.nanoTime() - start >= maxWait);
+
+        assertEquals(1, limit.getQueued());
+        assertEquals(1, limit.getRejected());
+        assertEquals(1, limit.getInFlight());
+    }
+
+    @Test
+    void waiterTakesTheReleasedSlot() throws Exception {
+        AdaptiveConcurrencyLimit limit = limit(1, 1, 1, TimeUnit.SECONDS.toNanos(10), 4);
+        assertTrue(limit.acquire());
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(acquiring(limit));
+        awaitQueued(limit, 1);
+        limit.release(FAST, false);
+
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, limit.getInFlight());
+        assertEquals(0, limit.getRejected());
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTheQueueIsFull() throws Exception {
+        AdaptiveConcurrencyLimit limit = limit(1, 1, 1, TimeUnit.SECONDS.toNanos(10), 1);
+        assertTrue(limit.acquire());
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(acquiring(limit));
+        awaitQueued(limit, 1);
+
+        long start = System.nanoTime();
+        assertFalse(limit.acquire());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, limit.getQueued());
+        assertEquals(1, limit.getRejected());
+
+        limit.release(FAST, false);
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void withoutMaxWaitNobodyQueues() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = limit(1, 1, 1, 0, 4);
+        assertTrue(limit.acquire());
+
+        assertFalse(limit.acquire());
+        assertEquals(0, limit.getQueued());
+        assertEquals(1, limit.getRejected());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> limit(1, 0, 1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> limit(1, 2, 1, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimit(1, 1, 1, 1.0, THRESHOLD, 0, 0));
+    }
+
+    private static AdaptiveConcurrencyLimit limit(int initial, int min, int max, long maxWaitNanos, int maxWaiters) {
+        return new AdaptiveConcurrencyLimit(initial, min, max, 0.5, THRESHOLD, maxWaitNanos, maxWaiters);
+    }
+
+    private static Supplier<Boolean> acquiring(AdaptiveConcurrencyLimit limit) {
+        return () -> {
+            try {
+                return limit.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        };
+    }
+
+    // queued é incrementado sob o lock antes de a thread dormir na fila
+    private static void awaitQueued(AdaptiveConcurrencyLimit limit, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (limit.getQueued() < expected) {
+            assertTrue(System.nanoTime() < deadline, "ninguém entrou na fila");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.salesmanagement.throttling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rajada, recarga e espera devolvida pelo token bucket GCRA. O relógio é
+ * passado explicitamente, então os instantes são exatos.
+ */
+class TokenBucketTests {
+
+    private static final long T0 = 1_000_000_000_000L;
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // 10/s: uma ficha a cada 100 ms, rajada de 5
+    private static final RateLimit LIMIT = new RateLimit(10, 5);
+    private static final long INTERVAL = LIMIT.emissionIntervalNanos();
+
+    @Test
+    void fullBucketAcceptsTheWholeBurst() {
+        TokenBucket bucket = new TokenBucket(T0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(T0, LIMIT), "requisição " + i);
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(T0, LIMIT));
+    }
+
+    @Test
+    void rejectionDoesNotConsumeTokens() {
+        TokenBucket bucket = drained();
+
+        assertEquals(INTERVAL, bucket.tryAcquire(T0, LIMIT));
+        assertEquals(INTERVAL, bucket.tryAcquire(T0, LIMIT));
+        assertEquals(INTERVAL / 2, bucket.tryAcquire(T0 + INTERVAL / 2, LIMIT));
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = drained();
+
+        assertEquals(0, bucket.tryAcquire(T0 + INTERVAL, LIMIT));
+        assertEquals(INTERVAL, bucket.tryAcquire(T0 + INTERVAL, LIMIT));
+
+        // Três intervalos depois há três fichas, não mais
+        long later = T0 + 4 * INTERVAL;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(later, LIMIT), "requisição " + i);
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(later, LIMIT));
+    }
+
+    @Test
+    void longIdlePeriodRefillsOnlyUpToTheBurst() {
+        TokenBucket bucket = drained();
+        long later = T0 + 60 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(later, LIMIT), "requisição " + i);
+        }
+        assertEquals(INTERVAL, bucket.tryAcquire(later, LIMIT));
+    }
+
+    @Test
+    void idleOnlyOnceTheBucketIsFullAgain() {
+        TokenBucket bucket = new TokenBucket(T0);
+        assertTrue(bucket.isIdle(T0));
+
+        bucket.tryAcquire(T0, LIMIT);
+        bucket.tryAcquire(T0, LIMIT);
+        assertFalse(bucket.isIdle(T0));
+        assertFalse(bucket.isIdle(T0 + 2 * INTERVAL - 1));
+        assertTrue(bucket.isIdle(T0 + 2 * INTERVAL));
+    }
+
+    @Test
+    void retryAfterRoundsTheWaitUpToWholeSeconds() {
+        assertEquals(1, TokenBucket.retryAfterSeconds(1));
+        assertEquals(1, TokenBucket.retryAfterSeconds(INTERVAL));
+        assertEquals(1, TokenBucket.retryAfterSeconds(SECOND));
+        assertEquals(2, TokenBucket.retryAfterSeconds(SECOND + 1));
+
+        // 1/min: a próxima ficha só sai depois de um minuto inteiro
+        RateLimit perMinute = new RateLimit(1.0 / 60, 1);
+        TokenBucket bucket = new TokenBucket(T0);
+        assertEquals(0, bucket.tryAcquire(T0, perMinute));
+        assertEquals(60, TokenBucket.retryAfterSeconds(bucket.tryAcquire(T0, perMinute)));
+        assertEquals(30, TokenBucket.retryAfterSeconds(bucket.tryAcquire(T0 + 30 * SECOND, perMinute)));
+    }
+
+    private static TokenBucket drained() {
+        TokenBucket bucket = new TokenBucket(T0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(T0, LIMIT);
+        }
+        return bucket;
+    }
+}
@@ -8,11 +8,15 @@ import {
   Clock,
   RefreshCw,
   Database,
+  Activity,
 } from "lucide-react";
 import {
   userAPI,
   productAPI,
   orderAPI,
+  reportsAPI,
+  type ReportBatch,
+  type LiveSales,
   type User,
   type Product,
   type Order,
@@ -28,20 +32,39 @@ const AdminPanel: React.FC<AdminPanelProps> = ({}) => {
   const [users, setUsers] = useState<User[]>([]);
   const [products, setProducts] = useState<Product[]>([]);
   const [orders, setOrders] = useState<Order[]>([]);
+  const [overview, setOverview] = useState<ReportBatch>({});
+  const [liveSales, setLiveSales] = useState<LiveSales | null>(null);
   const [loading, setLoading] = useState(false);
 
   useEffect(() => {
     loadData();
   }, []);
 
+  // Vendas ao vivo atualizadas a cada segundo enquanto a visão geral está aberta
+  useEffect(() => {
+    if (activeTab !== "overview") return;
+    const refresh = () =>
+      reportsAPI
+        .getLiveSales()
+        .then(setLiveSales)
+        .catch((error) => console.error("Error loading live sales:", error));
+    refresh();
+    const timer = setInterval(refresh, 1000);
+    return () => clearInterval(timer);
+  }, [activeTab]);
+
   const loadData = async () => {
     setLoading(true);
     try {
-      const [usersData, productsData, ordersData] = await Promise.all([
-        userAPI.getAll(),
-        productAPI.getAll(),
-        orderAPI.getAll(),
-      ]);
+      // Os totais da visão geral vêm de um único snapshot; as listas alimentam as abas
+      const [overviewData, usersData, productsData, ordersData] =
+        await Promise.all([
+          reportsAPI.getBatch(["dashboard", "system-status"]),
+          userAPI.getAll(),
+          productAPI.getAll(),
+          orderAPI.getAll(),
+        ]);
+      setOverview(overviewData);
       setUsers(usersData);
       setProducts(productsData);
       setOrders(ordersData);
@@ -68,6 +91,11 @@ const AdminPanel: React.FC<AdminPanelProps> = ({}) => {
     }
   };
 
+  const dashboard = overview.dashboard;
+  const usersByRole: Record<string, number> =
+    overview["system-status"]?.usersByRole ?? {};
+  const ordersByStatus = dashboard?.ordersByStatus ?? {};
+
   const tabs = [
     { id: "overview", label: "Visão Geral", icon: Database },
     { id: "users", label: "Usuários", icon: Users },
@@ -181,7 +209,7 @@ const AdminPanel: React.FC<AdminPanelProps> = ({}) => {
                 <div>
                   <p className="text-gray-600 text-sm">Total de Usuários</p>
                   <p className="text-3xl font-bold text-gray-900 mt-1">
-                    {users.length}
+                    {dashboard?.totalUsers ?? users.length}
                   </p>
                 </div>
                 <Users className="w-8 h-8 text-blue-600" />
@@ -189,18 +217,18 @@ const AdminPanel: React.FC<AdminPanelProps> = ({}) => {
               <div className="mt-4 space-y-1">
                 <div className="flex justify-between text-sm">
                   <span>Admins:</span>
-                  <span>{users.filter((u) => u.role === "ADMIN").length}</span>
+                  <span>{usersByRole.ADMIN ?? 0}</span>
                 </div>
                 <div className="flex justify-between text-sm">
                   <span>Vendedores:</span>
                   <span>
-                    {users.filter((u) => u.role === "VENDEDOR").length}
+                    {usersByRole.VENDEDOR ?? 0}
                   </span>
                 </div>
                 <div className="flex justify-between text-sm">
                   <span>Clientes:</span>
                   <span>
-                    {users.filter((u) => u.role === "CLIENTE").length}
+                    {usersByRole.CLIENTE ?? 0}
                   </span>
                 </div>
               </div>
@@ -211,7 +239,7 @@ const AdminPanel: React.FC<AdminPanelProps> = ({}) => {
                 <div>
                   <p className="text-gray-600 text-sm">Total de Produtos</p>
                   <p className="text-3xl font-bold text-gray-900 mt-1">
-                    {products.length}
+                    {dashboard?.totalProducts ?? products.length}
                   </p>
                 </div>
                 <Package className="w-8 h-8 text-green-600" />
@@ -219,7 +247,10 @@ const AdminPanel: React.FC<AdminPanelProps> = ({}) => {
               <div className="mt-4 space-y-1">
                 <div className="flex justify-between text-sm">
                   <span>Ativos:</span>
-                  <span>{products.filter((p) => p.active).length}</span>
+                  <span>
+                    {overview["system-status"]?.activeProducts ??
+                      products.filter((p) => p.active).length}
+                  </span>
                 </div>
                 <div className="flex justify-between text-sm">
                   <span>Em Estoque:</span>
@@ -228,7 +259,8 @@ const AdminPanel: React.FC<AdminPanelProps> = ({}) => {
                 <div className="flex justify-between text-sm">
                   <span>Estoque Baixo:</span>
                   <span className="text-red-600">
-                    {products.filter((p) => p.stock < 5).length}
+                    {dashboard?.lowStockProducts ??
+                      products.filter((p) => p.stock < 5).length}
                   </span>
                 </div>
               </div>
@@ -239,7 +271,7 @@ const AdminPanel: React.FC<AdminPanelProps> = ({}) => {
                 <div>
                   <p className="text-gray-600 text-sm">Total de Pedidos</p>
                   <p className="text-3xl font-bold text-gray-900 mt-1">
-                    {orders.length}
+                    {dashboard?.totalOrders ?? orders.length}
                   </p>
                 </div>
                 <ShoppingCart className="w-8 h-8 text-purple-600" />
@@ -248,23 +280,49 @@ const AdminPanel: React.FC<AdminPanelProps> = ({}) => {
                 <div className="flex justify-between text-sm">
                   <span>Pendentes:</span>
                   <span className="text-yellow-600">
-                    {orders.filter((o) => o.status === "PENDENTE").length}
+                    {ordersByStatus.PENDENTE ?? 0}
                   </span>
                 </div>
                 <div className="flex justify-between text-sm">
                   <span>Aprovados:</span>
                   <span className="text-blue-600">
-                    {orders.filter((o) => o.status === "APROVADO").length}
+                    {ordersByStatus.APROVADO ?? 0}
                   </span>
                 </div>
                 <div className="flex justify-between text-sm">
                   <span>Finalizados:</span>
                   <span className="text-green-600">
-                    {orders.filter((o) => o.status === "FINALIZADO").length}
+                    {ordersByStatus.FINALIZADO ?? 0}
                   </span>
                 </div>
               </div>
             </div>
+
+            <div className="bg-white p-6 rounded-xl shadow-lg md:col-span-3">
+              <div className="flex items-center justify-between">
+                <p className="text-gray-600 text-sm">Vendas ao Vivo</p>
+                <Activity className="w-8 h-8 text-orange-600" />
+              </div>
+              <div className="mt-4 grid grid-cols-3 gap-4">
+                {(
+                  [
+                    ["Últimos 5 min", liveSales?.lastFiveMinutes],
+                    ["Última hora", liveSales?.lastHour],
+                    ["Últimas 24 h", liveSales?.lastDay],
+                  ] as const
+                ).map(([label, totals]) => (
+                  <div key={label}>
+                    <p className="text-sm text-gray-500">{label}</p>
+                    <p className="text-2xl font-bold text-gray-900">
+                      R$ {(totals?.revenue ?? 0).toFixed(2)}
+                    </p>
+                    <p className="text-sm text-gray-600">
+                      {totals?.orders ?? 0} pedidos finalizados
+                    </p>
+                  </div>
+                ))}
+              </div>
+            </div>
           </div>
         )}
 
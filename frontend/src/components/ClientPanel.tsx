@@ -12,7 +12,8 @@ import {
 import {
   orderAPI,
   productAPI,
-  type Order,
+  type CustomerOrderSummary,
+  type CustomerOrder,
   type Product,
   type LoginResponse,
 } from "../services/api";
@@ -22,7 +23,10 @@ interface ClientPanelProps {
 }
 
 const ClientPanel: React.FC<ClientPanelProps> = ({ user }) => {
-  const [orders, setOrders] = useState<Order[]>([]);
+  const [summary, setSummary] = useState<CustomerOrderSummary | null>(null);
+  const [orders, setOrders] = useState<CustomerOrder[]>([]);
+  const [nextBeforeId, setNextBeforeId] = useState<number | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [products, setProducts] = useState<Product[]>([]);
   const [loading, setLoading] = useState(false);
   const [activeTab, setActiveTab] = useState("catalog");
@@ -34,16 +38,14 @@ const ClientPanel: React.FC<ClientPanelProps> = ({ user }) => {
   const loadData = async () => {
     setLoading(true);
     try {
-      const [allOrders, productsData] = await Promise.all([
-        orderAPI.getAll(),
+      // Resumo com os pedidos recentes; os mais antigos só quando pedidos
+      const [summaryData, productsData] = await Promise.all([
+        orderAPI.getCustomerSummary(user.userId),
         productAPI.getInStock(),
       ]);
-
-      // Filter orders for current user
-      const userOrders = allOrders.filter(
-        (order) => order.customer.id === user.userId
-      );
-      setOrders(userOrders);
+      setSummary(summaryData);
+      setOrders(summaryData.recentOrders);
+      setNextBeforeId(summaryData.nextBeforeId);
       setProducts(productsData);
     } catch (error) {
       console.error("Error loading data:", error);
@@ -52,6 +54,20 @@ const ClientPanel: React.FC<ClientPanelProps> = ({ user }) => {
     }
   };
 
+  const loadOlderOrders = async () => {
+    if (nextBeforeId === null) return;
+    setLoadingMore(true);
+    try {
+      const page = await orderAPI.getCustomerHistory(user.userId, nextBeforeId);
+      setOrders((current) => [...current, ...page.orders]);
+      setNextBeforeId(page.nextBeforeId);
+    } catch (error) {
+      console.error("Error loading older orders:", error);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const getStatusBadge = (status: string) => {
     const statusConfig = {
       PENDENTE: { color: "bg-yellow-100 text-yellow-800", icon: Clock },
@@ -87,12 +103,11 @@ const ClientPanel: React.FC<ClientPanelProps> = ({ user }) => {
     return messages[status as keyof typeof messages] || "";
   };
 
-  const pendingOrders = orders.filter((o) => o.status === "PENDENTE");
-  const completedOrders = orders.filter((o) => o.status === "FINALIZADO");
-  const totalSpent = completedOrders.reduce(
-    (sum, order) => sum + order.totalAmount,
-    0
-  );
+  // Contagens e total do resumo: cobrem todo o histórico, não só os pedidos carregados
+  const totalOrders = summary?.totalOrders ?? 0;
+  const pendingCount = summary?.ordersByStatus.PENDENTE ?? 0;
+  const completedCount = summary?.ordersByStatus.FINALIZADO ?? 0;
+  const totalSpent = summary?.totalSpent ?? 0;
 
   return (
     <div className="space-y-6">
@@ -125,13 +140,13 @@ const ClientPanel: React.FC<ClientPanelProps> = ({ user }) => {
             <div>
               <p className="text-gray-600 text-sm">Meus Pedidos</p>
               <p className="text-2xl font-bold text-blue-600 mt-1">
-                {orders.length}
+                {totalOrders}
               </p>
             </div>
             <ShoppingCart className="w-8 h-8 text-blue-600" />
           </div>
           <p className="text-sm text-gray-500 mt-2">
-            {pendingOrders.length} pendente(s)
+            {pendingCount} pendente(s)
           </p>
         </div>
 
@@ -140,7 +155,7 @@ const ClientPanel: React.FC<ClientPanelProps> = ({ user }) => {
             <div>
               <p className="text-gray-600 text-sm">Pedidos Finalizados</p>
               <p className="text-2xl font-bold text-green-600 mt-1">
-                {completedOrders.length}
+                {completedCount}
               </p>
             </div>
             <CheckCircle className="w-8 h-8 text-green-600" />
@@ -262,9 +277,9 @@ const ClientPanel: React.FC<ClientPanelProps> = ({ user }) => {
               <h3 className="text-xl font-semibold text-gray-900">
                 Meus Pedidos
               </h3>
-              {pendingOrders.length > 0 && (
+              {pendingCount > 0 && (
                 <span className="bg-yellow-100 text-yellow-800 text-sm font-medium px-3 py-1 rounded-full">
-                  {pendingOrders.length} aguardando aprovação
+                  {pendingCount} aguardando aprovação
                 </span>
               )}
             </div>
@@ -345,6 +360,18 @@ const ClientPanel: React.FC<ClientPanelProps> = ({ user }) => {
                     )}
                   </div>
                 ))}
+
+                {nextBeforeId !== null && (
+                  <div className="text-center">
+                    <button
+                      onClick={loadOlderOrders}
+                      disabled={loadingMore}
+                      className="text-blue-600 hover:text-blue-800 font-medium px-4 py-2 disabled:opacity-50"
+                    >
+                      {loadingMore ? "Carregando..." : "Ver pedidos anteriores"}
+                    </button>
+                  </div>
+                )}
               </div>
             )}
           </div>
@@ -46,17 +46,17 @@ const Dashboard: React.FC = () => {
   const loadDashboardData = async () => {
     setLoading(true);
     try {
-      const [dashboard, sales, customers, products] = await Promise.all([
-        reportsAPI.getDashboard(),
-        reportsAPI.getSalesSummary(),
-        reportsAPI.getTopCustomers(),
-        reportsAPI.getTopProducts(),
+      const reports = await reportsAPI.getBatch([
+        "dashboard",
+        "sales-summary",
+        "top-customers",
+        "top-products",
       ]);
 
-      setDashboardData(dashboard);
-      setSalesSummary(sales);
-      setTopCustomers(customers);
-      setTopProducts(products);
+      setDashboardData(reports.dashboard ?? null);
+      setSalesSummary(reports["sales-summary"] ?? null);
+      setTopCustomers(reports["top-customers"] ?? []);
+      setTopProducts(reports["top-products"] ?? []);
     } catch (err: any) {
       setError("Erro ao carregar dados do dashboard");
     } finally {
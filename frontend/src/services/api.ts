@@ -50,6 +50,45 @@ export interface Order {
   notes?: string;
 }
 
+// Pedido no painel do cliente: só o que o painel mostra, sem cliente e vendedor
+export interface CustomerOrder {
+  id: number;
+  status: Order["status"];
+  totalAmount: number;
+  createdAt: string;
+  updatedAt?: string;
+  approvedAt?: string;
+  notes?: string;
+  items: {
+    id: number;
+    product: Pick<Product, "id" | "name">;
+    quantity: number;
+    unitPrice: number;
+    subtotal: number;
+  }[];
+}
+
+// Resumo dos pedidos do cliente; os mais antigos vêm do histórico a partir de nextBeforeId
+export interface CustomerOrderSummary {
+  customerId: number;
+  ordersByStatus: Record<string, number>;
+  totalOrders: number;
+  totalSpent: number;
+  recentOrders: CustomerOrder[];
+  nextBeforeId: number | null;
+}
+
+export interface CustomerOrderPage {
+  orders: CustomerOrder[];
+  nextBeforeId: number | null;
+}
+
+export interface CreateOrderRequest {
+  customerId: number;
+  items: { productId: number; quantity: number }[];
+  notes?: string;
+}
+
 export interface OrderItem {
   id: number;
   product: Product;
@@ -148,6 +187,31 @@ export const productAPI = {
 export const orderAPI = {
   getAll: (): Promise<Order[]> => api.get("/orders").then((res) => res.data),
 
+  // Reenvios com a mesma chave devolvem o pedido original
+  create: (
+    request: CreateOrderRequest,
+    idempotencyKey: string = crypto.randomUUID()
+  ): Promise<Order> =>
+    api
+      .post("/orders", request, {
+        headers: { "Idempotency-Key": idempotencyKey },
+      })
+      .then((res) => res.data),
+
+  getCustomerSummary: (customerId: number): Promise<CustomerOrderSummary> =>
+    api.get(`/orders/customer/${customerId}/summary`).then((res) => res.data),
+
+  getCustomerHistory: (
+    customerId: number,
+    beforeId: number,
+    size: number = 20
+  ): Promise<CustomerOrderPage> =>
+    api
+      .get(`/orders/customer/${customerId}/history`, {
+        params: { beforeId, size },
+      })
+      .then((res) => res.data),
+
   getPending: (): Promise<Order[]> =>
     api.get("/orders/pending").then((res) => res.data),
 
@@ -170,7 +234,66 @@ export const orderAPI = {
     api.get("/orders/create-demo-orders").then((res) => res.data),
 };
 
+export type ReportName =
+  | "dashboard"
+  | "sales-summary"
+  | "top-customers"
+  | "top-products"
+  | "low-stock"
+  | "sales-trend"
+  | "system-status";
+
+// Resultado de /reports/batch: só vêm os relatórios pedidos, todos do mesmo instante
+export interface ReportBatch {
+  dashboard?: DashboardData;
+  "sales-summary"?: SalesSummary;
+  "top-customers"?: TopCustomer[];
+  "top-products"?: TopProduct[];
+  "low-stock"?: Product[];
+  "sales-trend"?: any[];
+  "system-status"?: any;
+}
+
+export interface LiveSalesWindow {
+  orders: number;
+  revenue: number;
+}
+
+// Janelas móveis mantidas em memória pelo backend; baratas para consultar a cada segundo
+export interface LiveSales {
+  asOf: string;
+  lastFiveMinutes: LiveSalesWindow;
+  lastHour: LiveSalesWindow;
+  lastDay: LiveSalesWindow;
+}
+
+export interface DistinctCustomerRow {
+  id: number;
+  name: string;
+  estimate: number;
+  lowerBound: number;
+  upperBound: number;
+}
+
+// Estimativas HyperLogLog; o total é a união das linhas, não a soma
+export interface DistinctCustomers {
+  dimension: "PRODUCT" | "SELLER";
+  from: string;
+  to: string;
+  relativeStandardError: number;
+  estimate: number;
+  lowerBound: number;
+  upperBound: number;
+  rows: DistinctCustomerRow[];
+}
+
 export const reportsAPI = {
+  // Vários relatórios numa requisição, com números consistentes entre si
+  getBatch: (reports: ReportName[]): Promise<ReportBatch> =>
+    api
+      .get("/reports/batch", { params: { reports: reports.join(",") } })
+      .then((res) => res.data),
+
   getDashboard: (): Promise<DashboardData> =>
     api.get("/reports/dashboard").then((res) => res.data),
 
@@ -191,6 +314,18 @@ export const reportsAPI = {
 
   getSystemStatus: (): Promise<any> =>
     api.get("/reports/system-status").then((res) => res.data),
+
+  getLiveSales: (): Promise<LiveSales> =>
+    api.get("/reports/live-sales").then((res) => res.data),
+
+  getDistinctCustomers: (params: {
+    by: "product" | "seller";
+    id?: number;
+    from?: string;
+    to?: string;
+    limit?: number;
+  }): Promise<DistinctCustomers> =>
+    api.get("/reports/distinct-customers", { params }).then((res) => res.data),
 };
 
 export default api;
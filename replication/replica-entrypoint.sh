@@ -0,0 +1,22 @@
+#!/bin/sh
+# Na primeira subida copia o primário com pg_basebackup; -R grava o
+# primary_conninfo e o standby.signal, então o servidor sobe como réplica.
+set -e
+
+PGDATA="${PGDATA:-/var/lib/postgresql/data}"
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    mkdir -p "$PGDATA"
+    chown postgres:postgres "$PGDATA"
+    chmod 700 "$PGDATA"
+
+    until pg_isready -h "$PRIMARY_HOST" -U postgres; do
+        echo "Aguardando o primário em $PRIMARY_HOST..."
+        sleep 1
+    done
+
+    su-exec postgres env PGPASSWORD="$REPLICATION_PASSWORD" \
+        pg_basebackup -h "$PRIMARY_HOST" -U "$REPLICATION_USER" -D "$PGDATA" -R -X stream -P
+fi
+
+exec docker-entrypoint.sh "$@"